@@ -0,0 +1,135 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.sid.ouissal_project_management_backend.OuissalProjectManagementBackendApplication;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.entities.Project;
+import org.sid.ouissal_project_management_backend.entities.Task;
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.entities.User;
+import org.sid.ouissal_project_management_backend.security.DisabledUserCache;
+import org.sid.ouissal_project_management_backend.security.JwtFilter;
+import org.sid.ouissal_project_management_backend.security.JwtUtil;
+import org.sid.ouissal_project_management_backend.security.TokenRevocationList;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Objects shared by the benchmarks, built the way the application wires them
+ * but without a Spring context.
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+final class BenchmarkFixtures {
+
+    /** Same length and format as the configured secret */
+    static final String JWT_SECRET = "benchmark_secret_key_that_is_long_enough_for_hs256_signatures";
+    static final long JWT_EXPIRATION = 300_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Starts the application on an in-memory H2 database, for benchmarks that
+     * go through the repositories and services.
+     *
+     * @param name the database name, distinct per benchmark class
+     * @param properties additional or overriding properties
+     * @return the running context, to be closed by the benchmark
+     */
+    static ConfigurableApplicationContext startApplication(String name, Map<String, Object> properties) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        defaults.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        defaults.put("spring.datasource.username", "sa");
+        defaults.put("spring.datasource.password", "");
+        defaults.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("warmup.enabled", "false");
+        defaults.put("server.port", "0");
+        defaults.put("logging.level.root", "WARN");
+        defaults.putAll(properties);
+        // Passed as arguments: default properties would lose to application.properties.
+        String[] args = defaults.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(OuissalProjectManagementBackendApplication.class).run(args);
+    }
+
+    /**
+     * @return a JwtUtil with the values Spring would inject
+     */
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", JWT_EXPIRATION);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "initSigningKey");
+        return jwtUtil;
+    }
+
+    /**
+     * The revocation list and disabled-user cache start empty; their repositories
+     * are only used by the background refresh, which is not scheduled here.
+     *
+     * @return a JwtFilter as wired in the security chain
+     */
+    static JwtFilter jwtFilter(JwtUtil jwtUtil) {
+        DisabledUserCache disabledUserCache = new DisabledUserCache(null, true);
+        TokenRevocationList revocationList = new TokenRevocationList(null, null, 10_000, 0.01, new SimpleMeterRegistry());
+        return new JwtFilter(jwtUtil, disabledUserCache, revocationList);
+    }
+
+    /**
+     * @return a detached project with the given number of tasks, one in three completed
+     */
+    static Project project(int taskCount) {
+        Project project = Project.builder()
+                .id(1L)
+                .title("Benchmark project")
+                .description("Project used by the benchmarks")
+                .user(User.builder().id(1L).email("bench@example.com").build())
+                .createdAt(LocalDateTime.of(2025, 12, 22, 9, 0))
+                .build();
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(task(i, project));
+        }
+        project.setTasks(tasks);
+        return project;
+    }
+
+    static Task task(int i, Project project) {
+        return Task.builder()
+                .id((long) i + 1)
+                .title("Task " + i)
+                .description("Description of task " + i)
+                .dueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365))
+                .status(i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING)
+                .project(project)
+                .createdAt(LocalDateTime.of(2025, 12, 22, 9, 0).plusSeconds(i))
+                .build();
+    }
+
+    /**
+     * @return task responses as returned by the task list endpoint
+     */
+    static List<TaskResponse> taskResponses(int count) {
+        List<TaskResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = task(i, null);
+            responses.add(new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                    task.getDueDate(), task.getStatus(), task.getCreatedAt(), task.getParentId()));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,60 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sid.ouissal_project_management_backend.util.BloomFilter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link BloomFilter} used for token revocation and registered
+ * emails, sized as configured for emails (100k entries, 1% false positives).
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BloomFilterBenchmark {
+
+    private static final int ENTRIES = 100_000;
+
+    private BloomFilter filter;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = BloomFilter.create(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public boolean mightContainPresent() {
+        return filter.mightContain("user" + (next++ % ENTRIES) + "@example.com");
+    }
+
+    @Benchmark
+    public boolean mightContainAbsent() {
+        return filter.mightContain("new" + (next++ % ENTRIES) + "@example.com");
+    }
+
+    @Benchmark
+    public void put() {
+        filter.put("user" + (next++ % ENTRIES) + "@example.com");
+    }
+}
@@ -0,0 +1,68 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.security.JwtUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of access token issuing and parsing ({@link JwtUtil}).
+ * <p>
+ * Every authenticated request parses a token, every login or refresh signs one.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        token = jwtUtil.generateToken(1L, EMAIL, List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(1L, EMAIL, List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token, EMAIL);
+    }
+
+    /** What {@code JwtFilter} calls on every request */
+    @Benchmark
+    public AuthenticatedUser extractPrincipal() {
+        return jwtUtil.extractPrincipal(token);
+    }
+}
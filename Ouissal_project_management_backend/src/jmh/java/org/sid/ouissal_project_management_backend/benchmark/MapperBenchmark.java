@@ -0,0 +1,65 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sid.ouissal_project_management_backend.dto.ProjectResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.entities.Project;
+import org.sid.ouissal_project_management_backend.entities.Task;
+import org.sid.ouissal_project_management_backend.mapper.ProjectMapper;
+import org.sid.ouissal_project_management_backend.mapper.TaskMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the entity-to-DTO mappers used by the write paths.
+ * <p>
+ * {@link ProjectMapper#toResponse(Project)} walks the whole task collection
+ * to compute progress, so its cost grows with {@code taskCount}.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"0", "10", "100", "1000", "10000"})
+    public int taskCount;
+
+    private final ProjectMapper projectMapper = new ProjectMapper();
+    private final TaskMapper taskMapper = new TaskMapper();
+    private Project project;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        project = BenchmarkFixtures.project(taskCount);
+        task = BenchmarkFixtures.task(0, project);
+    }
+
+    @Benchmark
+    public ProjectResponse projectToResponse() {
+        return projectMapper.toResponse(project);
+    }
+
+    @Benchmark
+    public TaskResponse taskToResponse() {
+        return taskMapper.toResponse(task);
+    }
+}
@@ -0,0 +1,94 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.security.RateLimitFilter;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link RateLimitFilter} for authenticated requests, from several
+ * threads, with one hot client or many distinct clients.
+ * <p>
+ * Limits are set high enough that every request is allowed, so the benchmark
+ * measures the bucket update and not the 429 path.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter(true, Integer.MAX_VALUE, 1e9, Integer.MAX_VALUE, 1e9, 100_000);
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private Authentication[] authentications;
+        private int next;
+
+        @Setup
+        public void setUp(RateLimitFilterBenchmark benchmark) {
+            authentications = new Authentication[benchmark.clients];
+            for (int i = 0; i < authentications.length; i++) {
+                AuthenticatedUser user = new AuthenticatedUser((long) i, "user" + i + "@example.com",
+                        "", true, List.of("ROLE_USER"));
+                authentications[i] = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            }
+        }
+
+        Authentication nextClient() {
+            Authentication authentication = authentications[next];
+            next = (next + 1) % authentications.length;
+            return authentication;
+        }
+    }
+
+    @Benchmark
+    public int authenticatedRequest(Client client) throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(client.nextClient());
+        try {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sid.ouissal_project_management_backend.dto.ProjectResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskSort;
+import org.sid.ouissal_project_management_backend.entities.Project;
+import org.sid.ouissal_project_management_backend.entities.User;
+import org.sid.ouissal_project_management_backend.mapper.ProjectMapper;
+import org.sid.ouissal_project_management_backend.mapper.TaskMapper;
+import org.sid.ouissal_project_management_backend.repositories.ProjectRepository;
+import org.sid.ouissal_project_management_backend.repositories.TaskRepository;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity read path (load entities, map them) with the DTO
+ * projection path used by the list endpoints, on an in-memory H2 database.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates
+ * ({@code gc.alloc.rate.norm} is the number of bytes allocated per call).
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    @Param({"1000", "10000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private ProjectRepository projectRepository;
+    private TaskMapper taskMapper;
+    private ProjectMapper projectMapper;
+    private TransactionTemplate readOnly;
+    private Long userId;
+    private Long projectId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("read_path", Map.of());
+        taskRepository = context.getBean(TaskRepository.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        projectMapper = context.getBean(ProjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        User user = context.getBean(UserRepository.class).save(
+                User.builder().email("bench@example.com").password("unused").build());
+        userId = user.getId();
+        projectId = projectRepository.save(Project.builder().title("Benchmark project")
+                .description("Project used by the benchmarks").user(user).build()).getId();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            rows.add(new Object[]{"Task " + i, "Description of task " + i, i % 3 == 0 ? "COMPLETED" : "PENDING",
+                    projectId, now});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into tasks (title, description, status, project_id, created_at) values (?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> taskListEntities() {
+        return readOnly.execute(status -> taskRepository.findAllByProjectId(projectId).stream()
+                .map(taskMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TaskResponse> taskListProjection() {
+        return readOnly.execute(status -> taskRepository.findResponsesByProjectId(projectId, TaskSort.ID.sort()));
+    }
+
+    @Benchmark
+    public List<ProjectResponse> projectListEntities() {
+        return readOnly.execute(status -> projectRepository.findAllByUserId(userId).stream()
+                .map(projectMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProjectResponse> projectListProjection() {
+        return readOnly.execute(status -> projectRepository.findResponsesByUserId(userId));
+    }
+}
@@ -0,0 +1,68 @@
+package org.sid.ouissal_project_management_backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sid.ouissal_project_management_backend.dto.AuthResponse;
+import org.sid.ouissal_project_management_backend.dto.RegisterRequest;
+import org.sid.ouissal_project_management_backend.service.AuthService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration throughput through {@link AuthService#register(RegisterRequest)}:
+ * email filter check, password hashing, insert and token issuing.
+ * <p>
+ * BCrypt dominates at the configured strength; the low strength shows the cost
+ * of everything else.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationBenchmark {
+
+    @Param({"4", "10"})
+    public int bcryptStrength;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("registration",
+                Map.of("security.bcrypt.strength", bcryptStrength));
+        authService = context.getBean(AuthService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AuthResponse register() {
+        return authService.register(
+                new RegisterRequest("user" + sequence.incrementAndGet() + "@example.com", "secret123"));
+    }
+}
@@ -0,0 +1,104 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal HTTP client for the REST API, on {@link HttpClient}.
+ * <p>
+ * Bodies of list calls are read and discarded, so the measured latency
+ * includes the full transfer without keeping the responses in memory.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper json = JsonMapper.builder().build();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Sends a request and discards the response body.
+     *
+     * @return the HTTP status, or -1 if the request failed before a response
+     */
+    int send(String method, String path, String token, Object body) {
+        try {
+            return http.send(request(method, path, token, body), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Sends a request and parses the JSON response.
+     *
+     * @throws IllegalStateException if the call fails or returns an error status
+     */
+    JsonNode call(String method, String path, String token, Object body) {
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request(method, path, token, body), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(method + " " + path + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode()
+                    + ": " + new String(response.body()));
+        }
+        return response.body().length == 0 ? json.nullNode() : json.readTree(response.body());
+    }
+
+    /**
+     * @return true once the application reports itself ready to accept traffic
+     */
+    boolean isReady() {
+        return send("GET", "/actuator/health/readiness", null, null) == 200;
+    }
+
+    private HttpRequest request(String method, String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+}
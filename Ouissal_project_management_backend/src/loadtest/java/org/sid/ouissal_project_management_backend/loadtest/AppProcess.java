@@ -0,0 +1,118 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application under test, started from the packaged jar in its own JVM
+ * (so that the load generator does not compete with it for heap and JIT) on an
+ * in-memory H2 database.
+ * <p>
+ * Rate limiting is disabled: every virtual user would otherwise be throttled
+ * long before the server is saturated. The application log goes to
+ * {@code app.log} in the output directory.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+final class AppProcess implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private AppProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static AppProcess start(LoadTestConfig config) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(config.jar())) {
+            throw new IllegalStateException("Application jar not found: " + config.jar()
+                    + " (run with the package phase, or pass --target=http://host:port)");
+        }
+        AppProcess app = launch(config.appJvmArgs(), config.jar(), config.appArgs(),
+                config.output().resolve("app.log"));
+        app.awaitStartup();
+        return app;
+    }
+
+    /**
+     * Starts the application without waiting for it to serve requests.
+     *
+     * @param jvmArgs JVM options
+     * @param jar the application jar
+     * @param appArgs application arguments, after the defaults
+     * @param log file receiving the application output
+     */
+    static AppProcess launch(List<String> jvmArgs, Path jar, List<String> appArgs, Path log) throws IOException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--rate-limit.enabled=false");
+        command.addAll(appArgs);
+
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new AppProcess(process, "http://localhost:" + port);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    private void awaitStartup() throws InterruptedException {
+        ApiClient api = new ApiClient(baseUrl);
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (!api.isReady()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with code " + process.exitValue()
+                        + ", see app.log");
+            }
+            if (System.currentTimeMillis() > deadline) {
+                close();
+                throw new IllegalStateException("The application did not start within 2 minutes, see app.log");
+            }
+            Thread.sleep(250);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(15, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
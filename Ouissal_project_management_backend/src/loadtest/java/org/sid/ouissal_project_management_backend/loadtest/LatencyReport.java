@@ -0,0 +1,137 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint.
+ * <p>
+ * Latencies are recorded in microseconds into HdrHistogram {@link Recorder}s,
+ * which accept concurrent writers without locking. In the open model the
+ * latency is measured from the intended start time of the request, so time
+ * spent queued behind a slow server is included (no coordinated omission).
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(VirtualUser.Result result, long startNanos, long endNanos) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, (endNanos - startNanos) / 1_000));
+        recorders.get(result.operation()).recordValue(micros);
+        if (result.isError()) {
+            errors.get(result.operation()).increment();
+        }
+    }
+
+    /** Open model: an arrival skipped because too many requests were pending */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /** Discards everything recorded so far (end of warm-up) */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        dropped.reset();
+    }
+
+    /**
+     * Prints a summary table and writes, in the output directory, one HDR
+     * percentile distribution per endpoint ({@code .hgrm}, values in ms) and
+     * {@code summary.json}.
+     */
+    void write(LoadTestConfig config, double elapsedSeconds, PrintStream out) throws IOException {
+        Files.createDirectories(config.output());
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+
+        out.printf("%n%-32s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long errorCount = errors.get(operation).sum();
+            if (histogram.getTotalCount() == 0) {
+                Files.deleteIfExists(config.output().resolve(operation.optionName() + ".hgrm"));
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errorCount;
+            endpoints.add(summary(operation.endpoint(), histogram, errorCount, elapsedSeconds));
+            print(out, operation.endpoint(), histogram, errorCount, elapsedSeconds);
+            try (PrintStream hgrm = new PrintStream(
+                    Files.newOutputStream(config.output().resolve(operation.optionName() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        print(out, "All", total, totalErrors, elapsedSeconds);
+        if (dropped.sum() > 0) {
+            out.printf("%d arrivals dropped (more than %d requests pending)%n", dropped.sum(), config.maxInFlight());
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("model", config.model());
+        summary.put(config.model().equals("open") ? "rate" : "concurrency",
+                config.model().equals("open") ? config.rate() : config.concurrency());
+        summary.put("durationSeconds", elapsedSeconds);
+        summary.put("appArgs", config.appArgs());
+        summary.put("dropped", dropped.sum());
+        summary.put("total", summary("All", total, totalErrors, elapsedSeconds));
+        summary.put("endpoints", endpoints);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter()
+                .writeValue(config.output().resolve("summary.json").toFile(), summary);
+        out.printf("%nReports written to %s%n", config.output().toAbsolutePath());
+    }
+
+    private static void print(PrintStream out, String name, Histogram h, long errorCount, double seconds) {
+        out.printf("%-32s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(), errorCount,
+                h.getTotalCount() / seconds, ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0);
+    }
+
+    private static Map<String, Object> summary(String name, Histogram h, long errorCount, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", h.getTotalCount());
+        summary.put("errors", errorCount);
+        summary.put("throughput", h.getTotalCount() / seconds);
+        summary.put("p50", ms(h, 50));
+        summary.put("p90", ms(h, 90));
+        summary.put("p99", ms(h, 99));
+        summary.put("p999", ms(h, 99.9));
+        summary.put("max", h.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,219 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load test of the REST API.
+ * <p>
+ * Starts the packaged application on an in-memory H2 database (or targets a
+ * running instance with {@code --target}), seeds users, projects and tasks, then
+ * drives a weighted mix of login, list and task mutation calls and reports the
+ * latency percentiles of each endpoint. Two workload models are available:
+ * <ul>
+ *   <li>{@code closed}: {@code --concurrency} workers, each sending its next request
+ *       when the previous one completes (plus {@code --think-time}); throughput is
+ *       an outcome</li>
+ *   <li>{@code open}: requests arrive at {@code --rate} per second whatever the
+ *       response times, as independent clients do; latency includes the time a
+ *       request waited because the server was behind</li>
+ * </ul>
+ * A warm-up phase ({@code --warmup}) runs first and is not recorded. Random
+ * choices are seeded ({@code --seed}) so runs are comparable.
+ * </p>
+ * <p>
+ * Run through Maven: {@code mvn -Ploadtest -DskipTests verify -Dloadtest.args="..."}.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int SEEDING_THREADS = 4;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        PrintStream out = System.out;
+        if (config.target().isEmpty()) {
+            out.println("Starting " + config.jar() + " " + String.join(" ", config.appArgs()));
+            try (AppProcess app = AppProcess.start(config)) {
+                run(config, app.baseUrl(), out);
+            }
+        } else {
+            run(config, config.target(), out);
+        }
+    }
+
+    private static void run(LoadTestConfig config, String baseUrl, PrintStream out) throws Exception {
+        ApiClient api = new ApiClient(baseUrl);
+        out.printf("Seeding %d users x %d projects x %d tasks%n",
+                config.users(), config.projectsPerUser(), config.tasksPerProject());
+        List<VirtualUser> users = seed(config, api);
+
+        Mix mix = new Mix(config.mix());
+        LatencyReport report = new LatencyReport();
+        String description = config.model().equals("open")
+                ? String.format("open model, %.0f req/s (%s arrivals)", config.rate(), config.arrivals())
+                : String.format("closed model, %d workers", config.concurrency());
+
+        if (!config.warmup().isZero()) {
+            out.printf("Warm-up: %s for %ds%n", description, config.warmup().toSeconds());
+            runPhase(config, api, users, mix, report, config.warmup().toNanos(), config.seed() - 1);
+            report.reset();
+        }
+        out.printf("Measuring: %s for %ds%n", description, config.duration().toSeconds());
+        long start = System.nanoTime();
+        runPhase(config, api, users, mix, report, config.duration().toNanos(), config.seed());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        report.write(config, elapsedSeconds, out);
+    }
+
+    private static List<VirtualUser> seed(LoadTestConfig config, ApiClient api) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            users.add(new VirtualUser("lt-" + runId + "-" + i + "@example.com", PASSWORD));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(SEEDING_THREADS, users.size()))) {
+            List<Future<?>> seeded = new ArrayList<>();
+            for (VirtualUser user : users) {
+                seeded.add(executor.submit(() -> {
+                    user.seed(api, config.projectsPerUser(), config.tasksPerProject());
+                    return null;
+                }));
+            }
+            for (Future<?> future : seeded) {
+                future.get();
+            }
+        }
+        return users;
+    }
+
+    private static void runPhase(LoadTestConfig config, ApiClient api, List<VirtualUser> users, Mix mix,
+                                 LatencyReport report, long durationNanos, long seed) throws InterruptedException {
+        if (config.model().equals("open")) {
+            runOpen(config, api, users, mix, report, durationNanos, seed);
+        } else {
+            runClosed(config, api, users, mix, report, durationNanos, seed);
+        }
+    }
+
+    /**
+     * Closed model: each worker plays one user and waits for each response
+     * before sending its next request.
+     */
+    private static void runClosed(LoadTestConfig config, ApiClient api, List<VirtualUser> users, Mix mix,
+                                  LatencyReport report, long durationNanos, long seed) throws InterruptedException {
+        long deadline = System.nanoTime() + durationNanos;
+        long thinkNanos = config.thinkTime().toNanos();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < config.concurrency(); w++) {
+            VirtualUser user = users.get(w % users.size());
+            SplittableRandom random = seeds.split();
+            workers.add(Thread.ofVirtual().name("load-worker-" + w).start(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = mix.pick(random);
+                    long start = System.nanoTime();
+                    VirtualUser.Result result = user.execute(operation, api, random);
+                    report.record(result, start, System.nanoTime());
+                    if (thinkNanos > 0) {
+                        LockSupport.parkNanos(thinkNanos);
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    /**
+     * Open model: requests are issued on a fixed schedule, each on its own
+     * virtual thread, and timed from the moment they were due.
+     */
+    private static void runOpen(LoadTestConfig config, ApiClient api, List<VirtualUser> users, Mix mix,
+                                LatencyReport report, long durationNanos, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double meanIntervalNanos = 1e9 / config.rate();
+        boolean poisson = config.arrivals().equals("poisson");
+        AtomicInteger inFlight = new AtomicInteger();
+
+        // Closing the executor waits for the requests still in flight.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long deadline = start + durationNanos;
+            double next = start;
+            while (true) {
+                next += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+                long intended = (long) next;
+                if (intended >= deadline) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (inFlight.get() >= config.maxInFlight()) {
+                    report.recordDropped();
+                    continue;
+                }
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                Operation operation = mix.pick(random);
+                SplittableRandom requestRandom = random.split();
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        VirtualUser.Result result = user.execute(operation, api, requestRandom);
+                        report.record(result, intended, System.nanoTime());
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Picks operations according to their weights.
+     */
+    private static final class Mix {
+
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        Mix(Map<Operation, Integer> weights) {
+            operations = weights.keySet().toArray(Operation[]::new);
+            cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += weights.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        Operation pick(SplittableRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test settings, read from {@code --name=value} arguments.
+ *
+ * @param target base URL of an already running API; empty to start the packaged jar
+ * @param jar the application jar to start when no target is given
+ * @param appArgs extra application arguments, comma separated (e.g. {@code --spring.profiles.active=vthreads})
+ * @param appJvmArgs JVM options for the started application, comma separated
+ * @param output directory receiving the reports
+ * @param model {@code closed} (fixed number of workers) or {@code open} (fixed arrival rate)
+ * @param concurrency number of workers in the closed model
+ * @param thinkTime pause between two requests of a closed-model worker
+ * @param rate requests per second in the open model
+ * @param arrivals {@code poisson} or {@code constant} inter-arrival times in the open model
+ * @param maxInFlight open model: arrivals beyond this many pending requests are dropped
+ * @param warmup duration run before recording starts
+ * @param duration recorded duration
+ * @param users number of seeded users
+ * @param projectsPerUser projects seeded per user
+ * @param tasksPerProject tasks seeded per project
+ * @param mix relative weight of each operation
+ * @param seed seed of the random choices, for reproducible runs
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+record LoadTestConfig(
+        String target,
+        Path jar,
+        List<String> appArgs,
+        List<String> appJvmArgs,
+        Path output,
+        String model,
+        int concurrency,
+        Duration thinkTime,
+        double rate,
+        String arrivals,
+        int maxInFlight,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int projectsPerUser,
+        int tasksPerProject,
+        Map<Operation, Integer> mix,
+        long seed
+) {
+
+    static final String DEFAULT_MIX =
+            "login:5,listProjects:30,listTasks:40,createTask:10,completeTask:10,deleteTask:5";
+
+    private static final Set<String> KEYS = Set.of("target", "jar", "app-args", "app-jvm-args", "output",
+            "model", "concurrency", "think-time", "rate", "arrivals", "max-in-flight", "warmup", "duration",
+            "users", "projects-per-user", "tasks-per-project", "mix", "seed");
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = options(args, KEYS);
+        String model = values.getOrDefault("model", "closed");
+        if (!model.equals("closed") && !model.equals("open")) {
+            throw new IllegalArgumentException("--model must be closed or open");
+        }
+        String arrivals = values.getOrDefault("arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("constant")) {
+            throw new IllegalArgumentException("--arrivals must be poisson or constant");
+        }
+        return new LoadTestConfig(
+                values.getOrDefault("target", ""),
+                Path.of(values.getOrDefault("jar", "target/Ouissal_project_management_backend-0.0.1-SNAPSHOT.jar")),
+                split(values.get("app-args")),
+                split(values.get("app-jvm-args")),
+                Path.of(values.getOrDefault("output", "target/loadtest")),
+                model,
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                duration(values.getOrDefault("think-time", "0ms")),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                arrivals,
+                Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "30s")),
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Integer.parseInt(values.getOrDefault("projects-per-user", "3")),
+                Integer.parseInt(values.getOrDefault("tasks-per-project", "50")),
+                mix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+    }
+
+    /**
+     * Reads {@code --name=value} arguments.
+     *
+     * @throws IllegalArgumentException on a malformed argument or an unknown name
+     */
+    static Map<String, String> options(String[] args, Set<String> keys) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String key = arg.substring(2, eq);
+            if (!keys.contains(key)) {
+                throw new IllegalArgumentException("Unknown option --" + key + ", expected one of " + keys);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+        return values;
+    }
+
+    /** Splits a comma-separated list of arguments */
+    static List<String> split(String value) {
+        return value == null || value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s*,\\s*"));
+    }
+
+    /**
+     * Parses durations such as {@code 500ms}, {@code 30s} or {@code 2m}.
+     */
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Invalid duration " + value + " (use ms, s or m)");
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry " + entry + ", expected operation:weight");
+            }
+            mix.put(Operation.fromName(parts[0]), Integer.parseInt(parts[1]));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return mix;
+    }
+}
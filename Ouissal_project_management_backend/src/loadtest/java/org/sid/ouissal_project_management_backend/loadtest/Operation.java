@@ -0,0 +1,45 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+/**
+ * The API calls a virtual user performs, each reported as its own endpoint.
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+enum Operation {
+
+    LOGIN("login", "POST /api/auth/login"),
+    LIST_PROJECTS("listProjects", "GET /api/projects"),
+    LIST_TASKS("listTasks", "GET /api/projects/{id}/tasks"),
+    CREATE_TASK("createTask", "POST /api/projects/{id}/tasks"),
+    COMPLETE_TASK("completeTask", "PATCH /api/tasks/{id}/complete"),
+    DELETE_TASK("deleteTask", "DELETE /api/tasks/{id}");
+
+    private final String optionName;
+    private final String endpoint;
+
+    Operation(String optionName, String endpoint) {
+        this.optionName = optionName;
+        this.endpoint = endpoint;
+    }
+
+    /** @return the name used in {@code --mix} */
+    String optionName() {
+        return optionName;
+    }
+
+    /** @return the endpoint label used in reports */
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.optionName.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + name);
+    }
+}
@@ -0,0 +1,188 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+/**
+ * Startup-time benchmark: time from launching the JVM to the first successful
+ * {@code GET /api/projects}.
+ * <p>
+ * Each run starts the application on an empty in-memory H2 database, polls
+ * until a user can be registered (the first request the server answers), then
+ * lists that user's projects. Both times are reported per mode:
+ * <ul>
+ *   <li>{@code ddl-update}: the plain jar, schema built by Hibernate
+ *       ({@code ddl-auto=update}) instead of the migrations</li>
+ *   <li>{@code default}: the plain jar</li>
+ *   <li>{@code aot}: the jar with the Spring AOT initializers
+ *       ({@code -Dspring.aot.enabled=true})</li>
+ *   <li>{@code aot-cds}: the extracted jar with AOT and the AppCDS archive</li>
+ * </ul>
+ * The {@code aot} and {@code aot-cds} modes need the artifacts of the
+ * {@code fast-startup} build profile and are skipped without them. BCrypt runs
+ * at strength 4 so that hashing does not weigh on the measure, and the startup
+ * warm-up is off: it delays readiness, not the first answered request.
+ * </p>
+ * <p>
+ * Run through Maven: {@code mvn -Pfast-startup,loadtest -DskipTests verify -Dloadtest.main=StartupBenchmark}.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class StartupBenchmark {
+
+    private static final Set<String> KEYS = Set.of("jar", "output", "runs", "modes", "app-args", "app-jvm-args");
+    private static final List<String> MODES = List.of("ddl-update", "default", "aot", "aot-cds");
+    private static final String AOT_INITIALIZER = "BOOT-INF/classes/org/sid/ouissal_project_management_backend/"
+            + "OuissalProjectManagementBackendApplication__ApplicationContextInitializer.class";
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final long POLL_MILLIS = 10;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestConfig.options(args, KEYS);
+        Path jar = Path.of(options.getOrDefault("jar", "target/Ouissal_project_management_backend-0.0.1-SNAPSHOT.jar"));
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = LoadTestConfig.split(options.getOrDefault("modes", String.join(",", MODES)));
+        List<String> appArgs = LoadTestConfig.split(options.get("app-args"));
+        List<String> jvmArgs = LoadTestConfig.split(options.get("app-jvm-args"));
+        Path extractedDir = jar.toAbsolutePath().getParent().resolve("fast-startup");
+        PrintStream out = System.out;
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        out.printf("%n%-12s %5s %22s %28s%n", "Mode", "Runs", "First response ms", "First GET /api/projects ms");
+        out.printf("%-12s %5s %7s %7s %6s %9s %9s %8s%n", "", "", "min", "median", "max", "min", "median", "max");
+        for (String mode : modes) {
+            if (!MODES.contains(mode)) {
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + MODES);
+            }
+            List<String> modeJvmArgs = new ArrayList<>(jvmArgs);
+            List<String> modeAppArgs = new ArrayList<>(
+                    List.of("--security.bcrypt.strength=4", "--warmup.enabled=false"));
+            Path modeJar = jar;
+            switch (mode) {
+                case "ddl-update" -> modeAppArgs.addAll(
+                        List.of("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update"));
+                case "aot" -> modeJvmArgs.add("-Dspring.aot.enabled=true");
+                case "aot-cds" -> {
+                    modeJar = extractedDir.resolve(jar.getFileName());
+                    modeJvmArgs.add("-XX:SharedArchiveFile=" + extractedDir.resolve("application.jsa"));
+                    modeJvmArgs.add("-Dspring.aot.enabled=true");
+                }
+                default -> {
+                }
+            }
+            String missing = missingArtifact(mode, jar, extractedDir);
+            if (missing != null) {
+                out.printf("%-12s skipped: %s not found (build with -Pfast-startup)%n", mode, missing);
+                continue;
+            }
+            modeAppArgs.addAll(appArgs);
+
+            long[] firstResponse = new long[runs];
+            long[] firstProjects = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long[] times = measure(modeJvmArgs, modeJar, modeAppArgs, output.resolve("startup-" + mode + ".log"));
+                firstResponse[run] = times[0];
+                firstProjects[run] = times[1];
+            }
+            Arrays.sort(firstResponse);
+            Arrays.sort(firstProjects);
+            out.printf("%-12s %5d %7d %7d %6d %9d %9d %8d%n", mode, runs,
+                    firstResponse[0], firstResponse[runs / 2], firstResponse[runs - 1],
+                    firstProjects[0], firstProjects[runs / 2], firstProjects[runs - 1]);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("runs", runs);
+            result.put("firstResponseMillis", firstResponse);
+            result.put("firstProjectsMillis", firstProjects);
+            result.put("medianFirstProjectsMillis", firstProjects[runs / 2]);
+            results.add(result);
+        }
+
+        Files.createDirectories(output);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter()
+                .writeValue(output.resolve("startup.json").toFile(), results);
+        out.printf("%nResults written to %s%n", output.resolve("startup.json").toAbsolutePath());
+    }
+
+    /**
+     * Starts the application once.
+     *
+     * @return the milliseconds to the first answered request and to the first listed projects
+     */
+    private static long[] measure(List<String> jvmArgs, Path jar, List<String> appArgs, Path log)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try (AppProcess app = AppProcess.launch(jvmArgs, jar, appArgs, log)) {
+            ApiClient api = new ApiClient(app.baseUrl());
+            String email = "startup-" + start + "@example.com";
+            String token = null;
+            while (token == null) {
+                checkRunning(app, start, log);
+                try {
+                    token = api.call("POST", "/api/auth/register", null,
+                            Map.of("email", email, "password", "startup-password")).get("token").asString();
+                } catch (IllegalStateException e) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+            long firstResponse = System.nanoTime();
+            while (api.send("GET", "/api/projects", token, null) != 200) {
+                checkRunning(app, start, log);
+                Thread.sleep(POLL_MILLIS);
+            }
+            long firstProjects = System.nanoTime();
+            return new long[]{
+                    TimeUnit.NANOSECONDS.toMillis(firstResponse - start),
+                    TimeUnit.NANOSECONDS.toMillis(firstProjects - start)};
+        }
+    }
+
+    private static void checkRunning(AppProcess app, long start, Path log) {
+        if (!app.isAlive()) {
+            throw new IllegalStateException("The application exited, see " + log);
+        }
+        if (System.nanoTime() - start > TIMEOUT_NANOS) {
+            throw new IllegalStateException("The application did not answer within 2 minutes, see " + log);
+        }
+    }
+
+    /**
+     * @return the artifact a mode needs that the build did not produce, or null
+     */
+    private static String missingArtifact(String mode, Path jar, Path extractedDir) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            return jar.toString();
+        }
+        if (mode.equals("aot") || mode.equals("aot-cds")) {
+            try (ZipFile zip = new ZipFile(jar.toFile())) {
+                if (zip.getEntry(AOT_INITIALIZER) == null) {
+                    return "AOT initializer in " + jar.getFileName();
+                }
+            }
+        }
+        if (mode.equals("aot-cds") && !Files.isRegularFile(extractedDir.resolve("application.jsa"))) {
+            return extractedDir.resolve("application.jsa").toString();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,167 @@
+package org.sid.ouissal_project_management_backend.loadtest;
+
+import tools.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * A seeded API user and the ids it works on.
+ * <p>
+ * Created tasks join the pending queue, completed ones move to the done queue,
+ * deletes take from the done queue first: the data set stays roughly stable
+ * over a run. A worker that finds no task to complete or delete creates one
+ * instead. Several workers may share a user, so the queues are concurrent.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+final class VirtualUser {
+
+    /** Access tokens live 5 minutes; log in again before they expire */
+    private static final Duration TOKEN_REFRESH = Duration.ofMinutes(4);
+    private static final int REGISTER_ATTEMPTS = 5;
+
+    private final String email;
+    private final String password;
+    private final List<Long> projectIds = new ArrayList<>();
+    private final ConcurrentLinkedDeque<Long> pendingTasks = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<Long> doneTasks = new ConcurrentLinkedDeque<>();
+    private volatile String token;
+    private volatile long tokenIssuedAt;
+
+    VirtualUser(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    /**
+     * Registers the user and creates its projects and tasks (tasks through the
+     * batch endpoint, 100 per call).
+     */
+    void seed(ApiClient api, int projects, int tasksPerProject) throws InterruptedException {
+        useToken(register(api));
+        for (int p = 0; p < projects; p++) {
+            long projectId = api.call("POST", "/api/projects", token,
+                    Map.of("title", "Project " + p, "description", "Seeded by the load test")).get("id").asLong();
+            projectIds.add(projectId);
+            for (int from = 0; from < tasksPerProject; from += 100) {
+                List<Map<String, Object>> operations = new ArrayList<>();
+                for (int t = from; t < Math.min(from + 100, tasksPerProject); t++) {
+                    operations.add(Map.of("type", "CREATE_TASK", "projectId", projectId,
+                            "task", Map.of("title", "Task " + t, "description", "Seeded task " + t)));
+                }
+                JsonNode results = api.call("POST", "/api/batch", token, Map.of("operations", operations))
+                        .get("results");
+                for (JsonNode result : results) {
+                    pendingTasks.add(result.get("body").get("id").asLong());
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs one operation.
+     *
+     * @return the operation actually performed (a create replaces a complete or
+     *         delete when there is no task left) and its HTTP status
+     */
+    Result execute(Operation operation, ApiClient api, SplittableRandom random) {
+        if (operation != Operation.LOGIN && System.nanoTime() - tokenIssuedAt > TOKEN_REFRESH.toNanos()) {
+            operation = Operation.LOGIN;
+        }
+        return switch (operation) {
+            case LOGIN -> new Result(operation, login(api));
+            case LIST_PROJECTS -> new Result(operation, api.send("GET", "/api/projects", token, null));
+            case LIST_TASKS -> new Result(operation,
+                    api.send("GET", "/api/projects/" + randomProject(random) + "/tasks", token, null));
+            case CREATE_TASK -> createTask(api, random);
+            case COMPLETE_TASK -> {
+                Long taskId = pendingTasks.pollFirst();
+                if (taskId == null) {
+                    yield createTask(api, random);
+                }
+                int status = api.send("PATCH", "/api/tasks/" + taskId + "/complete", token, null);
+                if (status == 200) {
+                    doneTasks.add(taskId);
+                }
+                yield new Result(operation, status);
+            }
+            case DELETE_TASK -> {
+                Long taskId = doneTasks.pollFirst();
+                if (taskId == null) {
+                    taskId = pendingTasks.pollLast();
+                }
+                if (taskId == null) {
+                    yield createTask(api, random);
+                }
+                yield new Result(operation, api.send("DELETE", "/api/tasks/" + taskId, token, null));
+            }
+        };
+    }
+
+    /**
+     * Registration hashes the password on a bounded pool that answers 503 when
+     * it is saturated, which a cold server on a small machine can be: retry.
+     */
+    private String register(ApiClient api) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return api.call("POST", "/api/auth/register", null, Map.of("email", email, "password", password))
+                        .get("token").asString();
+            } catch (IllegalStateException e) {
+                if (attempt == REGISTER_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(attempt * 1_000L);
+            }
+        }
+    }
+
+    private int login(ApiClient api) {
+        try {
+            useToken(api.call("POST", "/api/auth/login", null, Map.of("email", email, "password", password))
+                    .get("token").asString());
+            return 200;
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    private Result createTask(ApiClient api, SplittableRandom random) {
+        try {
+            JsonNode task = api.call("POST", "/api/projects/" + randomProject(random) + "/tasks", token,
+                    Map.of("title", "Load test task", "description", "Created during the run"));
+            pendingTasks.add(task.get("id").asLong());
+            return new Result(Operation.CREATE_TASK, 201);
+        } catch (IllegalStateException e) {
+            return new Result(Operation.CREATE_TASK, -1);
+        }
+    }
+
+    private long randomProject(SplittableRandom random) {
+        return projectIds.get(random.nextInt(projectIds.size()));
+    }
+
+    private void useToken(String token) {
+        this.token = token;
+        this.tokenIssuedAt = System.nanoTime();
+    }
+
+    /**
+     * @param operation the operation performed
+     * @param status the HTTP status, -1 when no response was received
+     */
+    record Result(Operation operation, int status) {
+
+        boolean isError() {
+            return status < 200 || status >= 300;
+        }
+    }
+}
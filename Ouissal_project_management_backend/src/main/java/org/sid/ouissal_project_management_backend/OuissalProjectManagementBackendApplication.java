@@ -2,8 +2,10 @@ package org.sid.ouissal_project_management_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class OuissalProjectManagementBackendApplication {
 
     public static void main(String[] args) {
@@ -1,10 +1,18 @@
 package org.sid.ouissal_project_management_backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.sid.ouissal_project_management_backend.security.ConcurrencyLimitFilter;
 import org.sid.ouissal_project_management_backend.security.CustomUserDetailsService;
 import org.sid.ouissal_project_management_backend.security.JwtFilter;
+import org.sid.ouissal_project_management_backend.security.PooledPasswordEncoder;
+import org.sid.ouissal_project_management_backend.security.RateLimitFilter;
 import org.sid.ouissal_project_management_backend.util.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -12,9 +20,9 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -28,9 +36,11 @@ import java.util.Arrays;
  * This class configures:
  * <ul>
  *   <li>JWT-based stateless authentication</li>
+ *   <li>Per-user / per-IP rate limiting</li>
+ *   <li>Concurrent request cap (virtual-thread mode)</li>
  *   <li>CORS settings for Angular frontend (http://localhost:4200)</li>
  *   <li>Public and protected URL patterns</li>
- *   <li>Password encoding using BCrypt</li>
+ *   <li>Password encoding using BCrypt on a bounded thread pool</li>
  *   <li>Custom authentication provider with UserDetailsService</li>
  * </ul>
  * </p>
@@ -45,10 +55,15 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtFilter jwtFilter) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtFilter jwtFilter,
+                          RateLimitFilter rateLimitFilter, ConcurrencyLimitFilter concurrencyLimitFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     @Bean
@@ -59,23 +74,57 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Error and async dispatches continue a request that was already authorized
+                // (a 403 must not become 401, a streamed response must not be cut)
+                .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.ASYNC).permitAll()
                 .requestMatchers(Constants.PUBLIC_URLS).permitAll()
+                .requestMatchers(Constants.ADMIN_URLS).hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Missing or expired tokens get 401 so clients know to refresh (403 stays for ownership errors).
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .authenticationProvider(authenticationProvider)
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            // Runs once the user is known so authenticated calls are limited per user, not per IP.
+            .addFilterAfter(rateLimitFilter, JwtFilter.class)
+            // Clients over their rate are rejected before they wait for a permit.
+            .addFilterAfter(concurrencyLimitFilter, RateLimitFilter.class);
 
         return http.build();
     }
 
+    // The filters are @Components, so Boot would also register them as plain servlet
+    // filters and run them a second time outside the security chain.
+    @Bean
+    public FilterRegistrationBean<JwtFilter> jwtFilterRegistration() {
+        FilterRegistrationBean<JwtFilter> registration = new FilterRegistrationBean<>(jwtFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration() {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Retry-After",
+                "X-RateLimit-Limit", "X-RateLimit-Remaining"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
@@ -85,8 +134,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                           @Value("${security.password-hashing.pool-size:0}") int poolSize,
+                                           @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password-hashing.timeout:5000}") long timeoutMillis,
+                                           MeterRegistry meterRegistry) {
+        // BCrypt runs on its own bounded pool so login storms cannot starve request threads.
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new PooledPasswordEncoder(strength, threads, queueCapacity, timeoutMillis, meterRegistry);
     }
 
     @Bean
@@ -94,6 +149,8 @@ public class SecurityConfig {
         // Dedicated DAO provider backed by our custom lookup and encoder.
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
+        // Re-hash on login when security.bcrypt.strength has been raised.
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -0,0 +1,41 @@
+package org.sid.ouissal_project_management_backend.config;
+
+/**
+ * Holds the shard that the current thread's transactions run on.
+ * <p>
+ * Set by {@link ShardRoutingInterceptor} from the authenticated user before the
+ * controller runs, read by {@link ShardRoutingDataSource} when a transaction
+ * acquires its connection. When nothing is set, connections go to the global
+ * database (shard 0), which holds the users, tokens and shard directory.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard of the current thread, or null for the global database
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Integer shardId) {
+        if (shardId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shardId);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
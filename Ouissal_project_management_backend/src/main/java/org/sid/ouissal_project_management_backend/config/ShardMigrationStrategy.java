@@ -0,0 +1,110 @@
+package org.sid.ouissal_project_management_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Migrates every shard and spaces out their generated ids.
+ * <p>
+ * Spring Boot runs the migrations against the global database; the same
+ * migrations are then applied to each additional shard, so that every shard
+ * has the full schema.
+ * </p>
+ * <p>
+ * Project and task ids must stay unique across shards: a user's rows keep
+ * their ids when they are moved to another shard, and ids appear in URLs and
+ * cache keys. Each shard generates the ids of one residue class: shard
+ * {@code k} generates {@code k + 1}, {@code k + 1 + stride}, ... The identity
+ * counters are restarted above the largest id of all shards, which also keeps
+ * clear of the ids generated before sharding was enabled. On MySQL the
+ * increment is a session setting, see {@link #mysqlSessionSql(int, int)}.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Slf4j
+public class ShardMigrationStrategy implements FlywayMigrationStrategy {
+
+    /** Tables sharded by owner, with a generated id */
+    static final List<String> SHARDED_TABLES = List.of("projects", "tasks");
+
+    private final ShardRoutingDataSource dataSource;
+    private final int idStride;
+
+    public ShardMigrationStrategy(ShardRoutingDataSource dataSource, int idStride) {
+        this.dataSource = dataSource;
+        this.idStride = idStride;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        flyway.migrate();
+        dataSource.getShards().forEach((shardId, shard) -> {
+            if (shardId != ShardRoutingDataSource.GLOBAL_SHARD) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shard)
+                        .load()
+                        .migrate();
+            }
+        });
+        alignIdentities();
+        log.info("Sharding: {} shards migrated, ids spaced by {}", dataSource.getShards().size(), idStride);
+    }
+
+    /**
+     * The statement that makes a MySQL session generate the ids of a shard.
+     *
+     * @param shardId the shard
+     * @param idStride the number of residue classes
+     * @return the statement to run on every new connection
+     */
+    static String mysqlSessionSql(int shardId, int idStride) {
+        return "set session auto_increment_increment = " + idStride
+                + ", auto_increment_offset = " + (shardId + 1);
+    }
+
+    /**
+     * Restarts the identity counters of the sharded tables of every shard
+     * above the largest id of all shards, each in its shard's residue class.
+     * Also needed after rows were inserted with explicit ids.
+     */
+    public void alignIdentities() {
+        for (String table : SHARDED_TABLES) {
+            alignIdentities(table);
+        }
+    }
+
+    private void alignIdentities(String table) {
+        long globalMax = 0;
+        for (DataSource shard : dataSource.getShards().values()) {
+            Long max = new JdbcTemplate(shard).queryForObject("select max(id) from " + table, Long.class);
+            globalMax = Math.max(globalMax, max == null ? 0 : max);
+        }
+        for (Map.Entry<Integer, DataSource> shard : dataSource.getShards().entrySet()) {
+            long next = globalMax + 1 + Math.floorMod(shard.getKey() + 1 - (globalMax + 1), idStride);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard.getValue());
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()).toLowerCase(Locale.ROOT);
+            if (database.contains("h2")) {
+                jdbcTemplate.execute("alter table " + table + " alter column id restart with " + next
+                        + " set increment by " + idStride);
+            } else if (database.contains("mysql")) {
+                // Only raises the counter: MySQL never restarts below the largest id.
+                jdbcTemplate.execute("alter table " + table + " auto_increment = " + next);
+            } else {
+                throw new IllegalStateException("Sharding supports MySQL and H2, not " + database);
+            }
+        }
+    }
+}
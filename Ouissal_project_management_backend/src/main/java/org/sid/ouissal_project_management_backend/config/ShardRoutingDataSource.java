@@ -0,0 +1,68 @@
+package org.sid.ouissal_project_management_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Data source that routes each connection to the shard of the current thread.
+ * <p>
+ * The shard is read from {@link ShardContext} when a connection is requested,
+ * that is when a transaction begins: a transaction stays on one shard. Without
+ * a shard, connections come from the global database (shard 0).
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final int GLOBAL_SHARD = 0;
+
+    private final SortedMap<Integer, DataSource> shards;
+
+    /**
+     * @param shards the data source of each shard, shard 0 being the global database
+     */
+    public ShardRoutingDataSource(Map<Integer, DataSource> shards) {
+        if (!shards.containsKey(GLOBAL_SHARD)) {
+            throw new IllegalArgumentException("Shard " + GLOBAL_SHARD + " (the global database) is required");
+        }
+        this.shards = Collections.unmodifiableSortedMap(new TreeMap<>(shards));
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(GLOBAL_SHARD));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * @return the data source of every shard, by shard id
+     */
+    public SortedMap<Integer, DataSource> getShards() {
+        return shards;
+    }
+
+    /**
+     * Closes the pools of the additional shards; the global one is a bean of its own.
+     */
+    @Override
+    public void close() {
+        shards.forEach((id, dataSource) -> {
+            if (id != GLOBAL_SHARD && dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
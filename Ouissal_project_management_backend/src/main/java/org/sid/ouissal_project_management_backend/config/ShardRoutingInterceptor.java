@@ -0,0 +1,75 @@
+package org.sid.ouissal_project_management_backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.sid.ouissal_project_management_backend.exception.ServiceOverloadedException;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.service.ShardDirectory;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Routes the transactions of project and task requests to the owner's shard.
+ * <p>
+ * Applies to the controllers annotated with {@link ShardedByOwner}: the shard
+ * of the authenticated user is looked up in the {@link ShardDirectory} and set
+ * in the {@link ShardContext} for the duration of the handler (and, through
+ * the task decorator, of its streaming body). Other controllers keep using
+ * the global database.
+ * </p>
+ * <p>
+ * While the user's data is being moved to another shard, reads are served from
+ * the source shard and writes are refused with 503 and a {@code Retry-After}.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ShardDirectory shardDirectory;
+
+    public ShardRoutingInterceptor(ShardDirectory shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || !method.getBeanType().isAnnotationPresent(ShardedByOwner.class)) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return true;
+        }
+
+        // Looked up before the shard is set: the directory is in the global database.
+        ShardDirectory.Route route = shardDirectory.route(user.getId());
+        if (route.moving() && !isRead(request)) {
+            throw new ServiceOverloadedException("Your projects are being moved, please retry shortly");
+        }
+        ShardContext.set(route.shardId());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ShardContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ShardContext.clear();
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
@@ -0,0 +1,26 @@
+package org.sid.ouissal_project_management_backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller whose requests only touch the authenticated user's
+ * projects and tasks, so that their transactions can run on the user's shard.
+ * <p>
+ * Such a controller must not read or write global data (users, tokens, the
+ * shard directory): with sharding enabled its transactions are routed by
+ * {@link ShardRoutingInterceptor}.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ShardedByOwner {
+}
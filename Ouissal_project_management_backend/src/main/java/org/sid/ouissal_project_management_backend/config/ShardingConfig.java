@@ -0,0 +1,143 @@
+package org.sid.ouissal_project_management_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.sid.ouissal_project_management_backend.service.ShardDirectory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Horizontal sharding of projects and tasks by owner.
+ * <p>
+ * Enabled with {@code sharding.enabled=true}. Shard 0 is the database of
+ * {@code spring.datasource.*}: it holds the global data (users, tokens, the
+ * shard directory) and the projects of the users placed on it. The additional
+ * shards are declared as {@code sharding.shards.<id>.url}, {@code .username}
+ * and {@code .password}; every shard pool uses the
+ * {@code spring.datasource.hikari.*} settings.
+ * </p>
+ * <p>
+ * The application data source becomes a {@link ShardRoutingDataSource}: the
+ * JPA repositories and transactions are unchanged, and the connection is taken
+ * from the shard of the {@link ShardContext}. Requests to
+ * {@link ShardedByOwner} controllers are routed to the authenticated user's
+ * shard, including their streamed bodies that run on the async executor.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+
+    /**
+     * Connection settings of an additional shard.
+     *
+     * @param url the JDBC URL
+     * @param username the user name
+     * @param password the password
+     */
+    public record ShardProperties(String url, String username, String password) {
+    }
+
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final int idStride;
+
+    public ShardingConfig(ObjectProvider<ShardDirectory> shardDirectory,
+                          @Value("${sharding.id-stride:64}") int idStride) {
+        this.shardDirectory = shardDirectory;
+        this.idStride = idStride;
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        Map<Integer, ShardProperties> configured = binder
+                .bind("sharding.shards", Bindable.mapOf(Integer.class, ShardProperties.class))
+                .orElse(Map.of());
+
+        Map<Integer, DataSource> shards = new HashMap<>();
+        HikariDataSource global = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        shards.put(ShardRoutingDataSource.GLOBAL_SHARD, configure(global, ShardRoutingDataSource.GLOBAL_SHARD, binder));
+        configured.forEach((shardId, shard) -> {
+            if (shardId <= ShardRoutingDataSource.GLOBAL_SHARD || shardId >= idStride) {
+                throw new IllegalStateException("Shard ids must be between 1 and sharding.id-stride - 1 ("
+                        + (idStride - 1) + "), got " + shardId);
+            }
+            if (shard.url() == null) {
+                throw new IllegalStateException("sharding.shards." + shardId + ".url is required");
+            }
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .type(HikariDataSource.class)
+                    .build();
+            configure(pool, shardId, binder);
+            // Shard 0 is instrumented by Spring Boot through the routing data source.
+            meterRegistry.ifAvailable(registry ->
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            shards.put(shardId, pool);
+        });
+        return new ShardRoutingDataSource(shards);
+    }
+
+    private HikariDataSource configure(HikariDataSource pool, int shardId, Binder binder) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("shard-" + shardId);
+        if (pool.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            pool.setConnectionInitSql(ShardMigrationStrategy.mysqlSessionSql(shardId, idStride));
+        }
+        return pool;
+    }
+
+    @Bean
+    public ShardMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return new ShardMigrationStrategy(dataSource, idStride);
+    }
+
+    /**
+     * Carries the shard of the request into the tasks of the async executor
+     * (streamed response bodies).
+     */
+    @Bean
+    public TaskDecorator shardContextTaskDecorator() {
+        return task -> {
+            Integer shardId = ShardContext.current();
+            return () -> {
+                ShardContext.set(shardId);
+                try {
+                    task.run();
+                } finally {
+                    ShardContext.clear();
+                }
+            };
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(shardDirectory.getObject()));
+    }
+}
@@ -0,0 +1,104 @@
+package org.sid.ouissal_project_management_backend.controller;
+
+import org.sid.ouissal_project_management_backend.dto.BulkUserResponse;
+import org.sid.ouissal_project_management_backend.dto.RegisterRequest;
+import org.sid.ouissal_project_management_backend.dto.ShardMoveResponse;
+import org.sid.ouissal_project_management_backend.dto.ShardResponse;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.service.ShardDirectory;
+import org.sid.ouissal_project_management_backend.service.ShardRebalancer;
+import org.sid.ouissal_project_management_backend.service.UserProvisioningService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for administration operations.
+ * <p>
+ * All endpoints require a JWT token of a user with the ADMIN role.
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:4200")
+public class AdminController {
+
+    private final UserProvisioningService userProvisioningService;
+    private final ShardDirectory shardDirectory;
+    private final ShardRebalancer shardRebalancer;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs an AdminController with the required dependencies.
+     * 
+     * @param userProvisioningService the service creating users in bulk
+     * @param shardDirectory the directory of the users' shards
+     * @param shardRebalancer the service moving users between shards
+     * @param userRepository the repository counting the users
+     */
+    public AdminController(UserProvisioningService userProvisioningService, ShardDirectory shardDirectory,
+                           ShardRebalancer shardRebalancer, UserRepository userRepository) {
+        this.userProvisioningService = userProvisioningService;
+        this.shardDirectory = shardDirectory;
+        this.shardRebalancer = shardRebalancer;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Creates many users in one call.
+     * <p>
+     * Rows are validated individually: an invalid or duplicate row is reported
+     * in the response and does not prevent the other rows from being created.
+     * No tokens are issued.
+     * </p>
+     * 
+     * @param requests the users to create (email and password)
+     * @return ResponseEntity containing the created/skipped/failed counts and per-row results (HTTP 200 OK)
+     * @throws BadRequestException if the list exceeds the configured maximum
+     */
+    @PostMapping("/users/bulk")
+    public ResponseEntity<BulkUserResponse> provisionUsers(@RequestBody List<RegisterRequest> requests) {
+        return ResponseEntity.ok(userProvisioningService.provision(requests));
+    }
+
+    /**
+     * Lists the shards with their number of users.
+     * <p>
+     * Users without a directory entry live on shard 0. Without sharding, shard 0
+     * is the only one.
+     * </p>
+     * 
+     * @return ResponseEntity containing one entry per configured shard (HTTP 200 OK)
+     */
+    @GetMapping("/shards")
+    public ResponseEntity<List<ShardResponse>> getShards() {
+        return ResponseEntity.ok(shardDirectory.countUsers(userRepository.count()).entrySet().stream()
+                .map(entry -> new ShardResponse(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    /**
+     * Moves the projects and tasks of a user to another shard, while the
+     * application keeps serving requests.
+     * <p>
+     * The call lasts at least the directory cache TTL plus the drain time. The
+     * user's writes are refused with 503 during the move; reads are served.
+     * </p>
+     * 
+     * @param userId the user to move
+     * @param target the destination shard
+     * @return ResponseEntity containing the shards and the number of moved rows (HTTP 200 OK)
+     * @throws BadRequestException if sharding is disabled, the shard is unknown or already the user's
+     * @throws ResourceNotFoundException if the user does not exist
+     * @throws ConflictException if another move is running
+     */
+    @PostMapping("/users/{userId}/shard")
+    public ResponseEntity<ShardMoveResponse> moveUser(@PathVariable Long userId, @RequestParam int target) {
+        return ResponseEntity.ok(shardRebalancer.move(userId, target));
+    }
+}
@@ -2,8 +2,10 @@ package org.sid.ouissal_project_management_backend.controller;
 
 import org.sid.ouissal_project_management_backend.dto.AuthResponse;
 import org.sid.ouissal_project_management_backend.dto.LoginRequest;
+import org.sid.ouissal_project_management_backend.dto.RefreshRequest;
 import org.sid.ouissal_project_management_backend.dto.RegisterRequest;
 import org.sid.ouissal_project_management_backend.service.AuthService;
+import org.sid.ouissal_project_management_backend.util.Constants;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,7 +14,8 @@ import jakarta.validation.Valid;
 /**
  * REST Controller for handling authentication operations.
  * <p>
- * This controller provides endpoints for user registration, login, and authentication testing.
+ * This controller provides endpoints for user registration, login, token refresh,
+ * logout, and authentication testing.
  * All endpoints are publicly accessible (no JWT required).
  * </p>
  * 
@@ -68,6 +71,44 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     * <p>
+     * The refresh token is single-use; the response contains its replacement.
+     * </p>
+     * 
+     * @param request the refresh request containing the refresh token
+     * @return ResponseEntity containing the new tokens (HTTP 200 OK)
+     * @throws BadCredentialsException if the refresh token is invalid, expired or reused
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Logs the user out.
+     * <p>
+     * Revokes the access token sent in the Authorization header and the refresh
+     * token sent in the body. Both are optional, so the call always succeeds.
+     * </p>
+     * 
+     * @param authorization the Authorization header (optional)
+     * @param request the logout request containing the refresh token (optional)
+     * @return ResponseEntity with no content (HTTP 204 No Content)
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = Constants.JWT_HEADER, required = false) String authorization,
+            @RequestBody(required = false) RefreshRequest request) {
+        String accessToken = authorization != null && authorization.startsWith(Constants.JWT_PREFIX)
+                ? authorization.substring(Constants.JWT_PREFIX.length())
+                : null;
+        authService.logout(accessToken, request != null ? request.refreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Tests if the authentication system is working.
      * <p>
@@ -0,0 +1,67 @@
+package org.sid.ouissal_project_management_backend.controller;
+
+import jakarta.validation.Valid;
+import org.sid.ouissal_project_management_backend.config.ShardedByOwner;
+import org.sid.ouissal_project_management_backend.dto.BatchRequest;
+import org.sid.ouissal_project_management_backend.dto.BatchResponse;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.service.BatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for running several operations in one request.
+ * <p>
+ * Lets clients that change many tasks at once (e.g. sprint planning) pay the
+ * authentication, rate limiting and transaction overhead once instead of per
+ * call. Requires JWT authentication; every operation is subject to the same
+ * ownership checks as the equivalent single call.
+ * </p>
+ * 
+ * <h3>Endpoints:</h3>
+ * <ul>
+ *   <li>POST /api/batch - Run an ordered list of task/project operations</li>
+ * </ul>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@RestController
+@ShardedByOwner
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "http://localhost:4200")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * Constructs a BatchController with the required BatchService dependency.
+     * 
+     * @param batchService the service running batch operations
+     */
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Runs a batch of operations.
+     * <p>
+     * The response is HTTP 200 OK whenever the batch itself is valid; the outcome
+     * of each operation is reported in its result, and {@code committed} is false
+     * when an atomic batch was rolled back.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param request the operations to run and the execution mode
+     * @return ResponseEntity containing the per-operation results (HTTP 200 OK)
+     * @throws BadRequestException if the batch exceeds the configured maximum
+     */
+    @PostMapping
+    public ResponseEntity<BatchResponse> execute(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @Valid @RequestBody BatchRequest request) {
+        return ResponseEntity.ok(batchService.execute(user.getId(), request));
+    }
+}
@@ -1,16 +1,23 @@
 package org.sid.ouissal_project_management_backend.controller;
 
 import jakarta.validation.Valid;
+import org.sid.ouissal_project_management_backend.config.ShardedByOwner;
 import org.sid.ouissal_project_management_backend.dto.ProjectRequest;
 import org.sid.ouissal_project_management_backend.dto.ProjectResponse;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
 import org.sid.ouissal_project_management_backend.service.ProjectService;
+import org.sid.ouissal_project_management_backend.util.JsonArrayWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing projects.
@@ -18,12 +25,19 @@ import java.util.List;
  * This controller provides CRUD operations for projects. All endpoints require
  * JWT authentication. Users can only access their own projects.
  * </p>
+ * <p>
+ * Responses are negotiated with the {@code Accept} header: JSON by default,
+ * or the compact binary encodings CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}).
+ * </p>
  * 
  * <h3>Endpoints:</h3>
  * <ul>
  *   <li>POST /api/projects - Create a new project</li>
  *   <li>GET /api/projects - Get all projects for authenticated user</li>
- *   <li>GET /api/projects/{id} - Get a specific project by ID</li>
+ *   <li>GET /api/projects?stream=true - Same, streamed as JSON while rows are read</li>
+ *   <li>GET /api/projects?fields=title,progressPercentage - Only the listed fields (sparse fieldset)</li>
+ *   <li>GET /api/projects/{id} - Get a specific project by ID (also accepts {@code fields=})</li>
  *   <li>PUT /api/projects/{id} - Update a project</li>
  *   <li>DELETE /api/projects/{id} - Delete a project</li>
  * </ul>
@@ -33,33 +47,42 @@ import java.util.List;
  * @since 2025-12-22
  */
 @RestController
+@ShardedByOwner
 @RequestMapping("/api/projects")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ProjectController {
 
     private final ProjectService projectService;
 
+    private final ObjectMapper objectMapper;
+    private final int flushEvery;
+
     /**
-     * Constructs a ProjectController with the required ProjectService dependency.
+     * Constructs a ProjectController with the required dependencies.
      * 
      * @param projectService the project service for handling project operations
+     * @param objectMapper the mapper used to write streamed responses
+     * @param flushEvery the number of streamed rows between two flushes
      */
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ObjectMapper objectMapper,
+                             @Value("${streaming.flush-every:100}") int flushEvery) {
         this.projectService = projectService;
+        this.objectMapper = objectMapper;
+        this.flushEvery = flushEvery;
     }
 
     /**
      * Creates a new project for the authenticated user.
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param request the project creation request containing title and description
      * @return ResponseEntity containing the created project with progress info (HTTP 201 Created)
      */
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody ProjectRequest request) {
-        ProjectResponse response = projectService.createProject(userDetails.getUsername(), request);
+        ProjectResponse response = projectService.createProject(user.getId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -69,20 +92,62 @@ public class ProjectController {
      * Each project includes progress information (total tasks, completed tasks, percentage).
      * </p>
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @return ResponseEntity containing a list of projects (HTTP 200 OK)
      */
     @GetMapping
     public ResponseEntity<List<ProjectResponse>> getUserProjects(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<ProjectResponse> projects = projectService.getUserProjects(userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        List<ProjectResponse> projects = projectService.getUserProjects(user.getId());
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * Retrieves selected fields of all projects belonging to the authenticated user.
+     * <p>
+     * Only the requested columns are read; task counts are only computed when
+     * totalTasks, completedTasks or progressPercentage is requested.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param fields comma-separated field names (the id is always included)
+     * @return ResponseEntity containing one object per project with the requested fields (HTTP 200 OK)
+     * @throws BadRequestException if a field is unknown
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserProjectFields(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(projectService.getUserProjectFields(user.getId(), fields));
+    }
+
+    /**
+     * Streams all projects belonging to the authenticated user.
+     * <p>
+     * Same content as {@link #getUserProjects(AuthenticatedUser)}, but each project
+     * is written as soon as it is read, so the first bytes arrive immediately and
+     * memory use does not grow with the number of projects. JSON only.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @return ResponseEntity streaming a JSON array of projects (HTTP 200 OK)
+     */
+    @GetMapping(params = {"stream=true", "!fields"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserProjects(
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = user.getId();
+        StreamingResponseBody body = out -> {
+            try (JsonArrayWriter writer = new JsonArrayWriter(objectMapper, out, flushEvery)) {
+                projectService.streamUserProjects(userId, writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Retrieves a specific project by its ID.
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param id the unique identifier of the project
      * @return ResponseEntity containing the project details (HTTP 200 OK)
      * @throws ResourceNotFoundException if the project does not exist
@@ -90,19 +155,38 @@ public class ProjectController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProject(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
-        ProjectResponse response = projectService.getProject(userDetails.getUsername(), id);
+        ProjectResponse response = projectService.getProject(user.getId(), id);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves selected fields of a specific project.
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param id the unique identifier of the project
+     * @param fields comma-separated field names (the id is always included)
+     * @return ResponseEntity containing the requested fields of the project (HTTP 200 OK)
+     * @throws BadRequestException if a field is unknown
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getProjectFields(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(projectService.getProjectFields(user.getId(), id, fields));
+    }
+
     /**
      * Updates an existing project.
      * <p>
      * Only the title and description can be updated.
      * </p>
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param id the unique identifier of the project to update
      * @param request the project update request containing new title and description
      * @return ResponseEntity containing the updated project (HTTP 200 OK)
@@ -111,10 +195,10 @@ public class ProjectController {
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @Valid @RequestBody ProjectRequest request) {
-        ProjectResponse response = projectService.updateProject(userDetails.getUsername(), id, request);
+        ProjectResponse response = projectService.updateProject(user.getId(), id, request);
         return ResponseEntity.ok(response);
     }
 
@@ -124,7 +208,7 @@ public class ProjectController {
      * Due to cascade configuration, all tasks belonging to this project will also be deleted.
      * </p>
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param id the unique identifier of the project to delete
      * @return ResponseEntity with no content (HTTP 204 No Content)
      * @throws ResourceNotFoundException if the project does not exist
@@ -132,9 +216,9 @@ public class ProjectController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
-        projectService.deleteProject(userDetails.getUsername(), id);
+        projectService.deleteProject(user.getId(), id);
         return ResponseEntity.noContent().build();
     }
 }
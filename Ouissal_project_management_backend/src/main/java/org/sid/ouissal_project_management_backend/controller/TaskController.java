@@ -1,16 +1,25 @@
 package org.sid.ouissal_project_management_backend.controller;
 
 import jakarta.validation.Valid;
+import org.sid.ouissal_project_management_backend.config.ShardedByOwner;
+import org.sid.ouissal_project_management_backend.dto.TaskProgressResponse;
 import org.sid.ouissal_project_management_backend.dto.TaskRequest;
 import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskSort;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
 import org.sid.ouissal_project_management_backend.service.TaskService;
+import org.sid.ouissal_project_management_backend.util.JsonArrayWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing tasks within projects.
@@ -18,13 +27,31 @@ import java.util.List;
  * This controller provides CRUD operations for tasks. All endpoints require
  * JWT authentication. Users can only access tasks belonging to their own projects.
  * </p>
+ * <p>
+ * Responses are negotiated with the {@code Accept} header: JSON by default,
+ * or the compact binary encodings CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}).
+ * </p>
+ * 
+ * <p>
+ * JSON task lists are served from a cache of encoded responses
+ * ({@link org.sid.ouissal_project_management_backend.service.TaskListResponseCache}),
+ * invalidated whenever a task of the project changes.
+ * </p>
  * 
  * <h3>Endpoints:</h3>
  * <ul>
  *   <li>POST /api/projects/{projectId}/tasks - Create a new task in a project</li>
  *   <li>GET /api/projects/{projectId}/tasks - Get all tasks for a project</li>
+ *   <li>GET /api/projects/{projectId}/tasks?stream=true - Same, streamed as JSON while rows are read</li>
+ *   <li>GET /api/projects/{projectId}/tasks?fields=title,status - Only the listed fields (sparse fieldset)</li>
+ *   <li>GET /api/projects/{projectId}/tasks?sort=rank - Any of the above in manual order (default: sort=id)</li>
+ *   <li>PATCH /api/tasks/{taskId}/move?after={otherTaskId} - Move a task after another one (first without after)</li>
  *   <li>PATCH /api/tasks/{taskId}/complete - Mark a task as completed</li>
- *   <li>DELETE /api/tasks/{taskId} - Delete a task</li>
+ *   <li>DELETE /api/tasks/{taskId} - Delete a task and its subtasks</li>
+ *   <li>POST /api/tasks/{taskId}/subtasks - Create a subtask</li>
+ *   <li>GET /api/tasks/{taskId}/subtasks - Get the subtasks at any depth</li>
+ *   <li>GET /api/tasks/{taskId}/progress - Get the progress of a task's subtree</li>
  * </ul>
  * 
  * @author Ouissal
@@ -32,19 +59,28 @@ import java.util.List;
  * @since 2025-12-22
  */
 @RestController
+@ShardedByOwner
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:4200")
 public class TaskController {
 
     private final TaskService taskService;
 
+    private final ObjectMapper objectMapper;
+    private final int flushEvery;
+
     /**
-     * Constructs a TaskController with the required TaskService dependency.
+     * Constructs a TaskController with the required dependencies.
      * 
      * @param taskService the task service for handling task operations
+     * @param objectMapper the mapper used to write streamed responses
+     * @param flushEvery the number of streamed rows between two flushes
      */
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper,
+                          @Value("${streaming.flush-every:100}") int flushEvery) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.flushEvery = flushEvery;
     }
 
     /**
@@ -53,7 +89,7 @@ public class TaskController {
      * The task is created with PENDING status by default.
      * </p>
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param projectId the ID of the project to add the task to
      * @param request the task creation request containing title, description, and dueDate
      * @return ResponseEntity containing the created task (HTTP 201 Created)
@@ -62,30 +98,192 @@ public class TaskController {
      */
     @PostMapping("/projects/{projectId}/tasks")
     public ResponseEntity<TaskResponse> createTask(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long projectId,
             @Valid @RequestBody TaskRequest request) {
-        TaskResponse response = taskService.createTask(userDetails.getUsername(), projectId, request);
+        TaskResponse response = taskService.createTask(user.getId(), projectId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
      * Retrieves all tasks belonging to a specified project.
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param projectId the ID of the project to get tasks from
+     * @param sort the order of the tasks: {@code id} (creation) or {@code rank} (manual)
      * @return ResponseEntity containing a list of tasks (HTTP 200 OK)
+     * @throws BadRequestException if the order is unknown
      * @throws ResourceNotFoundException if the project does not exist
      * @throws UnauthorizedAccessException if the user does not own the project
      */
     @GetMapping("/projects/{projectId}/tasks")
     public ResponseEntity<List<TaskResponse>> getProjectTasks(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long projectId) {
-        List<TaskResponse> tasks = taskService.getProjectTasks(userDetails.getUsername(), projectId);
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "id") String sort) {
+        List<TaskResponse> tasks = taskService.getProjectTasks(user.getId(), projectId, sort);
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Retrieves all tasks belonging to a specified project as JSON.
+     * <p>
+     * Same content as {@link #getProjectTasks(AuthenticatedUser, Long, String)}, selected
+     * for JSON requests: the body is written from the cached bytes when the
+     * project's tasks have not changed. CBOR and Smile requests fall back to the
+     * regular handler.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the ID of the project to get tasks from
+     * @param sort the order of the tasks: {@code id} (creation) or {@code rank} (manual)
+     * @return ResponseEntity containing the JSON array of tasks (HTTP 200 OK)
+     * @throws BadRequestException if the order is unknown
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping(value = "/projects/{projectId}/tasks", params = "!fields",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getProjectTasksJson(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "id") String sort) {
+        byte[] body = taskService.getProjectTasksJson(user.getId(), projectId, sort);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Retrieves selected fields of the tasks belonging to a specified project.
+     * <p>
+     * Only the requested columns are read from the database, so list views that
+     * do not show the description never load it.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the ID of the project to get tasks from
+     * @param fields comma-separated field names (the id is always included)
+     * @param sort the order of the tasks: {@code id} (creation) or {@code rank} (manual)
+     * @return ResponseEntity containing one object per task with the requested fields (HTTP 200 OK)
+     * @throws BadRequestException if a field or the order is unknown
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping(value = "/projects/{projectId}/tasks", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getProjectTaskFields(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(taskService.getProjectTaskFields(user.getId(), projectId, fields, sort));
+    }
+
+    /**
+     * Streams all tasks belonging to a specified project.
+     * <p>
+     * Same content as {@link #getProjectTasks(AuthenticatedUser, Long, String)}, but each task
+     * is written as soon as it is read, so the first bytes arrive immediately and
+     * memory use does not grow with the number of tasks. JSON only.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the ID of the project to get tasks from
+     * @param sort the order of the tasks: {@code id} (creation) or {@code rank} (manual)
+     * @return ResponseEntity streaming a JSON array of tasks (HTTP 200 OK)
+     * @throws BadRequestException if the order is unknown
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping(value = "/projects/{projectId}/tasks", params = {"stream=true", "!fields"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProjectTasks(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "id") String sort) {
+        // Checked before streaming starts, while an error status can still be sent.
+        TaskSort order = TaskSort.parse(sort);
+        taskService.checkProjectAccess(user.getId(), projectId);
+        StreamingResponseBody body = out -> {
+            try (JsonArrayWriter writer = new JsonArrayWriter(objectMapper, out, flushEvery)) {
+                taskService.streamProjectTasks(projectId, order, writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Creates a subtask of a task, in the same project.
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the ID of the parent task
+     * @param request the task creation request containing title, description, and dueDate
+     * @return ResponseEntity containing the created subtask (HTTP 201 Created)
+     * @throws ResourceNotFoundException if the parent task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the task's project
+     * @throws BadRequestException if the parent is nested too deeply
+     */
+    @PostMapping("/tasks/{taskId}/subtasks")
+    public ResponseEntity<TaskResponse> createSubtask(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskRequest request) {
+        TaskResponse response = taskService.createSubtask(user.getId(), taskId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Retrieves the subtasks of a task at any depth, parents before their children.
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the ID of the task
+     * @return ResponseEntity containing the subtasks (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the task's project
+     */
+    @GetMapping("/tasks/{taskId}/subtasks")
+    public ResponseEntity<List<TaskResponse>> getSubtasks(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskService.getSubtasks(user.getId(), taskId));
+    }
+
+    /**
+     * Retrieves the progress of a task's subtree, read from one row.
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the ID of the task
+     * @return ResponseEntity containing the descendant counts and the percentage (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the task's project
+     */
+    @GetMapping("/tasks/{taskId}/progress")
+    public ResponseEntity<TaskProgressResponse> getTaskProgress(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskService.getTaskProgress(user.getId(), taskId));
+    }
+
+    /**
+     * Moves a task in the manual order of its project ({@code sort=rank}).
+     * <p>
+     * Only the moved task is updated, whatever the size of the project.
+     * </p>
+     * 
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the ID of the task to move
+     * @param after the ID of the task to place it after; omitted to place it first
+     * @return ResponseEntity containing the moved task (HTTP 200 OK)
+     * @throws ResourceNotFoundException if a task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the task's project
+     * @throws BadRequestException if the tasks are the same or in different projects
+     */
+    @PatchMapping("/tasks/{taskId}/move")
+    public ResponseEntity<TaskResponse> moveTask(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long after) {
+        return ResponseEntity.ok(taskService.moveTask(user.getId(), taskId, after));
+    }
+
     /**
      * Marks a task as completed.
      * <p>
@@ -93,7 +291,7 @@ public class TaskController {
      * This affects the project's progress percentage.
      * </p>
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param taskId the ID of the task to mark as completed
      * @return ResponseEntity containing the updated task (HTTP 200 OK)
      * @throws ResourceNotFoundException if the task does not exist
@@ -101,19 +299,20 @@ public class TaskController {
      */
     @PatchMapping("/tasks/{taskId}/complete")
     public ResponseEntity<TaskResponse> markTaskAsCompleted(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long taskId) {
-        TaskResponse response = taskService.markTaskAsCompleted(userDetails.getUsername(), taskId);
+        TaskResponse response = taskService.markTaskAsCompleted(user.getId(), taskId);
         return ResponseEntity.ok(response);
     }
 
     /**
      * Deletes a task from the system.
      * <p>
-     * Permanently removes the task. This affects the project's progress percentage.
+     * Permanently removes the task and its subtasks. This affects the project's
+     * progress percentage, and the progress of the task's ancestors.
      * </p>
      * 
-     * @param userDetails the authenticated user's details (injected by Spring Security)
+     * @param user the authenticated user (injected by Spring Security)
      * @param taskId the ID of the task to delete
      * @return ResponseEntity with no content (HTTP 204 No Content)
      * @throws ResourceNotFoundException if the task does not exist
@@ -121,9 +320,9 @@ public class TaskController {
      */
     @DeleteMapping("/tasks/{taskId}")
     public ResponseEntity<Void> deleteTask(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long taskId) {
-        taskService.deleteTask(userDetails.getUsername(), taskId);
+        taskService.deleteTask(user.getId(), taskId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,160 @@
+package org.sid.ouissal_project_management_backend.controller;
+
+import org.sid.ouissal_project_management_backend.config.ShardedByOwner;
+import org.sid.ouissal_project_management_backend.dto.BlockedTaskResponse;
+import org.sid.ouissal_project_management_backend.dto.CriticalPathResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskDependencyResponse;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.service.TaskDependencyService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the dependencies between tasks.
+ * <p>
+ * A task can depend on other tasks of the same project: it is blocked until
+ * they are completed. Dependencies never form a cycle; a dependency that would
+ * close one is refused with 400. All endpoints require JWT authentication and
+ * only apply to the user's own projects.
+ * </p>
+ *
+ * <h3>Endpoints:</h3>
+ * <ul>
+ *   <li>POST /api/tasks/{taskId}/dependencies/{dependsOnId} - Make a task depend on another</li>
+ *   <li>DELETE /api/tasks/{taskId}/dependencies/{dependsOnId} - Remove a dependency</li>
+ *   <li>GET /api/tasks/{taskId}/dependencies - Get the tasks a task depends on</li>
+ *   <li>GET /api/projects/{projectId}/tasks/order - Get the task ids in topological order</li>
+ *   <li>GET /api/projects/{projectId}/tasks/critical-path - Get the chain of tasks that sets the finish date</li>
+ *   <li>GET /api/projects/{projectId}/tasks/blocked - Get the pending tasks waiting for pending tasks</li>
+ * </ul>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@RestController
+@ShardedByOwner
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:4200")
+public class TaskDependencyController {
+
+    private final TaskDependencyService dependencyService;
+
+    /**
+     * Constructs a TaskDependencyController with the required dependencies.
+     *
+     * @param dependencyService the service handling task dependencies
+     */
+    public TaskDependencyController(TaskDependencyService dependencyService) {
+        this.dependencyService = dependencyService;
+    }
+
+    /**
+     * Makes a task depend on another task of the same project.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the task to block
+     * @param dependsOnId the task that must be completed first
+     * @return ResponseEntity containing the dependency (HTTP 201 Created)
+     * @throws ResourceNotFoundException if a task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the tasks are in different projects or the dependency would create a cycle
+     */
+    @PostMapping("/tasks/{taskId}/dependencies/{dependsOnId}")
+    public ResponseEntity<TaskDependencyResponse> addDependency(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId,
+            @PathVariable Long dependsOnId) {
+        TaskDependencyResponse response = dependencyService.addDependency(user.getId(), taskId, dependsOnId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Removes a dependency.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the blocked task
+     * @param dependsOnId the task it depends on
+     * @return ResponseEntity with no content (HTTP 204 No Content)
+     * @throws ResourceNotFoundException if the task or the dependency does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @DeleteMapping("/tasks/{taskId}/dependencies/{dependsOnId}")
+    public ResponseEntity<Void> removeDependency(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId,
+            @PathVariable Long dependsOnId) {
+        dependencyService.removeDependency(user.getId(), taskId, dependsOnId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the tasks a task depends on directly.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the task
+     * @return ResponseEntity containing the task ids (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/tasks/{taskId}/dependencies")
+    public ResponseEntity<List<Long>> getDependencies(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(dependencyService.getDependencies(user.getId(), taskId));
+    }
+
+    /**
+     * Retrieves the task ids of a project in topological order: every task
+     * comes after the tasks it depends on.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the project
+     * @return ResponseEntity containing the ordered task ids (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/projects/{projectId}/tasks/order")
+    public ResponseEntity<List<Long>> getTopologicalOrder(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId) {
+        return ResponseEntity.ok(dependencyService.getTopologicalOrder(user.getId(), projectId));
+    }
+
+    /**
+     * Retrieves the critical path of a project: the chain of dependent tasks
+     * whose due dates set the project's finish date.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the project
+     * @return ResponseEntity containing the projected finish and the tasks of the path (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/projects/{projectId}/tasks/critical-path")
+    public ResponseEntity<CriticalPathResponse> getCriticalPath(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId) {
+        return ResponseEntity.ok(dependencyService.getCriticalPath(user.getId(), projectId));
+    }
+
+    /**
+     * Retrieves the pending tasks of a project that depend on pending tasks.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the project
+     * @return ResponseEntity containing the blocked tasks and their blockers (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/projects/{projectId}/tasks/blocked")
+    public ResponseEntity<List<BlockedTaskResponse>> getBlockedTasks(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId) {
+        return ResponseEntity.ok(dependencyService.getBlockedTasks(user.getId(), projectId));
+    }
+}
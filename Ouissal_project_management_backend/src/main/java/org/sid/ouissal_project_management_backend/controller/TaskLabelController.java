@@ -0,0 +1,151 @@
+package org.sid.ouissal_project_management_backend.controller;
+
+import org.sid.ouissal_project_management_backend.config.ShardedByOwner;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.service.TaskLabelService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for task labels and label searches.
+ * <p>
+ * Tasks can carry any number of labels (for instance {@code bug},
+ * {@code frontend}, {@code urgent}), and the tasks of a project can be
+ * searched by a combination of labels and a status, answered from an
+ * in-memory bitmap index. All endpoints require JWT authentication and only
+ * apply to the user's own projects.
+ * </p>
+ *
+ * <h3>Endpoints:</h3>
+ * <ul>
+ *   <li>POST /api/tasks/{taskId}/labels/{label} - Put a label on a task</li>
+ *   <li>DELETE /api/tasks/{taskId}/labels/{label} - Remove a label from a task</li>
+ *   <li>GET /api/tasks/{taskId}/labels - Get the labels of a task</li>
+ *   <li>GET /api/projects/{projectId}/labels - Get the number of tasks per label</li>
+ *   <li>GET /api/projects/{projectId}/tasks/search?all=urgent,backend&amp;any=&amp;none=&amp;status=PENDING - Search tasks</li>
+ * </ul>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@RestController
+@ShardedByOwner
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:4200")
+public class TaskLabelController {
+
+    private final TaskLabelService labelService;
+
+    /**
+     * Constructs a TaskLabelController with the required dependencies.
+     *
+     * @param labelService the service handling task labels
+     */
+    public TaskLabelController(TaskLabelService labelService) {
+        this.labelService = labelService;
+    }
+
+    /**
+     * Puts a label on a task.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the task
+     * @param label the label (converted to lower case)
+     * @return ResponseEntity containing the labels of the task (HTTP 201 Created)
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the label is invalid
+     */
+    @PostMapping("/tasks/{taskId}/labels/{label}")
+    public ResponseEntity<List<String>> addLabel(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId,
+            @PathVariable String label) {
+        List<String> labels = labelService.addLabel(user.getId(), taskId, label);
+        return ResponseEntity.status(HttpStatus.CREATED).body(labels);
+    }
+
+    /**
+     * Removes a label from a task.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the task
+     * @param label the label
+     * @return ResponseEntity with no content (HTTP 204 No Content)
+     * @throws ResourceNotFoundException if the task does not exist or does not have the label
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @DeleteMapping("/tasks/{taskId}/labels/{label}")
+    public ResponseEntity<Void> removeLabel(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId,
+            @PathVariable String label) {
+        labelService.removeLabel(user.getId(), taskId, label);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the labels of a task.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param taskId the task
+     * @return ResponseEntity containing the labels, in alphabetical order (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/tasks/{taskId}/labels")
+    public ResponseEntity<List<String>> getLabels(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(labelService.getLabels(user.getId(), taskId));
+    }
+
+    /**
+     * Retrieves the labels used in a project, with their number of tasks.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the project
+     * @return ResponseEntity containing the number of tasks per label (HTTP 200 OK)
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/projects/{projectId}/labels")
+    public ResponseEntity<Map<String, Long>> getProjectLabels(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId) {
+        return ResponseEntity.ok(labelService.getProjectLabels(user.getId(), projectId));
+    }
+
+    /**
+     * Searches the tasks of a project by labels and status, for instance
+     * "urgent AND backend AND NOT done" with {@code all=urgent,backend&status=PENDING}.
+     *
+     * @param user the authenticated user (injected by Spring Security)
+     * @param projectId the project
+     * @param all comma-separated labels the tasks must all have (AND)
+     * @param any comma-separated labels the tasks must have at least one of (OR)
+     * @param none comma-separated labels the tasks must not have (NOT)
+     * @param status the status of the tasks (PENDING or COMPLETED)
+     * @return ResponseEntity containing the matching tasks, in id order (HTTP 200 OK)
+     * @throws BadRequestException if a label or the status is invalid
+     * @throws ResourceNotFoundException if the project does not exist
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @GetMapping("/projects/{projectId}/tasks/search")
+    public ResponseEntity<List<TaskResponse>> searchTasks(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String all,
+            @RequestParam(required = false) String any,
+            @RequestParam(required = false) String none,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(labelService.searchTasks(user.getId(), projectId, all, any, none, status));
+    }
+}
@@ -3,12 +3,15 @@ package org.sid.ouissal_project_management_backend.dto;
 /**
  * Data Transfer Object for authentication responses.
  * <p>
- * Returned after successful login or registration, containing the JWT token
- * needed for authenticating subsequent API requests.
+ * Returned after successful login, registration or refresh, containing the
+ * short-lived JWT access token needed for authenticating subsequent API requests
+ * and the refresh token used to obtain a new one.
  * </p>
  * 
- * @param token the JWT token for authenticating API requests
+ * @param token the JWT access token for authenticating API requests
  * @param email the email address of the authenticated user
+ * @param refreshToken the single-use refresh token
+ * @param expiresIn the access token lifetime in seconds
  * 
  * @author Ouissal
  * @version 1.0
@@ -16,5 +19,7 @@ package org.sid.ouissal_project_management_backend.dto;
  */
 public record AuthResponse(
     String token,
-    String email
+    String email,
+    String refreshToken,
+    long expiresIn
 ) {}
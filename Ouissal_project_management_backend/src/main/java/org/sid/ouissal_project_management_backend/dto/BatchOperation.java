@@ -0,0 +1,52 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object for one operation of a batch request.
+ * <p>
+ * The fields required depend on the type:
+ * <ul>
+ *   <li>CREATE_TASK - {@code projectId} and {@code task}</li>
+ *   <li>COMPLETE_TASK - {@code taskId}</li>
+ *   <li>DELETE_TASK - {@code taskId}</li>
+ *   <li>UPDATE_PROJECT - {@code projectId} and {@code project}</li>
+ * </ul>
+ * </p>
+ * 
+ * @param type the operation to run (required)
+ * @param projectId the target project (CREATE_TASK, UPDATE_PROJECT)
+ * @param taskId the target task (COMPLETE_TASK, DELETE_TASK)
+ * @param task the task to create (CREATE_TASK)
+ * @param project the new project values (UPDATE_PROJECT)
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BatchOperation(
+    @NotNull(message = "Operation type is required")
+    Type type,
+
+    Long projectId,
+
+    Long taskId,
+
+    @Valid
+    TaskRequest task,
+
+    @Valid
+    ProjectRequest project
+) {
+
+    /**
+     * Operations supported by the batch endpoint.
+     */
+    public enum Type {
+        CREATE_TASK,
+        COMPLETE_TASK,
+        DELETE_TASK,
+        UPDATE_PROJECT
+    }
+}
@@ -0,0 +1,34 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch requests.
+ * <p>
+ * Contains an ordered list of operations, executed in order.
+ * </p>
+ * 
+ * @param atomic true (default) to run all operations in one transaction that is
+ *               rolled back if any operation fails; false to run each operation
+ *               in its own transaction and report failures individually
+ * @param operations the operations to run (required, at least one)
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BatchRequest(
+    Boolean atomic,
+
+    @NotEmpty(message = "At least one operation is required")
+    List<@Valid BatchOperation> operations
+) {
+
+    /** @return whether the operations run in a single transaction (true when not specified) */
+    public boolean isAtomic() {
+        return atomic == null || atomic;
+    }
+}
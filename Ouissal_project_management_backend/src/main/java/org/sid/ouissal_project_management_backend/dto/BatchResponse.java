@@ -0,0 +1,24 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch responses.
+ * 
+ * @param atomic whether the operations ran in a single transaction
+ * @param committed false if an atomic batch was rolled back
+ * @param succeeded the number of operations whose changes were committed
+ * @param failed the number of operations that failed, were not run or were rolled back
+ * @param results the outcome of each operation, in request order
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BatchResponse(
+    boolean atomic,
+    boolean committed,
+    int succeeded,
+    int failed,
+    List<BatchResult> results
+) {}
@@ -0,0 +1,23 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+/**
+ * Data Transfer Object describing the outcome of one operation of a batch.
+ * 
+ * @param index the position of the operation in the request (0-based)
+ * @param type the operation type
+ * @param status the HTTP status the operation would have returned as a single call
+ *               (424 when it was not run or was rolled back because of another operation)
+ * @param body the operation result (TaskResponse or ProjectResponse), null if none
+ * @param error the error message when the operation did not succeed
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BatchResult(
+    int index,
+    BatchOperation.Type type,
+    int status,
+    Object body,
+    String error
+) {}
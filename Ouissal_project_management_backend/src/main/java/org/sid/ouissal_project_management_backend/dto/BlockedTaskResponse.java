@@ -0,0 +1,18 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a pending task that cannot be completed yet.
+ * 
+ * @param taskId the blocked task
+ * @param blockedBy the ids of the pending tasks it depends on directly
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BlockedTaskResponse(
+    Long taskId,
+    List<Long> blockedBy
+) {}
@@ -0,0 +1,25 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for bulk provisioning responses.
+ * <p>
+ * Contains the counts per outcome and the outcome of every row, in request order.
+ * </p>
+ * 
+ * @param created the number of users inserted
+ * @param skipped the number of rows skipped as duplicates
+ * @param failed the number of invalid or rejected rows
+ * @param results the outcome of each row
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BulkUserResponse(
+    int created,
+    int skipped,
+    int failed,
+    List<BulkUserResult> results
+) {}
@@ -0,0 +1,33 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+/**
+ * Data Transfer Object describing the outcome of one row of a bulk provisioning request.
+ * 
+ * @param index the position of the row in the request (0-based)
+ * @param email the email of the row, as sent
+ * @param status the outcome of the row
+ * @param message the reason the row was skipped or failed (null when created)
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record BulkUserResult(
+    int index,
+    String email,
+    Status status,
+    String message
+) {
+
+    /**
+     * Outcome of a provisioning row.
+     */
+    public enum Status {
+        /** The user was inserted */
+        CREATED,
+        /** The email already exists, or appears earlier in the same request */
+        SKIPPED,
+        /** The row is invalid or could not be inserted */
+        FAILED
+    }
+}
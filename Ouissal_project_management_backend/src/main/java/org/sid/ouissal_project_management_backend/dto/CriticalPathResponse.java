@@ -0,0 +1,23 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the critical path of a project.
+ * <p>
+ * The chain of dependent tasks that sets the project's finish date: a task
+ * cannot finish before the tasks it depends on, whatever its own due date.
+ * </p>
+ * 
+ * @param projectedFinish the latest due date along the path (null when no task has one)
+ * @param tasks the tasks of the path, each one depending on the previous one
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record CriticalPathResponse(
+    LocalDate projectedFinish,
+    List<TaskResponse> tasks
+) {}
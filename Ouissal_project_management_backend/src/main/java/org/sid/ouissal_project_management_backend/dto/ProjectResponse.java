@@ -29,4 +29,38 @@ public record ProjectResponse(
     int totalTasks,
     int completedTasks,
     double progressPercentage
-) {}
+) {
+
+    /**
+     * Creates a response from task counts, computing the progress.
+     * <p>
+     * Used by JPQL constructor expressions, which yield counts as longs.
+     * </p>
+     * 
+     * @param id unique identifier of the project
+     * @param title the project title
+     * @param description the project description
+     * @param createdAt timestamp when the project was created
+     * @param totalTasks total number of tasks in the project
+     * @param completedTasks number of tasks marked as COMPLETED
+     */
+    public ProjectResponse(Long id, String title, String description, LocalDateTime createdAt,
+                           Long totalTasks, Long completedTasks) {
+        this(id, title, description, createdAt, totalTasks.intValue(), completedTasks.intValue(),
+                progressPercentage(totalTasks, completedTasks));
+    }
+
+    /**
+     * Computes the completion percentage of a project.
+     * 
+     * @param totalTasks the number of tasks in the project
+     * @param completedTasks the number of completed tasks
+     * @return the percentage of completed tasks, rounded to 2 decimal places (0 when there are no tasks)
+     */
+    public static double progressPercentage(long totalTasks, long completedTasks) {
+        double progressPercentage = totalTasks > 0 
+                ? ((double) completedTasks / totalTasks) * 100 
+                : 0.0;
+        return Math.round(progressPercentage * 100.0) / 100.0; // Round to 2 decimal places
+    }
+}
@@ -0,0 +1,20 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for refresh and logout requests.
+ * <p>
+ * Carries the refresh token previously returned by login, registration or refresh.
+ * </p>
+ * 
+ * @param refreshToken the refresh token (required)
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record RefreshRequest(
+    @NotBlank(message = "Refresh token is required")
+    String refreshToken
+) {}
@@ -2,7 +2,9 @@ package org.sid.ouissal_project_management_backend.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.sid.ouissal_project_management_backend.util.EmailAddress;
 
 /**
  * Data Transfer Object for user registration requests.
@@ -11,7 +13,8 @@ import jakarta.validation.constraints.Size;
  * All fields are validated before processing.
  * </p>
  * 
- * @param email the user's email address (required, must be valid and unique)
+ * @param email the user's email address (required, must be valid and unique,
+ *              outside the reserved {@link EmailAddress#RESERVED_DOMAIN})
  * @param password the user's password (required, minimum 6 characters)
  * 
  * @author Ouissal
@@ -21,6 +24,7 @@ import jakarta.validation.constraints.Size;
 public record RegisterRequest(
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    @Pattern(regexp = EmailAddress.NOT_RESERVED, message = "This email domain is reserved")
     String email,
 
     @NotBlank(message = "Password is required")
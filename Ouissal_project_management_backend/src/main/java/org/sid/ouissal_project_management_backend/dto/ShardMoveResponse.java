@@ -0,0 +1,24 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+/**
+ * Data Transfer Object for the outcome of moving a user to another shard.
+ * 
+ * @param userId the moved user
+ * @param sourceShard the shard the data was copied from
+ * @param targetShard the shard now holding the data
+ * @param projects the number of projects moved
+ * @param tasks the number of tasks moved
+ * @param durationMs the duration of the move, including the wait for in-flight requests
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record ShardMoveResponse(
+    Long userId,
+    int sourceShard,
+    int targetShard,
+    int projects,
+    int tasks,
+    long durationMs
+) {}
@@ -0,0 +1,16 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+/**
+ * Data Transfer Object for the user count of a shard.
+ * 
+ * @param shardId the shard (0 is the global database)
+ * @param users the number of users whose projects live on the shard
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record ShardResponse(
+    int shardId,
+    long users
+) {}
@@ -0,0 +1,16 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+/**
+ * Data Transfer Object for a dependency between two tasks.
+ * 
+ * @param taskId the blocked task
+ * @param dependsOnId the task that must be completed first
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record TaskDependencyResponse(
+    Long taskId,
+    Long dependsOnId
+) {}
@@ -0,0 +1,42 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+
+/**
+ * Data Transfer Object for the progress of a task and its subtasks.
+ * 
+ * @param taskId the task at the root of the subtree
+ * @param descendantTasks number of tasks below it, at any depth
+ * @param completedDescendantTasks number of completed tasks below it
+ * @param progressPercentage completed descendants over descendants (0-100, rounded to 2 decimal
+ *        places); for a task without subtasks, 100 when it is completed and 0 otherwise
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public record TaskProgressResponse(
+    Long taskId,
+    int descendantTasks,
+    int completedDescendantTasks,
+    double progressPercentage
+) {
+
+    /**
+     * Creates a response from the counters of a task row, computing the progress.
+     * <p>
+     * Used by a JPQL constructor expression.
+     * </p>
+     * 
+     * @param taskId the task at the root of the subtree
+     * @param status the status of the task itself
+     * @param descendantTasks number of tasks below it
+     * @param completedDescendantTasks number of completed tasks below it
+     */
+    public TaskProgressResponse(Long taskId, TaskStatus status, Integer descendantTasks,
+                                Integer completedDescendantTasks) {
+        this(taskId, descendantTasks, completedDescendantTasks, descendantTasks > 0
+                ? ProjectResponse.progressPercentage(descendantTasks, completedDescendantTasks)
+                : status == TaskStatus.COMPLETED ? 100.0 : 0.0);
+    }
+}
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
  * @param dueDate the due date for task completion (may be null)
  * @param status current status of the task (PENDING or COMPLETED)
  * @param createdAt timestamp when the task was created
+ * @param parentId the id of the parent task (null for a top-level task)
  * 
  * @author Ouissal
  * @version 1.0
@@ -28,5 +29,6 @@ public record TaskResponse(
     String description,
     LocalDate dueDate,
     TaskStatus status,
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+    Long parentId
 ) {}
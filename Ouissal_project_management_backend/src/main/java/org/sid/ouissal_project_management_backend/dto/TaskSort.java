@@ -0,0 +1,55 @@
+package org.sid.ouissal_project_management_backend.dto;
+
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Orders of a project's task list, selected with the {@code sort=} query parameter.
+ * <p>
+ * Ties between equal ranks are broken by id, so both orders are total.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public enum TaskSort {
+
+    /** Creation order (default) */
+    ID(Sort.by("id")),
+
+    /** Manual order set by moving tasks, read from the {@code (project_id, task_rank)} index */
+    RANK(Sort.by("rank", "id"));
+
+    private final Sort sort;
+
+    TaskSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    /**
+     * @return the order as entity properties
+     */
+    public Sort sort() {
+        return sort;
+    }
+
+    /**
+     * Parses the {@code sort=} query parameter, case-insensitively.
+     *
+     * @param value the raw parameter value
+     * @return the order
+     * @throws BadRequestException if the order is unknown
+     */
+    public static TaskSort parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown sort " + value + ", allowed values are "
+                    + Arrays.stream(values()).map(sort -> sort.name().toLowerCase(Locale.ROOT)).toList());
+        }
+    }
+}
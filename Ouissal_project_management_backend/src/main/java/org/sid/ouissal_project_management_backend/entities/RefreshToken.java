@@ -0,0 +1,59 @@
+package org.sid.ouissal_project_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a refresh token issued to a user.
+ * <p>
+ * Refresh tokens are long-lived and let a client obtain new short-lived access
+ * tokens. Only a SHA-256 hash of the token is stored, never the token itself.
+ * Each token is single-use: it is revoked when exchanged (rotation), and reusing
+ * a revoked token revokes every refresh token of the user.
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ * @see User
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    /** Unique identifier for the refresh token (auto-generated) */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Hex-encoded SHA-256 hash of the token value (unique) */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /** The user this token was issued to */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** Instant after which the token can no longer be used */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /** Whether the token has been used, logged out or revoked */
+    @Column(nullable = false)
+    private boolean revoked;
+
+    /** Timestamp when the token was issued (auto-set, immutable) */
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package org.sid.ouissal_project_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a revoked access token.
+ * <p>
+ * Access tokens are stateless, so logging out has to record their id (the
+ * {@code jti} claim) until they would have expired anyway. Rows past their
+ * expiration are purged periodically.
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    /** The revoked token id ({@code jti} claim) */
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    /** Expiration of the revoked token, after which the row is useless */
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,26 @@
+package org.sid.ouissal_project_management_backend.entities;
+
+/**
+ * Enumeration representing the roles a user can have.
+ * <p>
+ * The role is exposed to Spring Security as the {@code ROLE_<name>} authority
+ * and is embedded in the JWT token.
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public enum Role {
+
+    /** Regular user managing their own projects (default role) */
+    USER,
+
+    /** Administrator allowed to use the /api/admin endpoints */
+    ADMIN;
+
+    /** @return the Spring Security authority name for this role */
+    public String authority() {
+        return "ROLE_" + name();
+    }
+}
@@ -17,8 +17,22 @@ import java.time.LocalDateTime;
  *   <li>Has a status (PENDING or COMPLETED)</li>
  *   <li>Can have an optional due date</li>
  *   <li>Affects the parent project's progress percentage</li>
+ *   <li>Can be a subtask of another task of the same project, at any depth</li>
  * </ul>
  * </p>
+ * <p>
+ * The hierarchy is stored as a materialized path: {@code path} lists the ids
+ * of the ancestors, root first, each followed by {@code '/'}, so the subtree
+ * of a task is one index range ({@code path like '<path><id>/%'}). The
+ * descendant counters are maintained on every change by
+ * {@link org.sid.ouissal_project_management_backend.service.TaskService}, so
+ * the progress of a subtree is read from its root row.
+ * </p>
+ * <p>
+ * The manual order of a project's tasks is kept as a fractional rank
+ * ({@link org.sid.ouissal_project_management_backend.util.FractionalRank}):
+ * moving a task rewrites its own rank only.
+ * </p>
  * 
  * @author Ouissal
  * @version 1.0
@@ -62,6 +76,32 @@ public class Task {
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    /** Id of the parent task (null for a top-level task) */
+    @Column(updatable = false)
+    private Long parentId;
+
+    /** Ids of the ancestors, root first, each followed by '/' (empty for a top-level task) */
+    @Column(nullable = false, updatable = false, length = 760)
+    @Builder.Default
+    private String path = "";
+
+    /** Number of tasks below this one (children, grandchildren, ...) */
+    @Column(nullable = false)
+    @Builder.Default
+    private int descendantCount = 0;
+
+    /** Number of completed tasks below this one */
+    @Column(nullable = false)
+    @Builder.Default
+    private int completedDescendantCount = 0;
+
+    /**
+     * Position in the project's manual order, compared as a binary string.
+     * Set right after the insert, once the id it derives from is known.
+     */
+    @Column(name = "task_rank")
+    private String rank;
+
     /** Timestamp when the task was created (auto-set, immutable) */
     @CreationTimestamp
     @Column(updatable = false)
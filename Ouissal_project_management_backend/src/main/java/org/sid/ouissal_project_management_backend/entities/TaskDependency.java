@@ -0,0 +1,57 @@
+package org.sid.ouissal_project_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Entity class representing a dependency between two tasks of a project.
+ * <p>
+ * The task {@code taskId} is blocked until the task {@code dependsOnId} is
+ * completed. Both tasks belong to the same project, whose id is stored to
+ * read the whole dependency graph of a project at once. The dependencies of a
+ * project never form a cycle.
+ * </p>
+ * <p>
+ * Rows are deleted with either task (foreign keys with {@code on delete cascade}).
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ * @see Task
+ */
+@Entity
+@Table(name = "task_dependencies")
+@IdClass(TaskDependency.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDependency {
+
+    /** The blocked task */
+    @Id
+    private Long taskId;
+
+    /** The task that must be completed first */
+    @Id
+    private Long dependsOnId;
+
+    /** The project of both tasks */
+    @Column(nullable = false)
+    private Long projectId;
+
+    /**
+     * Primary key of a dependency.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long taskId;
+        private Long dependsOnId;
+    }
+}
@@ -0,0 +1,58 @@
+package org.sid.ouissal_project_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Entity class representing a label put on a task.
+ * <p>
+ * Labels are free tags (for instance {@code bug}, {@code frontend} or
+ * {@code urgent}), stored in lower case. The project of the task is stored
+ * to read the labels of a whole project at once, when its bitmap index is
+ * built.
+ * </p>
+ * <p>
+ * Rows are deleted with their task (foreign key with {@code on delete cascade}).
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ * @see Task
+ */
+@Entity
+@Table(name = "task_labels")
+@IdClass(TaskLabel.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskLabel {
+
+    /** The labelled task */
+    @Id
+    private Long taskId;
+
+    /** The label, in lower case */
+    @Id
+    @Column(length = 50)
+    private String label;
+
+    /** The project of the task */
+    @Column(nullable = false)
+    private Long projectId;
+
+    /**
+     * Primary key of a label.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long taskId;
+        private String label;
+    }
+}
@@ -3,6 +3,8 @@ package org.sid.ouissal_project_management_backend.entities;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -44,5 +46,16 @@ public class User {
     /** User's encrypted password (BCrypt) */
     @Column(nullable = false)
     private String password;
+
+    /** Whether the account may authenticate (disabled accounts are rejected even with a valid token) */
+    @Column(nullable = false, columnDefinition = "boolean default true")
+    @Builder.Default
+    private boolean enabled = true;
+
+    /** Role of the user (USER by default, ADMIN for provisioning endpoints) */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(20) default 'USER'")
+    @Builder.Default
+    private Role role = Role.USER;
 }
 
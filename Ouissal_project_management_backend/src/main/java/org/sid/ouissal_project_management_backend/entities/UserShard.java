@@ -0,0 +1,39 @@
+package org.sid.ouissal_project_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity class representing the shard directory entry of a user.
+ * <p>
+ * Projects and tasks are sharded by owner: all the projects of a user, and
+ * their tasks, live on one shard. This row, kept in the global database, says
+ * which. Users without a row (created before sharding was enabled, or through
+ * bulk provisioning) live on the global database, shard 0.
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Entity
+@Table(name = "user_shards")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserShard {
+
+    /** The user id (not generated: one row per user) */
+    @Id
+    private Long userId;
+
+    /** The shard holding the user's projects and tasks */
+    @Column(nullable = false)
+    private int shardId;
+
+    /** Whether the user's data is being copied to another shard (writes are refused meanwhile) */
+    @Column(nullable = false)
+    private boolean moving;
+}
@@ -0,0 +1,27 @@
+package org.sid.ouissal_project_management_backend.exception;
+
+/**
+ * Exception thrown when a request is well-formed but cannot be processed as sent.
+ * <p>
+ * This exception results in HTTP 400 Bad Request response.
+ * Used for cases like:
+ * <ul>
+ *   <li>A bulk request exceeding the maximum number of rows</li>
+ * </ul>
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class BadRequestException extends RuntimeException {
+    
+    /**
+     * Constructs a new BadRequestException with the specified message.
+     * 
+     * @param message the detail message explaining what is wrong with the request
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
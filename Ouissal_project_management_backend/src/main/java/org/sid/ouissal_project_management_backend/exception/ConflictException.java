@@ -0,0 +1,24 @@
+package org.sid.ouissal_project_management_backend.exception;
+
+/**
+ * Exception thrown when a request conflicts with an operation already in progress.
+ * <p>
+ * This exception results in HTTP 409 Conflict response.
+ * Thrown for instance when a shard move is requested while another one is running.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new ConflictException with the specified message.
+     *
+     * @param message the detail message explaining the conflict
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,8 @@
 package org.sid.ouissal_project_management_backend.exception;
 
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.LazyInitializationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -24,8 +27,12 @@ import java.util.Map;
  *   <tr><td>ResourceNotFoundException</td><td>404 Not Found</td></tr>
  *   <tr><td>UnauthorizedAccessException</td><td>403 Forbidden</td></tr>
  *   <tr><td>UserAlreadyExistsException</td><td>409 Conflict</td></tr>
+ *   <tr><td>ConflictException</td><td>409 Conflict</td></tr>
  *   <tr><td>BadCredentialsException</td><td>401 Unauthorized</td></tr>
  *   <tr><td>MethodArgumentNotValidException</td><td>400 Bad Request</td></tr>
+ *   <tr><td>BadRequestException</td><td>400 Bad Request</td></tr>
+ *   <tr><td>ServiceOverloadedException</td><td>503 Service Unavailable</td></tr>
+ *   <tr><td>LazyInitializationException</td><td>500 Internal Server Error (logged as a bug)</td></tr>
  *   <tr><td>Other Exceptions</td><td>500 Internal Server Error</td></tr>
  * </table>
  * 
@@ -34,6 +41,7 @@ import java.util.Map;
  * @since 2025-12-22
  */
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -57,6 +65,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(ConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleUsernameNotFound(UsernameNotFoundException ex) {
         Map<String, String> error = new HashMap<>();
@@ -67,7 +82,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, String>> handleBadCredentials(BadCredentialsException ex) {
         Map<String, String> error = new HashMap<>();
-        error.put("error", "Invalid email or password");
+        error.put("error", ex.getMessage());
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
@@ -79,6 +94,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(BadRequestException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Open-in-view is disabled, so an entity association that was not loaded by
+     * the service layer cannot be fetched once the transaction has ended. This is
+     * a programming error: services must return fully built DTOs.
+     */
+    @ExceptionHandler(LazyInitializationException.class)
+    public ResponseEntity<Map<String, String>> handleLazyInitialization(LazyInitializationException ex) {
+        log.error("Lazy association accessed outside a transaction; "
+                + "materialize the response inside the @Transactional service method", ex);
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "An unexpected error occurred");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
         Map<String, String> error = new HashMap<>();
@@ -0,0 +1,43 @@
+package org.sid.ouissal_project_management_backend.exception;
+
+/**
+ * Exception thrown when a bounded resource cannot accept more work.
+ * <p>
+ * This exception results in HTTP 503 Service Unavailable response with a
+ * {@code Retry-After} header. Used when the password hashing queue is full, and
+ * for the writes of a user whose data is being moved to another shard.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    /** Seconds the client should wait before retrying */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceOverloadedException with the specified message.
+     *
+     * @param message the detail message explaining which resource is saturated
+     */
+    public ServiceOverloadedException(String message) {
+        this(message, 1);
+    }
+
+    /**
+     * Constructs a new ServiceOverloadedException with a retry hint.
+     *
+     * @param message the detail message explaining which resource is saturated
+     * @param retryAfterSeconds seconds the client should wait before retrying
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -44,10 +44,6 @@ public class ProjectMapper {
                 .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
                 .count() : 0;
         
-        double progressPercentage = totalTasks > 0 
-                ? ((double) completedTasks / totalTasks) * 100 
-                : 0.0;
-
         return new ProjectResponse(
             project.getId(),
             project.getTitle(),
@@ -55,7 +51,7 @@ public class ProjectMapper {
             project.getCreatedAt(),
             totalTasks,
             completedTasks,
-            Math.round(progressPercentage * 100.0) / 100.0 // Round to 2 decimal places
+            ProjectResponse.progressPercentage(totalTasks, completedTasks)
         );
     }
 }
@@ -30,7 +30,8 @@ public class TaskMapper {
             task.getDescription(),
             task.getDueDate(),
             task.getStatus(),
-            task.getCreatedAt()
+            task.getCreatedAt(),
+            task.getParentId()
         );
     }
 }
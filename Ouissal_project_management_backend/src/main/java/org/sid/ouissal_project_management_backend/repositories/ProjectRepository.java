@@ -1,12 +1,65 @@
 package org.sid.ouissal_project_management_backend.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.sid.ouissal_project_management_backend.dto.ProjectResponse;
 import org.sid.ouissal_project_management_backend.entities.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findAllByUserId(Long userId);
+
+    @Query("select p.user.id from Project p where p.id = :projectId")
+    Optional<Long> findOwnerIdById(@Param("projectId") Long projectId);
+
+    /**
+     * Reads a project and locks its row until the end of the transaction, to
+     * serialize the changes of the project's task dependencies.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id = :projectId")
+    Optional<Project> findByIdForUpdate(@Param("projectId") Long projectId);
+
+    // Task counts are correlated subqueries rather than a join + GROUP BY, which
+    // would have to group on the description (a text column).
+    String RESPONSE_SELECT = "select new org.sid.ouissal_project_management_backend.dto.ProjectResponse("
+            + "p.id, p.title, p.description, p.createdAt, "
+            + "(select count(t) from Task t where t.project = p), "
+            + "(select count(t) from Task t where t.project = p "
+            + "and t.status = org.sid.ouissal_project_management_backend.entities.TaskStatus.COMPLETED)) "
+            + "from Project p ";
+
+    /**
+     * Reads the projects of a user directly as response DTOs, with their task
+     * counts computed by the database instead of loading every task.
+     */
+    @Query(RESPONSE_SELECT + "where p.user.id = :userId order by p.id")
+    List<ProjectResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Reads one project as a response DTO, see {@link #findResponsesByUserId(Long)}.
+     */
+    @Query(RESPONSE_SELECT + "where p.id = :projectId")
+    Optional<ProjectResponse> findResponseById(@Param("projectId") Long projectId);
+
+    /**
+     * Streams the projects of a user as response DTOs with a JDBC fetch size
+     * instead of loading the whole result. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(RESPONSE_SELECT + "where p.user.id = :userId order by p.id")
+    Stream<ProjectResponse> streamResponsesByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,174 @@
+package org.sid.ouissal_project_management_backend.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.sid.ouissal_project_management_backend.dto.ProjectResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskSort;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Repository for reads restricted to a subset of fields (sparse fieldsets).
+ * <p>
+ * The JPQL select clause is built from the requested fields only, so columns
+ * that were not asked for (notably the {@code description} TEXT column) are
+ * never read, and the task counts of a project are only computed (as
+ * correlated subqueries) when a count or the progress is requested. Field
+ * names are mapped through fixed whitelists, never concatenated from input.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Repository
+public class SparseFieldRepository {
+
+    private static final String TOTAL_TASKS =
+            "(select count(t) from Task t where t.project = p)";
+    private static final String COMPLETED_TASKS =
+            "(select count(t) from Task t where t.project = p"
+                    + " and t.status = org.sid.ouissal_project_management_backend.entities.TaskStatus.COMPLETED)";
+
+    /** Task fields and their select expressions, in response order */
+    private static final Map<String, String> TASK_COLUMNS = orderedMap(
+            "id", "t.id",
+            "title", "t.title",
+            "description", "t.description",
+            "dueDate", "t.dueDate",
+            "status", "t.status",
+            "createdAt", "t.createdAt",
+            "parentId", "t.parentId");
+
+    /** Project fields and their select expressions, in response order (progress is computed) */
+    private static final Map<String, String> PROJECT_COLUMNS = orderedMap(
+            "id", "p.id",
+            "title", "p.title",
+            "description", "p.description",
+            "createdAt", "p.createdAt",
+            "totalTasks", TOTAL_TASKS,
+            "completedTasks", COMPLETED_TASKS,
+            "progressPercentage", null);
+
+    public static final Set<String> TASK_FIELDS = Collections.unmodifiableSet(TASK_COLUMNS.keySet());
+    public static final Set<String> PROJECT_FIELDS = Collections.unmodifiableSet(PROJECT_COLUMNS.keySet());
+
+    private final EntityManager entityManager;
+
+    public SparseFieldRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Reads the selected fields of the tasks of a project.
+     *
+     * @param projectId the project id
+     * @param fields the fields to read (subset of {@link #TASK_FIELDS})
+     * @param sort the order of the tasks
+     * @return one map per task, in that order
+     */
+    public List<Map<String, Object>> findTasksByProjectId(Long projectId, Set<String> fields, TaskSort sort) {
+        List<String> selected = new ArrayList<>();
+        fields.forEach(field -> selected.add(TASK_COLUMNS.get(field) + " as " + field));
+        String orderBy = sort.sort().stream()
+                .map(order -> "t." + order.getProperty())
+                .collect(Collectors.joining(", "));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + String.join(", ", selected)
+                        + " from Task t where t.project.id = :projectId order by " + orderBy, Tuple.class);
+        query.setParameter("projectId", projectId);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            fields.forEach(field -> row.put(field, tuple.get(field)));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the selected fields of the projects of a user.
+     *
+     * @param userId the owner id
+     * @param fields the fields to read (subset of {@link #PROJECT_FIELDS})
+     * @return one map per project, ordered by id
+     */
+    public List<Map<String, Object>> findProjectsByUserId(Long userId, Set<String> fields) {
+        TypedQuery<Tuple> query = projectQuery(fields, "p.user.id = :userId");
+        query.setParameter("userId", userId);
+        return query.getResultList().stream()
+                .map(tuple -> toProjectRow(tuple, fields))
+                .toList();
+    }
+
+    /**
+     * Reads the selected fields of one project, with its owner id.
+     *
+     * @param projectId the project id
+     * @param fields the fields to read (subset of {@link #PROJECT_FIELDS})
+     * @return the owner id and the project fields, or empty if the project does not exist
+     */
+    public Optional<OwnedRow> findProjectById(Long projectId, Set<String> fields) {
+        TypedQuery<Tuple> query = projectQuery(fields, "p.id = :projectId");
+        query.setParameter("projectId", projectId);
+        return query.getResultStream()
+                .findFirst()
+                .map(tuple -> new OwnedRow(tuple.get("ownerId", Long.class), toProjectRow(tuple, fields)));
+    }
+
+    /**
+     * A row of selected fields with the id of the user owning it.
+     *
+     * @param ownerId the id of the owner, for the access check
+     * @param fields the selected fields
+     */
+    public record OwnedRow(Long ownerId, Map<String, Object> fields) {
+    }
+
+    private TypedQuery<Tuple> projectQuery(Set<String> fields, String condition) {
+        List<String> selected = new ArrayList<>();
+        for (String field : PROJECT_COLUMNS.keySet()) {
+            String column = PROJECT_COLUMNS.get(field);
+            if (column != null && (fields.contains(field) || (fields.contains("progressPercentage")
+                    && (field.equals("totalTasks") || field.equals("completedTasks"))))) {
+                selected.add(column + " as " + field);
+            }
+        }
+        selected.add("p.user.id as ownerId");
+        return entityManager.createQuery(
+                "select " + String.join(", ", selected) + " from Project p where " + condition + " order by p.id",
+                Tuple.class);
+    }
+
+    private static Map<String, Object> toProjectRow(Tuple tuple, Set<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "totalTasks", "completedTasks" -> row.put(field, tuple.get(field, Long.class).intValue());
+                case "progressPercentage" -> row.put(field, ProjectResponse.progressPercentage(
+                        tuple.get("totalTasks", Long.class), tuple.get("completedTasks", Long.class)));
+                default -> row.put(field, tuple.get(field));
+            }
+        }
+        return row;
+    }
+
+    private static Map<String, String> orderedMap(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
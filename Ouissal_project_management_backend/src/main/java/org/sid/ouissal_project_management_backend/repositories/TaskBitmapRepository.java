@@ -0,0 +1,83 @@
+package org.sid.ouissal_project_management_backend.repositories;
+
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.util.LabelBitmapIndex;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Repository loading the label bitmap index of a project.
+ * <p>
+ * Like {@link TaskGraphRepository}, it bypasses JPA: the ids, statuses and
+ * labels are read with plain JDBC, with a fetch size, straight into the
+ * bitmaps of a {@link LabelBitmapIndex}. Runs in the caller's transaction
+ * (same connection as JPA), when there is one.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Repository
+public class TaskBitmapRepository {
+
+    private static final int FETCH_SIZE = 1000;
+    /** Largest number of ids in one {@code in} list */
+    private static final int ID_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskBitmapRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Reads the tasks and labels of a project.
+     *
+     * @param projectId the project id
+     * @return the bitmap index of the project
+     */
+    public LabelBitmapIndex findByProjectId(Long projectId) {
+        LabelBitmapIndex index = new LabelBitmapIndex();
+        jdbcTemplate.query("select id, status from tasks where project_id = ?",
+                (RowCallbackHandler) resultSet -> index.addTask(
+                        resultSet.getLong(1), TaskStatus.valueOf(resultSet.getString(2))),
+                projectId);
+        jdbcTemplate.query("select task_id, label from task_labels where project_id = ?",
+                (RowCallbackHandler) resultSet -> index.addLabel(resultSet.getLong(1), resultSet.getString(2)),
+                projectId);
+        return index;
+    }
+
+    /**
+     * Reads some tasks and their labels, to be applied to a project's index
+     * with {@link LabelBitmapIndex#replaceTasks}. Tasks that no longer exist
+     * are left out.
+     *
+     * @param taskIds the ids of the tasks
+     * @return an index of these tasks only
+     */
+    public LabelBitmapIndex findByTaskIds(List<Long> taskIds) {
+        LabelBitmapIndex index = new LabelBitmapIndex();
+        for (int from = 0; from < taskIds.size(); from += ID_CHUNK) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + ID_CHUNK, taskIds.size()));
+            String in = " in (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            Object[] ids = chunk.toArray();
+
+            jdbcTemplate.query("select id, status from tasks where id" + in,
+                    (RowCallbackHandler) resultSet -> index.addTask(
+                            resultSet.getLong(1), TaskStatus.valueOf(resultSet.getString(2))),
+                    ids);
+            jdbcTemplate.query("select task_id, label from task_labels where task_id" + in,
+                    (RowCallbackHandler) resultSet -> index.addLabel(resultSet.getLong(1), resultSet.getString(2)),
+                    ids);
+        }
+        return index;
+    }
+}
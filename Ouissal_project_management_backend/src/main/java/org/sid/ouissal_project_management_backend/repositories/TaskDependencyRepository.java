@@ -0,0 +1,30 @@
+package org.sid.ouissal_project_management_backend.repositories;
+
+import org.sid.ouissal_project_management_backend.entities.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, TaskDependency.Key> {
+    /** Ids of the tasks a task depends on directly */
+    @Query("select d.dependsOnId from TaskDependency d where d.taskId = :taskId order by d.dependsOnId")
+    List<Long> findDependsOnIdsByTaskId(@Param("taskId") Long taskId);
+
+    /**
+     * Whether {@code fromId} depends on {@code toId}, directly or through other
+     * tasks (a count of 0 or 1). Only the tasks {@code fromId} depends on are
+     * visited, through the primary key; {@code union} skips the tasks already
+     * seen. The hint lifts the MySQL recursion depth limit (1000 by default) for
+     * long chains, H2 reads it as a comment.
+     */
+    @Query(value = "with recursive ancestors (id) as ("
+            + "select depends_on_id from task_dependencies where task_id = :fromId "
+            + "union select d.depends_on_id from task_dependencies d join ancestors a on d.task_id = a.id) "
+            + "select /*+ SET_VAR(cte_max_recursion_depth = 4294967295) */ count(*) "
+            + "from ancestors where id = :toId", nativeQuery = true)
+    long countPaths(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
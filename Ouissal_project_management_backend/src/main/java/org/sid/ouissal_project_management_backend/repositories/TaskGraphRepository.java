@@ -0,0 +1,57 @@
+package org.sid.ouissal_project_management_backend.repositories;
+
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.util.TaskGraph;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+/**
+ * Repository loading the dependency graph of a project.
+ * <p>
+ * The graph of a large project is read on every analysis, so it bypasses JPA:
+ * the rows are read with plain JDBC, with a fetch size, straight into the
+ * primitive arrays of a {@link TaskGraph}. Only the columns the analyses need
+ * are read. Runs in the caller's transaction (same connection as JPA).
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Repository
+public class TaskGraphRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskGraphRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Reads the tasks and dependencies of a project.
+     *
+     * @param projectId the project id
+     * @return the dependency graph
+     */
+    public TaskGraph findByProjectId(Long projectId) {
+        TaskGraph.Builder builder = TaskGraph.builder();
+        String completed = TaskStatus.COMPLETED.name();
+        jdbcTemplate.query("select id, due_date, status from tasks where project_id = ? order by id",
+                (RowCallbackHandler) resultSet -> builder.addTask(
+                        resultSet.getLong(1),
+                        resultSet.getObject(2, LocalDate.class),
+                        completed.equals(resultSet.getString(3))),
+                projectId);
+        jdbcTemplate.query("select task_id, depends_on_id from task_dependencies where project_id = ?",
+                (RowCallbackHandler) resultSet -> builder.addDependency(resultSet.getLong(1), resultSet.getLong(2)),
+                projectId);
+        return builder.build();
+    }
+}
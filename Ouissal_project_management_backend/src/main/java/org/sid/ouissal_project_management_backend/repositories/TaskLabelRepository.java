@@ -0,0 +1,16 @@
+package org.sid.ouissal_project_management_backend.repositories;
+
+import org.sid.ouissal_project_management_backend.entities.TaskLabel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskLabelRepository extends JpaRepository<TaskLabel, TaskLabel.Key> {
+    /** Labels of a task, in alphabetical order */
+    @Query("select l.label from TaskLabel l where l.taskId = :taskId order by l.label")
+    List<String> findLabelsByTaskId(@Param("taskId") Long taskId);
+}
@@ -1,12 +1,131 @@
 package org.sid.ouissal_project_management_backend.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.sid.ouissal_project_management_backend.dto.TaskProgressResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
 import org.sid.ouissal_project_management_backend.entities.Task;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findAllByProjectId(Long projectId);
+
+    @Query("select t.project.id from Task t where t.id = :taskId")
+    Optional<Long> findProjectIdById(@Param("taskId") Long taskId);
+
+    @Query("select t.path from Task t where t.id = :taskId")
+    Optional<String> findPathById(@Param("taskId") Long taskId);
+
+    /**
+     * Reads a task and locks its row until the end of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :taskId")
+    Optional<Task> findByIdForUpdate(@Param("taskId") Long taskId);
+
+    /**
+     * Reads a subtree as response DTOs, ordered by path then id (parents
+     * before their children). The paths of the subtree are the strings
+     * starting with {@code prefix}, i.e. the range [{@code prefix}, {@code end}).
+     */
+    @Query("select new org.sid.ouissal_project_management_backend.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.dueDate, t.status, t.createdAt, t.parentId) "
+            + "from Task t where t.path >= :prefix and t.path < :end order by t.path, t.id")
+    List<TaskResponse> findResponsesByPathRange(@Param("prefix") String prefix, @Param("end") String end);
+
+    /**
+     * Reads the subtree counters of a task: one row, whatever the size of the subtree.
+     */
+    @Query("select new org.sid.ouissal_project_management_backend.dto.TaskProgressResponse("
+            + "t.id, t.status, t.descendantCount, t.completedDescendantCount) from Task t where t.id = :taskId")
+    Optional<TaskProgressResponse> findProgressById(@Param("taskId") Long taskId);
+
+    /**
+     * Ids of a subtree, see {@link #findResponsesByPathRange(String, String)}.
+     */
+    @Query("select t.id from Task t where t.path >= :prefix and t.path < :end")
+    List<Long> findIdsByPathRange(@Param("prefix") String prefix, @Param("end") String end);
+
+    /**
+     * Deletes a subtree, see {@link #findResponsesByPathRange(String, String)}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Task t where t.path >= :prefix and t.path < :end")
+    int deleteByPathRange(@Param("prefix") String prefix, @Param("end") String end);
+
+    /**
+     * Adds to the descendant counters of the given tasks (negative to remove).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Task t set t.descendantCount = t.descendantCount + :tasks, "
+            + "t.completedDescendantCount = t.completedDescendantCount + :completed where t.id in :ids")
+    int addToDescendantCounts(@Param("ids") Collection<Long> ids, @Param("tasks") int tasks,
+                              @Param("completed") int completed);
+
+    /**
+     * Reads the given tasks as response DTOs, in no particular order.
+     */
+    @Query("select new org.sid.ouissal_project_management_backend.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.dueDate, t.status, t.createdAt, t.parentId) "
+            + "from Task t where t.id in :ids")
+    List<TaskResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the tasks of a project directly as response DTOs (no entity is
+     * hydrated nor kept in the persistence context), in the given order.
+     */
+    @Query("select new org.sid.ouissal_project_management_backend.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.dueDate, t.status, t.createdAt, t.parentId) "
+            + "from Task t where t.project.id = :projectId")
+    List<TaskResponse> findResponsesByProjectId(@Param("projectId") Long projectId, Sort sort);
+
+    /**
+     * Streams the tasks of a project as response DTOs with a JDBC fetch size
+     * instead of loading the whole result. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new org.sid.ouissal_project_management_backend.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.dueDate, t.status, t.createdAt, t.parentId) "
+            + "from Task t where t.project.id = :projectId")
+    Stream<TaskResponse> streamResponsesByProjectId(@Param("projectId") Long projectId, Sort sort);
+
+    @Query("select t.rank from Task t where t.id = :taskId")
+    Optional<String> findRankById(@Param("taskId") Long taskId);
+
+    /**
+     * The lowest rank of a project, the given task excluded (one index lookup).
+     */
+    @Query("select min(t.rank) from Task t where t.project.id = :projectId and t.id <> :excludedId")
+    Optional<String> findFirstRank(@Param("projectId") Long projectId, @Param("excludedId") Long excludedId);
+
+    /**
+     * The lowest rank of a project above {@code rank}, the given task excluded (one index lookup).
+     */
+    @Query("select min(t.rank) from Task t where t.project.id = :projectId and t.rank > :rank"
+            + " and t.id <> :excludedId")
+    Optional<String> findNextRank(@Param("projectId") Long projectId, @Param("rank") String rank,
+                                  @Param("excludedId") Long excludedId);
+
+    /**
+     * Sets the rank of a task: the only row a move writes.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Task t set t.rank = :rank where t.id = :taskId")
+    int updateRank(@Param("taskId") Long taskId, @Param("rank") String rank);
 }
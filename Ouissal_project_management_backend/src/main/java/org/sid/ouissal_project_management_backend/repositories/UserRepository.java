@@ -1,10 +1,33 @@
 package org.sid.ouissal_project_management_backend.repositories;
 
 import org.sid.ouissal_project_management_backend.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    /** Users whose email starts with a prefix, read with a range scan of the email index */
+    List<User> findByEmailStartingWith(String prefix);
+
+    @Query("select u.id from User u where u.enabled = false")
+    List<Long> findDisabledUserIds();
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.id from User u where u.email in :emails")
+    List<Long> findIdsByEmailIn(@Param("emails") Collection<String> emails);
+
+    /** Keyset page of (id, email) pairs, used to scan all emails in chunks */
+    @Query("select u.id, u.email from User u where u.id > :afterId order by u.id")
+    List<Object[]> findEmailsAfter(@Param("afterId") Long afterId, Limit limit);
 }
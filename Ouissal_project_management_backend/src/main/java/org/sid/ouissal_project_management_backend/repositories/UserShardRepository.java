@@ -0,0 +1,15 @@
+package org.sid.ouissal_project_management_backend.repositories;
+
+import org.sid.ouissal_project_management_backend.entities.UserShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserShardRepository extends JpaRepository<UserShard, Long> {
+    /** (shard id, number of users) pairs of the directory */
+    @Query("select s.shardId, count(s) from UserShard s group by s.shardId order by s.shardId")
+    List<Object[]> countUsersByShard();
+}
@@ -0,0 +1,104 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Security principal for an authenticated user.
+ * <p>
+ * Built from the database during login and directly from the verified JWT claims
+ * on every other request, so controllers and services can identify the current
+ * user by id without looking it up again.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+    private final String tokenId;
+    private final Instant tokenExpiresAt;
+
+    public AuthenticatedUser(Long id, String email, String password, boolean enabled, Collection<String> roles) {
+        this(id, email, password, enabled, roles, null, null);
+    }
+
+    private AuthenticatedUser(Long id, String email, String password, boolean enabled,
+                              Collection<String> roles, String tokenId, Instant tokenExpiresAt) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.enabled = enabled;
+        this.authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    /**
+     * Creates a principal from verified token claims (no password is kept).
+     *
+     * @param id the user id stored in the token
+     * @param email the user email stored in the token
+     * @param roles the granted roles stored in the token
+     * @param tokenId the token id ({@code jti}), used for revocation
+     * @param tokenExpiresAt the token expiration
+     * @return the authenticated principal
+     */
+    public static AuthenticatedUser fromClaims(Long id, String email, Collection<String> roles,
+                                               String tokenId, Instant tokenExpiresAt) {
+        return new AuthenticatedUser(id, email, null, true, roles, tokenId, tokenExpiresAt);
+    }
+
+    /** @return the unique identifier of the user */
+    public Long getId() {
+        return id;
+    }
+
+    /** @return the id of the access token this principal was built from, or null after a login */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /** @return the expiration of the access token this principal was built from, or null after a login */
+    public Instant getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    /** @return the names of the granted roles (e.g. ROLE_USER) */
+    public List<String> getRoles() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,144 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Concurrency Limiting Filter.
+ * <p>
+ * With a platform thread pool, the Tomcat pool size implicitly caps how many
+ * requests compete for database connections. With virtual threads that cap is
+ * gone: thousands of requests can be in flight and would all queue inside the
+ * connection pool, where they time out with errors after
+ * {@code connection-timeout}. This filter restores an explicit cap:
+ * <ul>
+ *   <li>At most {@code concurrency-limit.max-concurrent-requests} requests run at once
+ *       (0 = the Hikari pool size, since each request holds a connection while it runs)</li>
+ *   <li>Others wait up to {@code concurrency-limit.acquire-timeout} ms for a permit</li>
+ *   <li>Then get HTTP 503 Service Unavailable with a {@code Retry-After} header</li>
+ * </ul>
+ * Actuator endpoints bypass the limit so that health checks keep answering
+ * under load. Streamed (asynchronous) responses keep their permit until the
+ * stream completes.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutMillis;
+    private final Semaphore permits;
+    private final Counter rejectedCounter;
+
+    public ConcurrencyLimitFilter(@Value("${concurrency-limit.enabled:false}") boolean enabled,
+                                  @Value("${concurrency-limit.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                  @Value("${concurrency-limit.acquire-timeout:2000}") long acquireTimeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxConcurrentRequests = maxConcurrentRequests > 0 ? maxConcurrentRequests : connectionPoolSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(this.maxConcurrentRequests);
+        this.rejectedCounter = Counter.builder("http.concurrency-limit.rejected")
+                .description("Requests rejected because no permit was available in time")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency-limit.active", this,
+                        filter -> filter.maxConcurrentRequests - filter.permits.availablePermits())
+                .description("Requests currently holding a permit")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency-limit.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy, please retry shortly\"}");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once it ends, however it ends.
+     */
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new startAsync() drops the registered listeners, register again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -2,15 +2,20 @@ package org.sid.ouissal_project_management_backend.security;
 
 import org.sid.ouissal_project_management_backend.entities.User;
 import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.util.EmailAddress;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 //an adapter class between spring security and our entity
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     public CustomUserDetailsService(UserRepository userRepository) {
@@ -19,13 +24,24 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException{
-            User user = userRepository.findByEmail(email)
+            User user = userRepository.findByEmail(EmailAddress.normalize(email))
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+            return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(),
+                    user.isEnabled(), List.of(user.getRole().authority()));
+    }
+
+    // called by the authentication provider after a successful login when the stored
+    // hash uses an older BCrypt cost, so the password is transparently re-hashed
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+            User user = userRepository.findByEmail(userDetails.getUsername())
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            user.setPassword(newPassword);
+            userRepository.save(user);
 
-            return org.springframework.security.core.userdetails.User
-                    .withUsername(user.getEmail())
-                    .password(user.getPassword())
-                    .roles("USER")
-                    .build();
+            return new AuthenticatedUser(user.getId(), user.getEmail(), newPassword,
+                    user.isEnabled(), List.of(user.getRole().authority()));
     }
 }
@@ -0,0 +1,72 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * In-memory snapshot of disabled user accounts.
+ * <p>
+ * Tokens are trusted without a database lookup, so disabling an account would
+ * otherwise only take effect when its tokens expire. This cache reloads the
+ * (small) set of disabled user ids on a short interval; the per-request check
+ * is a hash lookup and never touches the database.
+ * </p>
+ * <p>
+ * Configuration (application.properties):
+ * <ul>
+ *   <li>{@code security.user-status.enabled} - turn the check on or off</li>
+ *   <li>{@code security.user-status.refresh-interval} - reload interval in milliseconds</li>
+ * </ul>
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+@Slf4j
+public class DisabledUserCache {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+
+    /** Ids of disabled users, replaced atomically on every refresh */
+    private volatile Set<Long> disabledUserIds = Set.of();
+
+    public DisabledUserCache(UserRepository userRepository,
+                             @Value("${security.user-status.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether the given user has been disabled.
+     *
+     * @param userId the id of the user carried by the token
+     * @return true if the account is disabled and its tokens must be rejected
+     */
+    public boolean isDisabled(Long userId) {
+        return enabled && disabledUserIds.contains(userId);
+    }
+
+    /**
+     * Reloads the disabled user ids from the database.
+     */
+    @Scheduled(fixedDelayString = "${security.user-status.refresh-interval:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            disabledUserIds = Set.copyOf(userRepository.findDisabledUserIds());
+        } catch (Exception e) {
+            // Keep serving the previous snapshot, the next run will retry.
+            log.warn("Cannot refresh disabled users: {}", e.getMessage());
+        }
+    }
+}
@@ -5,9 +5,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.util.Constants;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -24,6 +24,12 @@ import java.io.IOException;
  * </ol>
  * </p>
  * <p>
+ * The principal is built from the verified token claims (user id, email, roles),
+ * so no database lookup is performed per request. Disabled accounts and revoked
+ * (logged out) tokens are rejected through the in-memory {@link DisabledUserCache}
+ * and {@link TokenRevocationList}.
+ * </p>
+ * <p>
  * The filter expects tokens in the format: "Bearer {token}"
  * </p>
  * 
@@ -34,31 +40,35 @@ import java.io.IOException;
 @Component
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
-    private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final DisabledUserCache disabledUserCache;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil, DisabledUserCache disabledUserCache,
+                     TokenRevocationList tokenRevocationList) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.disabledUserCache = disabledUserCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain)
             throws ServletException, IOException {
-        String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
+        String header = request.getHeader(Constants.JWT_HEADER);
+        if (header != null && header.startsWith(Constants.JWT_PREFIX)) {
+            String token = header.substring(Constants.JWT_PREFIX.length());
             try {
-                String email = jwtUtil.extractEmail(token);
-
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    // Parsing checks signature and expiration, the claims can be trusted.
+                    AuthenticatedUser principal = jwtUtil.extractPrincipal(token);
 
-                    if (jwtUtil.isTokenValid(token, email)) {
+                    if (principal != null
+                            && !disabledUserCache.isDisabled(principal.getId())
+                            && !tokenRevocationList.isRevoked(principal.getTokenId())) {
                         UsernamePasswordAuthenticationToken auth =
                                 new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities());
+                                        principal, null, principal.getAuthorities());
                         SecurityContextHolder.getContext().setAuthentication(auth);
                     }
                 }
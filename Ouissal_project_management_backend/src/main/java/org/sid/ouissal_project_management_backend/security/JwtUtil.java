@@ -5,19 +5,24 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Utility class for JWT (JSON Web Token) operations.
  * <p>
  * This class handles all JWT-related operations including:
  * <ul>
- *   <li>Token generation with user email as subject</li>
+ *   <li>Token generation with user email as subject and user id / roles as claims</li>
  *   <li>Token validation and expiration checking</li>
- *   <li>Email extraction from tokens</li>
+ *   <li>Email and principal extraction from tokens</li>
  * </ul>
  * </p>
  * <p>
@@ -36,24 +41,94 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
-    /** Token expiration time in milliseconds (from application.properties) */
+    /** Access token expiration time in milliseconds (from application.properties) */
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    /** Claim holding the user id */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /** Claim holding the granted roles */
+    public static final String ROLES_CLAIM = "roles";
+
+    /** HMAC key derived once from the configured secret */
+    private SecretKey signingKey;
+
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+    }
+
+    /**
+     * Generates a new JWT token for the specified user.
+     * <p>
+     * The user id and roles are embedded as claims so that requests can be
+     * authenticated from the token alone, without a database lookup. Each token
+     * gets a random id ({@code jti}) so it can be revoked individually.
+     * </p>
+     * 
+     * @param user the authenticated user to issue the token for
+     * @return the generated JWT token string
+     */
+    public String generateToken(AuthenticatedUser user) {
+        return generateToken(user.getId(), user.getUsername(), user.getRoles());
+    }
+
     /**
-     * Generates a new JWT token for the specified email.
+     * Generates a new JWT token for the specified user id, email and roles.
      * 
+     * @param userId the user's id to include as a claim
      * @param email the user's email to include as the token subject
+     * @param roles the user's roles to include as a claim
      * @return the generated JWT token string
      */
-    public String generateToken(String email){
+    public String generateToken(Long userId, String email, Collection<String> roles) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
+
+    /**
+     * Builds the authenticated principal from a JWT token.
+     * <p>
+     * Parsing verifies the signature and the expiration date, so the returned
+     * principal can be trusted as is. Tokens issued without the user id claim
+     * are rejected.
+     * </p>
+     * 
+     * @param token the JWT token to read
+     * @return the principal, or null if the token does not carry a user id
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public AuthenticatedUser extractPrincipal(String token) {
+        Claims claims = extractClaims(token);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId == null) {
+            return null;
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return AuthenticatedUser.fromClaims(
+                userId.longValue(),
+                claims.getSubject(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                claims.getId(),
+                claims.getExpiration().toInstant());
+    }
+
+    /**
+     * Returns the access token lifetime.
+     * 
+     * @return the access token lifetime in milliseconds
+     */
+    public long getExpiration() {
+        return expiration;
+    }
     
     /**
      * Extracts the email (subject) from a JWT token.
@@ -106,7 +181,7 @@ public class JwtUtil {
      */
     private Claims extractClaims(String token) {
         return Jwts.parserBuilder()
-                .setSigningKey(secret.getBytes())
+                .setSigningKey(signingKey)
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
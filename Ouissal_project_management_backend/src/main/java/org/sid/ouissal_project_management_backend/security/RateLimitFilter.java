@@ -0,0 +1,203 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.util.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate Limiting Filter.
+ * <p>
+ * Runs right after {@link JwtFilter} and applies a token bucket per client:
+ * <ul>
+ *   <li>Public URLs ({@link Constants#PUBLIC_URLS}: login, registration, refresh...)
+ *       and anonymous requests are keyed by client IP, with a stricter limit</li>
+ *   <li>Other authenticated requests are keyed by user id</li>
+ * </ul>
+ * Requests over the limit get HTTP 429 Too Many Requests with a {@code Retry-After}
+ * header. Every response carries {@code X-RateLimit-Limit} and
+ * {@code X-RateLimit-Remaining}.
+ * </p>
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time
+ * (GCRA, equivalent to a token bucket), updated with compare-and-set, so the
+ * hot path takes no lock. Buckets live in a {@link ConcurrentHashMap} (internally
+ * striped). Memory is bounded: buckets that have fully refilled are evicted on a
+ * fixed interval, and when {@code rate-limit.max-keys} is reached new clients share
+ * one overflow bucket until the next eviction.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String OVERFLOW_KEY = "overflow";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final Limit userLimit;
+    private final Limit ipLimit;
+    private final int maxKeys;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.user.capacity:100}") int userCapacity,
+                           @Value("${rate-limit.user.refill-per-second:20}") double userRefillPerSecond,
+                           @Value("${rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${rate-limit.ip.refill-per-second:5}") double ipRefillPerSecond,
+                           @Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.userLimit = new Limit(userCapacity, userRefillPerSecond);
+        this.ipLimit = new Limit(ipCapacity, ipRefillPerSecond);
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String key;
+        Limit limit;
+        if (!isPublicUrl(request.getRequestURI())
+                && authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            key = "u:" + user.getId();
+            limit = userLimit;
+        } else {
+            key = "ip:" + request.getRemoteAddr();
+            limit = ipLimit;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = tryAcquire(key, limit, now);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(limit.capacity()));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setHeader("X-RateLimit-Remaining", "0");
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests, retry in " + retryAfterSeconds + " s\"}");
+            return;
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(remaining(key, limit, now)));
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Takes one token from the bucket of the given key.
+     *
+     * @param key the client key
+     * @param limit the limit applying to the key
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(String key, Limit limit, long now) {
+        AtomicLong bucket = bucketFor(key, limit, now);
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + limit.emissionIntervalNanos();
+            long excess = newTat - now - limit.burstNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    private static boolean isPublicUrl(String path) {
+        for (String pattern : Constants.PUBLIC_URLS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long remaining(String key, Limit limit, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return limit.capacity();
+        }
+        long used = Math.max(0, bucket.get() - now);
+        return Math.max(0, (limit.burstNanos() - used) / limit.emissionIntervalNanos());
+    }
+
+    private AtomicLong bucketFor(String key, Limit limit, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            // Memory bound reached: unknown clients share one bucket until idle ones are evicted.
+            return buckets.computeIfAbsent(OVERFLOW_KEY + ":" + limit.capacity(), k -> new AtomicLong(now));
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Evicts buckets that have fully refilled (idle clients).
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+        if (before >= maxKeys) {
+            log.warn("Rate limiter reached {} keys, {} left after eviction", before, buckets.size());
+        }
+    }
+
+    /** @return the number of tracked clients */
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    /**
+     * A token bucket configuration expressed in GCRA terms.
+     *
+     * @param capacity the maximum burst size
+     * @param emissionIntervalNanos the time needed to refill one token
+     */
+    record Limit(int capacity, long emissionIntervalNanos) {
+
+        Limit(int capacity, double refillPerSecond) {
+            this(capacity, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        }
+
+        /** @return the time span covered by a full bucket */
+        long burstNanos() {
+            return emissionIntervalNanos * capacity;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.util.BloomFilter;
+import org.sid.ouissal_project_management_backend.util.EmailAddress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bloom filter of registered emails.
+ * <p>
+ * Registration used to look the email up before every insert. Most registrations
+ * use a new email, so the filter answers the common case from memory:
+ * <ul>
+ *   <li>Filter miss: the email is definitely new, the lookup is skipped</li>
+ *   <li>Filter hit: the email may exist, it is looked up before spending a password hash</li>
+ * </ul>
+ * The unique constraint on {@code users.email} stays the source of truth: an
+ * email registered concurrently, or by another instance, is still rejected by
+ * the insert. The filter only decides whether the lookup is worth doing.
+ * </p>
+ * <p>
+ * The filter is loaded in keyset chunks on startup; until it is loaded every
+ * email is treated as "maybe registered". It is rebuilt with a larger size when
+ * its estimated false-positive rate drifts above twice the target.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long minExpectedEmails;
+    private final double falsePositiveRate;
+    private final int chunkSize;
+    private final Counter skippedLookups;
+    private final Counter checkedLookups;
+    private final Counter falsePositives;
+
+    /** Current filter, swapped atomically by {@link #refresh()} */
+    private volatile BloomFilter filter;
+
+    /** Filter being loaded, also receives new emails so that none is lost by the swap */
+    private volatile BloomFilter loading;
+
+    /** Whether {@link #filter} holds every registered email */
+    private volatile boolean loaded;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 @Value("${registration.email-filter.enabled:true}") boolean enabled,
+                                 @Value("${registration.email-filter.expected-emails:100000}") long minExpectedEmails,
+                                 @Value("${registration.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${registration.email-filter.load-chunk-size:5000}") int chunkSize,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.minExpectedEmails = minExpectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.chunkSize = chunkSize;
+        this.filter = BloomFilter.create(minExpectedEmails, falsePositiveRate);
+        this.skippedLookups = Counter.builder("auth.registration.email-filter.lookups")
+                .description("Registrations by outcome of the email filter")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.checkedLookups = Counter.builder("auth.registration.email-filter.lookups")
+                .description("Registrations by outcome of the email filter")
+                .tag("result", "checked")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.registration.email-filter.false-positives")
+                .description("Filter hits for emails that were not registered")
+                .register(meterRegistry);
+        Gauge.builder("auth.registration.email-filter.fpp", this, f -> f.filter.expectedFalsePositiveRate())
+                .description("Expected false-positive rate of the registered email filter")
+                .register(meterRegistry);
+        Gauge.builder("auth.registration.email-filter.insertions", this, f -> f.filter.insertions())
+                .description("Emails added to the registered email filter")
+                .register(meterRegistry);
+        Gauge.builder("auth.registration.email-filter.bits", this, f -> f.filter.bitSize())
+                .description("Size of the registered email filter in bits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells whether the email may already be registered.
+     *
+     * @param email the email to test
+     * @return false if the email is definitely not registered, true if it must be looked up
+     */
+    public boolean mightBeRegistered(String email) {
+        boolean maybe = !enabled || !loaded || filter.mightContain(EmailAddress.normalize(email));
+        (maybe ? checkedLookups : skippedLookups).increment();
+        return maybe;
+    }
+
+    /**
+     * Records that a lookup after a filter hit found no user.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Adds a newly registered email.
+     *
+     * @param email the registered email
+     */
+    public void add(String email) {
+        String normalized = EmailAddress.normalize(email);
+        BloomFilter next = loading;
+        filter.put(normalized);
+        if (next != null) {
+            next.put(normalized);
+        }
+    }
+
+    /**
+     * Loads the filter on startup, then rebuilds it when it gets too full.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${registration.email-filter.check-interval:300000}")
+    public void refresh() {
+        if (!enabled || (loaded && filter.expectedFalsePositiveRate() <= 2 * falsePositiveRate)) {
+            return;
+        }
+        try {
+            long expected = Math.max(minExpectedEmails, userRepository.count() * 2);
+            BloomFilter next = BloomFilter.create(expected, falsePositiveRate);
+            loading = next;
+
+            long afterId = 0;
+            long count = 0;
+            List<Object[]> chunk;
+            do {
+                chunk = userRepository.findEmailsAfter(afterId, Limit.of(chunkSize));
+                for (Object[] row : chunk) {
+                    afterId = (Long) row[0];
+                    next.put(EmailAddress.normalize((String) row[1]));
+                }
+                count += chunk.size();
+            } while (chunk.size() == chunkSize);
+
+            filter = next;
+            loading = null;
+            loaded = true;
+            log.info("Registered email filter loaded: {} emails, {} bits, expected fpp {}",
+                    count, next.bitSize(), String.format(Locale.ROOT, "%.4f", next.expectedFalsePositiveRate()));
+        } catch (Exception e) {
+            // Keep the previous state (lookups stay on until the first load succeeds).
+            loading = null;
+            log.warn("Cannot load registered email filter: {}", e.getMessage());
+        }
+    }
+}
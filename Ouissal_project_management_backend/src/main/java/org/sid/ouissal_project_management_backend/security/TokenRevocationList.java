@@ -0,0 +1,147 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.entities.RevokedToken;
+import org.sid.ouissal_project_management_backend.repositories.RevokedTokenRepository;
+import org.sid.ouissal_project_management_backend.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for access tokens, guarded by a Bloom filter.
+ * <p>
+ * Every authenticated request has to know whether its token was revoked
+ * (logout). Asking the database each time would undo the benefit of
+ * stateless tokens, so the ids of revoked, not yet expired tokens are kept in
+ * an in-memory Bloom filter:
+ * <ul>
+ *   <li>Filter miss (the common case): the token is not revoked, no query</li>
+ *   <li>Filter hit: confirmed with a primary-key lookup, to rule out false positives</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The filter is rebuilt from the database on a fixed interval. Revoked ids are
+ * only kept until the token would expire, so each rebuild drops entries older
+ * than the access token TTL and picks up revocations made by other instances.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final EntityManager entityManager;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Counter filterHits;
+    private final Counter confirmedRevocations;
+
+    /** Current filter, swapped atomically by {@link #rebuild()} */
+    private volatile BloomFilter filter;
+
+    /** Revocations made by this instance, re-added after each rebuild until they expire */
+    private final Map<String, Instant> recentRevocations = new ConcurrentHashMap<>();
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               EntityManager entityManager,
+                               @Value("${jwt.revocation.expected-revocations:10000}") long expectedRevocations,
+                               @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.entityManager = entityManager;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        this.filterHits = Counter.builder("auth.revocation.filter.hits")
+                .description("Tokens that matched the revocation Bloom filter")
+                .register(meterRegistry);
+        this.confirmedRevocations = Counter.builder("auth.revocation.confirmed")
+                .description("Filter hits confirmed as revoked by the database")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.filter.fpp", this, list -> list.filter.expectedFalsePositiveRate())
+                .description("Expected false-positive rate of the revocation filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether an access token has been revoked.
+     *
+     * @param tokenId the token id ({@code jti} claim)
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        if (revoked) {
+            confirmedRevocations.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes an access token until its expiration.
+     *
+     * @param tokenId the token id ({@code jti} claim)
+     * @param expiresAt the token expiration
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        // The id is assigned: persist inserts directly, where save() would merge (SELECT first).
+        entityManager.persist(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiresAt)
+                .build());
+        recentRevocations.put(tokenId, expiresAt);
+        filter.put(tokenId);
+    }
+
+    /**
+     * Rebuilds the filter from the unexpired revocations in the database and
+     * purges expired rows.
+     * <p>
+     * Not transactional: each query runs in its own repository transaction, so
+     * a failed query is caught here and the previous filter is kept, instead
+     * of failing the commit of a rollback-only transaction.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:60000}")
+    public void rebuild() {
+        try {
+            Instant now = Instant.now();
+            revokedTokenRepository.deleteExpired(now);
+
+            BloomFilter rebuilt = BloomFilter.create(expectedRevocations, falsePositiveRate);
+            revokedTokenRepository.findActiveTokenIds(now).forEach(rebuilt::put);
+
+            filter = rebuilt;
+
+            // Local revocations may be missing from the snapshot (not yet committed when it
+            // was read); re-adding them after the swap closes that window.
+            recentRevocations.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            recentRevocations.keySet().forEach(rebuilt::put);
+        } catch (Exception e) {
+            // Keep the previous filter, the next run will retry.
+            log.warn("Cannot rebuild token revocation filter: {}", e.getMessage());
+        }
+    }
+}
@@ -2,11 +2,17 @@ package org.sid.ouissal_project_management_backend.service;
 
 import org.sid.ouissal_project_management_backend.dto.AuthResponse;
 import org.sid.ouissal_project_management_backend.dto.LoginRequest;
+import org.sid.ouissal_project_management_backend.dto.RefreshRequest;
 import org.sid.ouissal_project_management_backend.dto.RegisterRequest;
 import org.sid.ouissal_project_management_backend.entities.User;
 import org.sid.ouissal_project_management_backend.exception.UserAlreadyExistsException;
 import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
 import org.sid.ouissal_project_management_backend.security.JwtUtil;
+import org.sid.ouissal_project_management_backend.security.RegisteredEmailFilter;
+import org.sid.ouissal_project_management_backend.security.TokenRevocationList;
+import org.sid.ouissal_project_management_backend.util.EmailAddress;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +20,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Service class for handling authentication operations.
@@ -22,6 +31,7 @@ import org.springframework.stereotype.Service;
  * <ul>
  *   <li>User registration with password encryption</li>
  *   <li>User authentication and JWT token generation</li>
+ *   <li>Refresh token rotation and logout (token revocation)</li>
  *   <li>Duplicate email validation</li>
  * </ul>
  * </p>
@@ -37,15 +47,27 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ShardDirectory shardDirectory;
 
     public AuthService(UserRepository userRepository, 
                       PasswordEncoder passwordEncoder, 
                       JwtUtil jwtUtil,
-                      AuthenticationManager authenticationManager) {
+                      AuthenticationManager authenticationManager,
+                      RefreshTokenService refreshTokenService,
+                      TokenRevocationList tokenRevocationList,
+                      RegisteredEmailFilter registeredEmailFilter,
+                      ShardDirectory shardDirectory) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.shardDirectory = shardDirectory;
     }
 
     /**
@@ -53,35 +75,49 @@ public class AuthService {
      * <p>
      * This method:
      * <ol>
-     *   <li>Checks if a user with the given email already exists</li>
+     *   <li>Normalizes the email ({@link EmailAddress}), then checks if a user
+     *       with that email already exists (only when the registered email
+     *       filter cannot rule it out)</li>
      *   <li>Encrypts the password using BCrypt</li>
-     *   <li>Saves the new user to the database</li>
+     *   <li>Saves the new user to the database (the unique constraint on the email
+     *       rejects concurrent registrations)</li>
+     *   <li>Places the user on a shard, when sharding is enabled</li>
      *   <li>Generates a JWT token for immediate authentication</li>
      * </ol>
      * </p>
      * 
      * @param request the registration request containing email and password
-     * @return AuthResponse containing the JWT token and user email
+     * @return AuthResponse containing the JWT access token, refresh token and user email
      * @throws UserAlreadyExistsException if a user with the given email already exists
      */
     public AuthResponse register(RegisterRequest request) {
-        // Check if user already exists
-        if (userRepository.findByEmail(request.email()).isPresent()) {
-            throw new UserAlreadyExistsException("User with email " + request.email() + " already exists");
+        String email = EmailAddress.normalize(request.email());
+
+        // Check if user already exists (skipped when the filter knows the email is new)
+        if (registeredEmailFilter.mightBeRegistered(email)) {
+            if (userRepository.existsByEmail(email)) {
+                throw userAlreadyExists(email);
+            }
+            registeredEmailFilter.recordFalsePositive();
         }
 
         // Create new user
         User user = User.builder()
-                .email(request.email())
+                .email(email)
                 .password(passwordEncoder.encode(request.password()))
                 .build();
 
-        userRepository.save(user);
-
-        // Generate token
-        String token = jwtUtil.generateToken(user.getEmail());
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Unique constraint on the email: registered concurrently or by another instance
+            throw userAlreadyExists(email);
+        }
+        registeredEmailFilter.add(user.getEmail());
+        shardDirectory.place(user.getId());
 
-        return new AuthResponse(token, user.getEmail());
+        // Generate tokens
+        return issueTokens(user.getId(), user.getEmail(), List.of(user.getRole().authority()));
     }
 
     /**
@@ -92,7 +128,7 @@ public class AuthService {
      * </p>
      * 
      * @param request the login request containing email and password
-     * @return AuthResponse containing the JWT token and user email
+     * @return AuthResponse containing the JWT access token, refresh token and user email
      * @throws BadCredentialsException if the email or password is incorrect
      */
     public AuthResponse login(LoginRequest request) {
@@ -100,17 +136,83 @@ public class AuthService {
             // Authenticate user
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
-                    request.email(),
+                    EmailAddress.normalize(request.email()),
                     request.password()
                 )
             );
 
-            // Generate token
-            String token = jwtUtil.generateToken(request.email());
-
-            return new AuthResponse(token, request.email());
+            // Generate tokens from the loaded principal (carries the user id and roles)
+            AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+            return issueTokens(principal.getId(), principal.getUsername(), principal.getRoles());
         } catch (AuthenticationException e) {
             throw new BadCredentialsException("Invalid email or password");
         }
     }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     * <p>
+     * The presented refresh token is consumed (rotation). Reusing a consumed token
+     * revokes all refresh tokens of the user.
+     * </p>
+     * 
+     * @param request the refresh request containing the refresh token
+     * @return AuthResponse containing a new JWT access token and refresh token
+     * @throws BadCredentialsException if the refresh token is invalid, expired or reused,
+     *         or the account is disabled
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(RefreshRequest request) {
+        User user = refreshTokenService.consume(request.refreshToken());
+        if (!user.isEnabled()) {
+            throw new BadCredentialsException("Account is disabled");
+        }
+        return issueTokens(user.getId(), user.getEmail(), List.of(user.getRole().authority()));
+    }
+
+    /**
+     * Logs a user out by revoking the given tokens.
+     * <p>
+     * The access token (if still valid) is added to the revocation list until it
+     * expires, and the refresh token (if given) can no longer be exchanged.
+     * Invalid or unknown tokens are ignored.
+     * </p>
+     * 
+     * @param accessToken the JWT access token from the Authorization header (may be null)
+     * @param refreshToken the refresh token to revoke (may be null)
+     */
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                AuthenticatedUser principal = jwtUtil.extractPrincipal(accessToken);
+                if (principal != null) {
+                    tokenRevocationList.revoke(principal.getTokenId(), principal.getTokenExpiresAt());
+                }
+            } catch (Exception e) {
+                // Expired or malformed token: nothing left to revoke.
+            }
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    private static UserAlreadyExistsException userAlreadyExists(String email) {
+        return new UserAlreadyExistsException("User with email " + email + " already exists");
+    }
+
+    /**
+     * Issues a new access token and refresh token pair.
+     * 
+     * @param userId the id of the user
+     * @param email the email of the user
+     * @param roles the granted roles of the user
+     * @return AuthResponse containing both tokens
+     */
+    private AuthResponse issueTokens(Long userId, String email, List<String> roles) {
+        String token = jwtUtil.generateToken(userId, email, roles);
+        String refreshToken = refreshTokenService.issue(userId);
+        return new AuthResponse(token, email, refreshToken, jwtUtil.getExpiration() / 1000);
+    }
 }
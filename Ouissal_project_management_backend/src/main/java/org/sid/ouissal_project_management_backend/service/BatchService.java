@@ -0,0 +1,168 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.dto.BatchOperation;
+import org.sid.ouissal_project_management_backend.dto.BatchRequest;
+import org.sid.ouissal_project_management_backend.dto.BatchResponse;
+import org.sid.ouissal_project_management_backend.dto.BatchResult;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.sid.ouissal_project_management_backend.exception.ResourceNotFoundException;
+import org.sid.ouissal_project_management_backend.exception.UnauthorizedAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for running several task and project operations in one request.
+ * <p>
+ * Operations are delegated to {@link TaskService} and {@link ProjectService},
+ * so they apply the same validation and ownership rules as the single calls.
+ * Two modes are supported:
+ * <ul>
+ *   <li>Atomic (default): one transaction for the whole batch; the first failure
+ *       rolls everything back and the remaining operations are not run</li>
+ *   <li>Non-atomic: each operation commits on its own; failures are reported
+ *       per operation and do not stop the batch</li>
+ * </ul>
+ * Each result carries the HTTP status the operation would have returned as a
+ * single call.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Slf4j
+public class BatchService {
+
+    private static final int NOT_APPLIED = HttpStatus.FAILED_DEPENDENCY.value();
+
+    private final TaskService taskService;
+    private final ProjectService projectService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int maxOperations;
+
+    public BatchService(TaskService taskService, ProjectService projectService,
+                        PlatformTransactionManager transactionManager, EntityManager entityManager,
+                        @Value("${batch.max-operations:100}") int maxOperations) {
+        this.taskService = taskService;
+        this.projectService = projectService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Runs the operations of a batch in order.
+     *
+     * @param userId the id of the authenticated user
+     * @param request the batch request
+     * @return the outcome of each operation
+     * @throws BadRequestException if the batch exceeds the configured maximum
+     */
+    public BatchResponse execute(Long userId, BatchRequest request) {
+        List<BatchOperation> operations = request.operations();
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException("At most " + maxOperations + " operations are allowed per batch");
+        }
+        return request.isAtomic()
+                ? executeAtomically(userId, operations)
+                : executeIndividually(userId, operations);
+    }
+
+    private BatchResponse executeAtomically(Long userId, List<BatchOperation> operations) {
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        Boolean committed = transactionTemplate.execute(status -> {
+            for (int i = 0; i < operations.size(); i++) {
+                BatchResult result = run(userId, i, operations.get(i));
+                results.add(result);
+                if (result.error() != null) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                // Each operation starts from a fresh persistence context, as a single call would:
+                // a project's task collection loaded by one operation must not hide (or, through
+                // its cascade, undo) the task changes of the next ones.
+                entityManager.flush();
+                entityManager.clear();
+            }
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(committed)) {
+            return new BatchResponse(true, true, results.size(), 0, results);
+        }
+
+        // Rolled back: earlier successes were undone, later operations never ran.
+        int failedIndex = results.size() - 1;
+        String reason = "Not applied: operation " + failedIndex + " failed";
+        List<BatchResult> reported = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            reported.add(i == failedIndex
+                    ? results.get(i)
+                    : new BatchResult(i, operations.get(i).type(), NOT_APPLIED, null, reason));
+        }
+        return new BatchResponse(true, false, 0, operations.size(), reported);
+    }
+
+    private BatchResponse executeIndividually(Long userId, List<BatchOperation> operations) {
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchResult result = run(userId, i, operations.get(i));
+            results.add(result);
+            if (result.error() != null) {
+                failed++;
+            }
+        }
+        return new BatchResponse(false, true, results.size() - failed, failed, results);
+    }
+
+    /**
+     * Runs one operation and converts its outcome (or exception) into a result.
+     */
+    private BatchResult run(Long userId, int index, BatchOperation operation) {
+        BatchOperation.Type type = operation.type();
+        try {
+            return switch (type) {
+                case CREATE_TASK -> new BatchResult(index, type, HttpStatus.CREATED.value(),
+                        taskService.createTask(userId, require(operation.projectId(), "projectId"),
+                                require(operation.task(), "task")), null);
+                case COMPLETE_TASK -> new BatchResult(index, type, HttpStatus.OK.value(),
+                        taskService.markTaskAsCompleted(userId, require(operation.taskId(), "taskId")), null);
+                case DELETE_TASK -> {
+                    taskService.deleteTask(userId, require(operation.taskId(), "taskId"));
+                    yield new BatchResult(index, type, HttpStatus.NO_CONTENT.value(), null, null);
+                }
+                case UPDATE_PROJECT -> new BatchResult(index, type, HttpStatus.OK.value(),
+                        projectService.updateProject(userId, require(operation.projectId(), "projectId"),
+                                require(operation.project(), "project")), null);
+            };
+        } catch (BadRequestException e) {
+            return new BatchResult(index, type, HttpStatus.BAD_REQUEST.value(), null, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            return new BatchResult(index, type, HttpStatus.NOT_FOUND.value(), null, e.getMessage());
+        } catch (UnauthorizedAccessException e) {
+            return new BatchResult(index, type, HttpStatus.FORBIDDEN.value(), null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Batch operation {} ({}) failed", index, type, e);
+            return new BatchResult(index, type, HttpStatus.INTERNAL_SERVER_ERROR.value(), null,
+                    "An unexpected error occurred");
+        }
+    }
+
+    private static <T> T require(T value, String field) {
+        if (value == null) {
+            throw new BadRequestException(field + " is required for this operation");
+        }
+        return value;
+    }
+}
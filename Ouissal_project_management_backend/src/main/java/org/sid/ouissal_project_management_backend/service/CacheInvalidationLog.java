@@ -0,0 +1,398 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.config.ShardRoutingDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide invalidation of in-process caches through the shared database.
+ * <p>
+ * A cache that must stay consistent across instances publishes the keys it
+ * drops with {@link #publish(String, Long)}. The keys are collected per
+ * transaction, without duplicates, and inserted in one batch into the
+ * {@code cache_invalidations} table just before the commit: the log rows
+ * commit (or roll back) with the change itself. Every instance tails the table
+ * every {@code cache-invalidation.poll-interval}, on a dedicated thread, and
+ * hands the keys written by the other instances to the handler the cache
+ * registered with {@link #subscribe(String, Consumer)}, once per key and poll.
+ * A committed change is therefore seen by the other instances after at most
+ * the poll interval plus the duration of one poll, unless its transaction
+ * commits more than the gap timeout after its row was inserted (see below).
+ * </p>
+ * <p>
+ * Ids are allocated at insert time but become visible at commit, so a row can
+ * appear after a row with a higher id. The ids skipped by the tail are kept as
+ * gaps and looked up again on every poll, until they show up or are older than
+ * {@code cache-invalidation.gap-timeout} (a rolled-back transaction never fills
+ * its gap). With sharding, each shard has its own log and cursor.
+ * </p>
+ * <p>
+ * Metrics:
+ * <ul>
+ *   <li>{@code cache.invalidation.delay} - time from the write of a row to its
+ *       application on this instance (database clock)</li>
+ *   <li>{@code cache.invalidation.rows} - rows published and received</li>
+ *   <li>{@code cache.invalidation.applied} - keys invalidated after coalescing</li>
+ *   <li>{@code cache.invalidation.gaps} - ids waiting for a late commit, and
+ *       {@code cache.invalidation.gaps.expired} those given up</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Rows older than {@code cache-invalidation.retention} are purged.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+@Slf4j
+public class CacheInvalidationLog implements SmartLifecycle, DisposableBean {
+
+    private static final String INSERT_SQL =
+            "insert into cache_invalidations (cache_name, cache_key, origin) values (?, ?, ?)";
+    private static final String SELECT_SQL =
+            "select id, cache_name, cache_key, origin, created_at, localtimestamp(6) from cache_invalidations ";
+    private static final int GAP_QUERY_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, DataSource> shards;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final int maxGaps;
+    private final Duration retention;
+    private final long pollIntervalMillis;
+    private final ScheduledExecutorService poller;
+    private volatile ScheduledFuture<?> polling;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, Consumer<Long>> handlers = new ConcurrentHashMap<>();
+    private final Map<Integer, Cursor> cursors = new ConcurrentHashMap<>();
+
+    private final Timer delay;
+    private final Counter published;
+    private final Counter received;
+    private final Counter applied;
+    private final Counter expiredGaps;
+
+    public CacheInvalidationLog(JdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                ObjectProvider<ShardRoutingDataSource> shards,
+                                @Value("${cache-invalidation.enabled:true}") boolean enabled,
+                                @Value("${cache-invalidation.batch-size:1000}") int batchSize,
+                                @Value("${cache-invalidation.gap-timeout:10s}") Duration gapTimeout,
+                                @Value("${cache-invalidation.max-gaps:10000}") int maxGaps,
+                                @Value("${cache-invalidation.retention:1h}") Duration retention,
+                                @Value("${cache-invalidation.poll-interval:100}") long pollIntervalMillis,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        ShardRoutingDataSource routing = shards.getIfAvailable();
+        this.shards = routing != null
+                ? routing.getShards()
+                : Map.of(ShardRoutingDataSource.GLOBAL_SHARD, dataSource);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.maxGaps = maxGaps;
+        this.retention = retention;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.delay = Timer.builder("cache.invalidation.delay")
+                .description("Time from the write of a row on another instance to the invalidation here")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("cache.invalidation.rows")
+                .tag("direction", "published")
+                .description("Invalidation rows written by this instance")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.rows")
+                .tag("direction", "received")
+                .description("Invalidation rows read from the other instances")
+                .register(meterRegistry);
+        this.applied = Counter.builder("cache.invalidation.applied")
+                .description("Cache keys invalidated, after coalescing")
+                .register(meterRegistry);
+        this.expiredGaps = Counter.builder("cache.invalidation.gaps.expired")
+                .description("Missing log ids given up after the gap timeout")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.gaps", this, CacheInvalidationLog::openGaps)
+                .description("Log ids waiting for a late commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the handler that drops the keys other instances invalidated.
+     *
+     * @param cache the cache name
+     * @param handler drops one key from the local cache
+     */
+    public void subscribe(String cache, Consumer<Long> handler) {
+        handlers.put(cache, handler);
+    }
+
+    /**
+     * Tells the other instances to drop a key, when the current transaction
+     * commits (immediately when no transaction is active).
+     *
+     * @param cache the cache name
+     * @param key the changed key
+     */
+    public void publish(String cache, Long key) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            write(Map.of(cache, Set.of(key)));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Set<Long>> pending = (Map<String, Set<Long>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<String, Set<Long>> keys = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Still inside the transaction: the rows commit with the change.
+                    write(keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationLog.this);
+                }
+            });
+            pending = keys;
+        }
+        pending.computeIfAbsent(cache, name -> new LinkedHashSet<>()).add(key);
+    }
+
+    private void write(Map<String, Set<Long>> keys) {
+        List<Object[]> rows = new ArrayList<>();
+        keys.forEach((cache, cacheKeys) -> cacheKeys.forEach(key -> rows.add(new Object[]{cache, key, origin})));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            published.increment(rows.size());
+        }
+    }
+
+    /**
+     * Starts polling on the dedicated thread once the context is refreshed,
+     * or again after the context was stopped.
+     */
+    @Override
+    public void start() {
+        polling = poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> current = polling;
+        if (current != null) {
+            current.cancel(false);
+            polling = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return polling != null;
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Reads the rows committed since the last poll on every shard and applies
+     * those of the other instances.
+     * <p>
+     * Runs on its own thread rather than on the shared {@code @Scheduled}
+     * pool, so that a long job there (an email filter rebuild, a rank
+     * rebalance) never delays the delivery of invalidations.
+     * </p>
+     */
+    public void poll() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        shards.forEach((shardId, shard) -> {
+            try {
+                poll(cursors.computeIfAbsent(shardId, id -> openCursor(shard)), shard);
+            } catch (Exception e) {
+                // The cursor is unchanged: the next poll reads the same rows again.
+                log.warn("Cannot read the cache invalidation log of shard {}: {}", shardId, e.getMessage());
+            }
+        });
+    }
+
+    private void poll(Cursor cursor, DataSource shard) {
+        List<Row> rows = new ArrayList<>();
+        List<Long> gapIds = new ArrayList<>(cursor.gaps.keySet());
+        for (int from = 0; from < gapIds.size(); from += GAP_QUERY_CHUNK) {
+            List<Long> chunk = gapIds.subList(from, Math.min(from + GAP_QUERY_CHUNK, gapIds.size()));
+            rows.addAll(query(shard, "where id in (" + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                    + ")", 0, chunk.toArray()));
+        }
+        rows.forEach(row -> cursor.gaps.remove(row.id()));
+
+        long now = System.nanoTime();
+        List<Row> tail = query(shard, "where id > ? order by id", batchSize, cursor.lastId);
+        for (Row row : tail) {
+            for (long missing = cursor.lastId + cursor.step; missing < row.id(); missing += cursor.step) {
+                if (cursor.gaps.size() < maxGaps) {
+                    cursor.gaps.put(missing, now);
+                } else {
+                    expiredGaps.increment();
+                }
+            }
+            cursor.lastId = row.id();
+        }
+        rows.addAll(tail);
+
+        Iterator<Long> firstSeen = cursor.gaps.values().iterator();
+        while (firstSeen.hasNext()) {
+            if (now - firstSeen.next() > gapTimeoutNanos) {
+                firstSeen.remove();
+                expiredGaps.increment();
+            }
+        }
+        apply(rows);
+    }
+
+    /**
+     * Applies the rows of the other instances, each key once.
+     */
+    private void apply(List<Row> rows) {
+        Map<String, Set<Long>> keys = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (origin.equals(row.origin())) {
+                continue;
+            }
+            received.increment();
+            delay.record(Duration.between(row.createdAt(), row.readAt()));
+            keys.computeIfAbsent(row.cache(), name -> new LinkedHashSet<>()).add(row.key());
+        }
+        keys.forEach((cache, cacheKeys) -> {
+            Consumer<Long> handler = handlers.get(cache);
+            if (handler != null) {
+                cacheKeys.forEach(handler);
+                applied.increment(cacheKeys.size());
+            }
+        });
+    }
+
+    /**
+     * Starts reading a shard's log a little before its end, so that the
+     * transactions still running at startup are not missed.
+     */
+    private Cursor openCursor(DataSource shard) {
+        JdbcTemplate template = new JdbcTemplate(shard);
+        Long max = template.queryForObject("select max(id) from cache_invalidations", Long.class);
+        String database = template.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()).toLowerCase(Locale.ROOT);
+        // On MySQL, ids follow the session increment (set per shard when sharding is enabled).
+        long step = database.contains("mysql")
+                ? template.queryForObject("select @@session.auto_increment_increment", Long.class)
+                : 1;
+        Cursor cursor = new Cursor(step);
+        cursor.lastId = Math.max(0, (max == null ? 0 : max) - batchSize * step);
+        return cursor;
+    }
+
+    private List<Row> query(DataSource shard, String condition, int maxRows, Object... args) {
+        JdbcTemplate template = new JdbcTemplate(shard);
+        template.setMaxRows(maxRows);
+        return template.query(SELECT_SQL + condition, (resultSet, rowNum) -> new Row(
+                resultSet.getLong(1),
+                resultSet.getString(2),
+                resultSet.getLong(3),
+                resultSet.getString(4),
+                resultSet.getObject(5, LocalDateTime.class),
+                resultSet.getObject(6, LocalDateTime.class)), args);
+    }
+
+    /**
+     * Deletes the rows older than the retention, on every shard.
+     */
+    @Scheduled(fixedDelayString = "${cache-invalidation.cleanup-interval:600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        shards.forEach((shardId, shard) -> {
+            try {
+                JdbcTemplate template = new JdbcTemplate(shard);
+                // The cutoff is computed from the database clock, like created_at.
+                LocalDateTime now = template.queryForObject("select localtimestamp(6)", LocalDateTime.class);
+                int deleted = template.update("delete from cache_invalidations where created_at < ?",
+                        now.minus(retention));
+                log.debug("Purged {} cache invalidation rows from shard {}", deleted, shardId);
+            } catch (Exception e) {
+                log.warn("Cannot purge the cache invalidation log of shard {}: {}", shardId, e.getMessage());
+            }
+        });
+    }
+
+    private int openGaps() {
+        return cursors.values().stream().mapToInt(cursor -> cursor.gaps.size()).sum();
+    }
+
+    /**
+     * Read position in the log of one shard. Only used by the polling thread.
+     */
+    private static final class Cursor {
+        private final long step;
+        private long lastId;
+        /** Missing id, and when it was first missed ({@link System#nanoTime()}) */
+        private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+        private Cursor(long step) {
+            this.step = step;
+        }
+    }
+
+    private record Row(long id, String cache, long key, String origin, LocalDateTime createdAt,
+                       LocalDateTime readAt) {
+    }
+}
@@ -0,0 +1,417 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.config.ShardMigrationStrategy;
+import org.sid.ouissal_project_management_backend.config.ShardRoutingDataSource;
+import org.sid.ouissal_project_management_backend.entities.Role;
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.util.BoundedPareto;
+import org.sid.ouissal_project_management_backend.util.FractionalRank;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Synthetic dataset generator for performance testing (profile {@code datagen}).
+ * <p>
+ * Fills the {@code users}, {@code projects} and {@code tasks} tables with
+ * skewed, realistic data, then stops the application:
+ * <ul>
+ *   <li>Projects per user and tasks per project follow bounded Pareto
+ *       distributions: most users have a few projects, a few have thousands;
+ *       a few projects hold up to {@code datagen.tasks-per-project.max} tasks</li>
+ *   <li>Each project has its own completion ratio; tasks get creation dates
+ *       after their project's, and due dates around them (some without one)</li>
+ *   <li>Descriptions are empty or of heavy-tailed lengths, up to
+ *       {@code datagen.description.max-length} characters</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Rows are inserted with JDBC batches, one transaction per batch, from
+ * {@code datagen.threads} threads. Output is deterministic for a given seed and
+ * starting database: ids are assigned by the generator (after the current
+ * maximum), and every row draws from its own random stream derived from the seed
+ * and its index, so the thread that happens to insert it does not matter.
+ * </p>
+ * <p>
+ * All generated users share the password {@code datagen.password} (hashed once)
+ * and have emails {@code dg<seed>-user<n>@example.com}.
+ * </p>
+ * <p>
+ * With sharding enabled, the users are placed on their shards like registered
+ * users (see {@link ShardDirectory}), and their projects and tasks are written
+ * to that shard.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Profile("datagen")
+@Slf4j
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final String USER_SQL =
+            "insert into users (id, email, password, enabled, role) values (?, ?, ?, ?, ?)";
+    private static final String PROJECT_SQL =
+            "insert into projects (id, title, description, user_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?)";
+    private static final String TASK_SQL = "insert into tasks (id, title, description, due_date, status, project_id,"
+            + " created_at, updated_at, task_rank) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Independent random streams per kind of row */
+    private static final long USER_STREAM = 1;
+    private static final long PROJECT_STREAM = 2;
+    private static final long TASK_STREAM = 3;
+
+    /** Rows handed to a thread at a time */
+    private static final int UNIT_ROWS = 10_000;
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+
+    private static final String[] WORDS = ("lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod"
+            + " tempor incididunt ut labore et dolore magna aliqua review deploy backend frontend database"
+            + " meeting client release sprint design test fix update migrate document schedule budget"
+            + " deadline feature report customer invoice server api security performance").split(" ");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+    private final ShardDirectory shardDirectory;
+    /** The shards, null without sharding */
+    private final ShardRoutingDataSource shards;
+    private final ShardMigrationStrategy shardMigration;
+
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final int users;
+    private final BoundedPareto projectsPerUser;
+    private final BoundedPareto tasksPerProject;
+    private final double emptyDescriptionRatio;
+    private final BoundedPareto descriptionLength;
+    private final double emptyDueDateRatio;
+    private final long historySeconds;
+    private final LocalDateTime referenceTime;
+    private final String password;
+    private final String text;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            PasswordEncoder passwordEncoder,
+                            ConfigurableApplicationContext context,
+                            ShardDirectory shardDirectory,
+                            ObjectProvider<ShardRoutingDataSource> shards,
+                            ObjectProvider<ShardMigrationStrategy> shardMigration,
+                            @Value("${datagen.seed:42}") long seed,
+                            @Value("${datagen.threads:0}") int threads,
+                            @Value("${datagen.batch-size:1000}") int batchSize,
+                            @Value("${datagen.users:10000}") int users,
+                            @Value("${datagen.projects-per-user.mean:10}") double projectsMean,
+                            @Value("${datagen.projects-per-user.max:5000}") long projectsMax,
+                            @Value("${datagen.projects-per-user.skew:1.1}") double projectsSkew,
+                            @Value("${datagen.tasks-per-project.mean:100}") double tasksMean,
+                            @Value("${datagen.tasks-per-project.max:100000}") long tasksMax,
+                            @Value("${datagen.tasks-per-project.skew:1.1}") double tasksSkew,
+                            @Value("${datagen.description.empty-ratio:0.2}") double emptyDescriptionRatio,
+                            @Value("${datagen.description.mean-length:200}") double descriptionMean,
+                            @Value("${datagen.description.max-length:20000}") int descriptionMax,
+                            @Value("${datagen.due-date.empty-ratio:0.15}") double emptyDueDateRatio,
+                            @Value("${datagen.history:730d}") Duration history,
+                            @Value("${datagen.reference-time:2026-01-01T00:00:00}") String referenceTime,
+                            @Value("${datagen.password:password}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.shardDirectory = shardDirectory;
+        this.shards = shards.getIfAvailable();
+        this.shardMigration = shardMigration.getIfAvailable();
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.users = users;
+        this.projectsPerUser = BoundedPareto.withMean(projectsMean, projectsMax, projectsSkew);
+        this.tasksPerProject = BoundedPareto.withMean(tasksMean, tasksMax, tasksSkew);
+        this.emptyDescriptionRatio = emptyDescriptionRatio;
+        this.descriptionLength = BoundedPareto.withMean(descriptionMean, descriptionMax, 1.3);
+        this.emptyDueDateRatio = emptyDueDateRatio;
+        this.historySeconds = history.toSeconds();
+        this.referenceTime = LocalDateTime.parse(referenceTime);
+        this.password = password;
+        this.text = loremText(Math.max(2 * descriptionMax, 1 << 16));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+
+        // Plan: how many projects each user owns and how many tasks each project holds.
+        // Project p of the run belongs to the user u with projectStart[u] <= p < projectStart[u + 1],
+        // task t to the project p with taskStart[p] <= t < taskStart[p + 1].
+        long[] projectStart = new long[users + 1];
+        for (int u = 0; u < users; u++) {
+            projectStart[u + 1] = projectStart[u] + projectsPerUser.sample(random(USER_STREAM, u));
+        }
+        long projectCount = projectStart[users];
+        if (projectCount >= Integer.MAX_VALUE) {
+            throw new IllegalStateException(projectCount + " projects planned, lower datagen.projects-per-user.mean");
+        }
+        long[] taskStart = new long[(int) projectCount + 1];
+        for (int p = 0; p < projectCount; p++) {
+            taskStart[p + 1] = taskStart[p] + project(p).taskCount();
+        }
+        long taskCount = taskStart[(int) projectCount];
+        log.info("Generating {} users, {} projects, {} tasks (seed {}, {} threads)",
+                users, projectCount, taskCount, seed, threads);
+
+        long userBase = maxId("users");
+        long projectBase = maxId("projects");
+        long taskBase = maxId("tasks");
+        String passwordHash = passwordEncoder.encode(password);
+
+        insert("users", users, (from, to, rows) -> {
+            for (long u = from; u < to; u++) {
+                rows.add(new Object[]{userBase + u + 1, "dg" + seed + "-user" + u + "@example.com",
+                        passwordHash, true, Role.USER.name()});
+            }
+        }, rows -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(USER_SQL, rows);
+            shardDirectory.placeAll(rows.stream().map(row -> (Long) row[0]).toList());
+        }));
+
+        insert("projects", projectCount, (from, to, rows) -> {
+            int u = owner(projectStart, from);
+            for (long p = from; p < to; p++) {
+                while (p >= projectStart[u + 1]) {
+                    u++;
+                }
+                ProjectSpec project = project(p);
+                rows.add(new Object[]{projectBase + p + 1, "Project " + (p - projectStart[u] + 1),
+                        project.description(), userBase + u + 1, project.createdAt(), project.updatedAt()});
+            }
+        }, rows -> writeByOwner(PROJECT_SQL, rows, row -> shardDirectory.placementShard((Long) row[3])));
+
+        insert("tasks", taskCount, (from, to, rows) -> {
+            int p = owner(taskStart, from);
+            ProjectSpec project = project(p);
+            for (long t = from; t < to; t++) {
+                if (t >= taskStart[p + 1]) {
+                    while (t >= taskStart[p + 1]) {
+                        p++;
+                    }
+                    project = project(p);
+                }
+                SplittableRandom random = random(TASK_STREAM, t);
+                boolean completed = random.nextDouble() < project.completedRatio();
+                LocalDateTime createdAt = between(random, project.createdAt(), referenceTime);
+                rows.add(new Object[]{taskBase + t + 1, "Task " + (t - taskStart[p] + 1), description(random),
+                        random.nextDouble() < emptyDueDateRatio ? null
+                                : createdAt.toLocalDate().plusDays(random.nextInt(-14, 91)),
+                        (completed ? TaskStatus.COMPLETED : TaskStatus.PENDING).name(), projectBase + p + 1,
+                        createdAt, completed ? between(random, createdAt, referenceTime) : createdAt,
+                        FractionalRank.forId(taskBase + t + 1)});
+            }
+        }, rows -> writeByOwner(TASK_SQL, rows, row -> shardDirectory.placementShard(
+                userBase + owner(projectStart, (Long) row[5] - projectBase - 1) + 1)));
+
+        restartIdentities(userBase + users, projectBase + projectCount, taskBase + taskCount);
+        long total = users + projectCount + taskCount;
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Generated {} rows in {}s ({} rows/s)", total, Math.round(seconds), Math.round(total / seconds));
+        SpringApplication.exit(context);
+    }
+
+    /**
+     * Generates and inserts {@code count} rows, split into units spread over the threads.
+     */
+    private void insert(String table, long count, RowGenerator generator, BatchWriter writer)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        AtomicLong inserted = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (long unit = 0; unit < count; unit += UNIT_ROWS) {
+            long unitFrom = unit;
+            long unitTo = Math.min(count, unit + UNIT_ROWS);
+            executor.execute(() -> {
+                for (long from = unitFrom; from < unitTo && failure.get() == null; from += batchSize) {
+                    try {
+                        List<Object[]> rows = new ArrayList<>(batchSize);
+                        generator.generate(from, Math.min(unitTo, from + batchSize), rows);
+                        writer.write(rows);
+                        inserted.addAndGet(rows.size());
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+            log.info("{}: {} / {} rows", table, inserted.get(), count);
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Generating " + table + " failed", failure.get());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("{}: {} rows in {}s ({} rows/s)", table, count, Math.round(seconds), Math.round(count / seconds));
+    }
+
+    /**
+     * Writes a batch of rows sharded by owner: to the global database without
+     * sharding, else each row to its owner's shard, one transaction per shard.
+     */
+    private void writeByOwner(String sql, List<Object[]> rows, ToIntFunction<Object[]> shardOf) {
+        if (shards == null) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            return;
+        }
+        Map<Integer, List<Object[]>> byShard = rows.stream().collect(Collectors.groupingBy(shardOf::applyAsInt));
+        byShard.forEach((shardId, shardRows) -> {
+            DataSource shard = shards.getShards().get(shardId);
+            new TransactionTemplate(new DataSourceTransactionManager(shard))
+                    .executeWithoutResult(status -> new JdbcTemplate(shard).batchUpdate(sql, shardRows));
+        });
+    }
+
+    private ProjectSpec project(long index) {
+        SplittableRandom random = random(PROJECT_STREAM, index);
+        int taskCount = (int) tasksPerProject.sample(random);
+        double completedRatio = random.nextDouble();
+        LocalDateTime createdAt = referenceTime.minusSeconds(random.nextLong(historySeconds + 1));
+        return new ProjectSpec(taskCount, completedRatio, createdAt, between(random, createdAt, referenceTime),
+                description(random));
+    }
+
+    private String description(SplittableRandom random) {
+        if (random.nextDouble() < emptyDescriptionRatio) {
+            return null;
+        }
+        int length = (int) Math.max(1, descriptionLength.sample(random));
+        int offset = random.nextInt(text.length() - length + 1);
+        return text.substring(offset, offset + length);
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long seconds = Duration.between(from, to).toSeconds();
+        return seconds <= 0 ? from : from.plusSeconds(random.nextLong(seconds + 1));
+    }
+
+    /**
+     * @return the index i such that starts[i] <= value < starts[i + 1]
+     */
+    private static int owner(long[] starts, long value) {
+        int index = Arrays.binarySearch(starts, value);
+        if (index < 0) {
+            return -index - 2;
+        }
+        // Owners without rows share the same start: take the last of them.
+        while (index + 1 < starts.length && starts[index + 1] == value) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Random stream of one row, derived from the seed so that it does not depend
+     * on which thread generates the row or in which order.
+     */
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(mix(mix(seed + stream) + index));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return the largest id of the table, over all shards with sharding
+     */
+    private long maxId(String table) {
+        Collection<DataSource> dataSources = shards == null
+                ? List.of(jdbcTemplate.getDataSource())
+                : shards.getShards().values();
+        long max = 0;
+        for (DataSource dataSource : dataSources) {
+            Long shardMax = new JdbcTemplate(dataSource).queryForObject("select max(id) from " + table, Long.class);
+            max = Math.max(max, shardMax == null ? 0 : shardMax);
+        }
+        return max;
+    }
+
+    /**
+     * MySQL moves AUTO_INCREMENT past explicitly inserted ids, H2 does not: restart
+     * its identity columns so that rows created through the API do not collide.
+     * With sharding, the project and task counters of every shard are realigned
+     * above the new ids, in their shard's residue class.
+     */
+    private void restartIdentities(long users, long projects, long tasks) {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            jdbcTemplate.execute("alter table users alter column id restart with " + (users + 1));
+        }
+        if (shardMigration != null) {
+            shardMigration.alignIdentities();
+        } else if ("H2".equals(database)) {
+            jdbcTemplate.execute("alter table projects alter column id restart with " + (projects + 1));
+            jdbcTemplate.execute("alter table tasks alter column id restart with " + (tasks + 1));
+        }
+    }
+
+    private static String loremText(int length) {
+        SplittableRandom random = new SplittableRandom(0);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.substring(0, length);
+    }
+
+    /** Fills {@code rows} with the rows of indexes {@code [from, to)} */
+    @FunctionalInterface
+    private interface RowGenerator {
+        void generate(long from, long to, List<Object[]> rows);
+    }
+
+    /** Writes one batch of generated rows */
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(List<Object[]> rows);
+    }
+
+    private record ProjectSpec(int taskCount, double completedRatio, LocalDateTime createdAt,
+                               LocalDateTime updatedAt, String description) {
+    }
+}
@@ -8,12 +8,17 @@ import org.sid.ouissal_project_management_backend.exception.ResourceNotFoundExce
 import org.sid.ouissal_project_management_backend.exception.UnauthorizedAccessException;
 import org.sid.ouissal_project_management_backend.mapper.ProjectMapper;
 import org.sid.ouissal_project_management_backend.repositories.ProjectRepository;
+import org.sid.ouissal_project_management_backend.repositories.SparseFieldRepository;
 import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.util.FieldSelection;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing projects.
@@ -38,24 +43,31 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final ProjectMapper projectMapper;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final TaskListResponseCache taskListCache;
+    private final TaskLabelIndex labelIndex;
 
-    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository, ProjectMapper projectMapper) {
+    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository, ProjectMapper projectMapper,
+                          SparseFieldRepository sparseFieldRepository, TaskListResponseCache taskListCache,
+                          TaskLabelIndex labelIndex) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.projectMapper = projectMapper;
+        this.sparseFieldRepository = sparseFieldRepository;
+        this.taskListCache = taskListCache;
+        this.labelIndex = labelIndex;
     }
 
     /**
      * Creates a new project for the specified user.
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param request the project creation request containing title and description
      * @return ProjectResponse containing the created project with initial progress (0%)
-     * @throws ResourceNotFoundException if the user is not found
      */
-    public ProjectResponse createProject(String userEmail, ProjectRequest request) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public ProjectResponse createProject(Long userId, ProjectRequest request) {
+        // The id comes from the verified token, a reference is enough to set the owner.
+        User user = userRepository.getReferenceById(userId);
 
         Project project = Project.builder()
                 .title(request.title())
@@ -71,21 +83,55 @@ public class ProjectService {
      * Retrieves all projects belonging to the specified user.
      * <p>
      * Each project includes calculated progress information:
-     * total tasks, completed tasks, and progress percentage.
+     * total tasks, completed tasks, and progress percentage. The task counts are
+     * computed by the database and the responses are built directly from the
+     * query results, without loading Project or Task entities.
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @return List of ProjectResponse objects with progress information
-     * @throws ResourceNotFoundException if the user is not found
      */
     @Transactional(readOnly = true)
-    public List<ProjectResponse> getUserProjects(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public List<ProjectResponse> getUserProjects(Long userId) {
+        return projectRepository.findResponsesByUserId(userId);
+    }
 
-        return projectRepository.findAllByUserId(user.getId()).stream()
-                .map(projectMapper::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Retrieves selected fields of the projects belonging to the specified user.
+     * <p>
+     * Only the requested columns are read from the database (the {@code id} is
+     * always included); task counts are only computed when totalTasks,
+     * completedTasks or progressPercentage is requested.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param fields comma-separated field names (id, title, description, createdAt,
+     *               totalTasks, completedTasks, progressPercentage)
+     * @return one map of field values per project, ordered by id
+     * @throws BadRequestException if a field is unknown
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserProjectFields(Long userId, String fields) {
+        Set<String> selected = FieldSelection.parse(fields, SparseFieldRepository.PROJECT_FIELDS);
+        return sparseFieldRepository.findProjectsByUserId(userId, selected);
+    }
+
+    /**
+     * Streams the projects of the specified user to a consumer, one at a time.
+     * <p>
+     * Projects are read as response DTOs with a scrolling query; no entity is
+     * kept in the persistence context, so memory use does not depend on the
+     * number of projects.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param consumer receives each project with progress information, in id order
+     */
+    @Transactional(readOnly = true)
+    public void streamUserProjects(Long userId, Consumer<ProjectResponse> consumer) {
+        try (Stream<ProjectResponse> projects = projectRepository.streamResponsesByUserId(userId)) {
+            projects.forEach(consumer);
+        }
     }
 
     /**
@@ -94,22 +140,47 @@ public class ProjectService {
      * Includes authorization check to ensure the user owns the project.
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param projectId the unique identifier of the project
      * @return ProjectResponse containing the project details and progress
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedAccessException if the user does not own the project
      */
     @Transactional(readOnly = true)
-    public ProjectResponse getProject(String userEmail, Long projectId) {
-        Project project = projectRepository.findById(projectId)
+    public ProjectResponse getProject(Long userId, Long projectId) {
+        Long ownerId = projectRepository.findOwnerIdById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
+        if (!ownerId.equals(userId)) {
             throw new UnauthorizedAccessException("You are not authorized to view this project");
         }
 
-        return projectMapper.toResponse(project);
+        return projectRepository.findResponseById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    }
+
+    /**
+     * Retrieves selected fields of a specific project.
+     * 
+     * @param userId the id of the authenticated user
+     * @param projectId the unique identifier of the project
+     * @param fields comma-separated field names, see {@link #getUserProjectFields(Long, String)}
+     * @return the field values of the project
+     * @throws BadRequestException if a field is unknown
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProjectFields(Long userId, Long projectId, String fields) {
+        Set<String> selected = FieldSelection.parse(fields, SparseFieldRepository.PROJECT_FIELDS);
+        SparseFieldRepository.OwnedRow row = sparseFieldRepository.findProjectById(projectId, selected)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+
+        if (!row.ownerId().equals(userId)) {
+            throw new UnauthorizedAccessException("You are not authorized to view this project");
+        }
+
+        return row.fields();
     }
 
     /**
@@ -119,20 +190,22 @@ public class ProjectService {
      * will be automatically deleted (orphan removal).
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param projectId the unique identifier of the project to delete
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedAccessException if the user does not own the project
      */
-    public void deleteProject(String userEmail, Long projectId) {
+    public void deleteProject(Long userId, Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
+        if (!project.getUser().getId().equals(userId)) {
             throw new UnauthorizedAccessException("You are not authorized to delete this project");
         }
 
         projectRepository.delete(project);
+        taskListCache.invalidateAfterCommit(projectId);
+        labelIndex.evictAfterCommit(projectId);
     }
 
     /**
@@ -142,25 +215,27 @@ public class ProjectService {
      * Includes authorization check to ensure the user owns the project.
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param projectId the unique identifier of the project to update
      * @param request the project update request containing new title and description
      * @return ProjectResponse containing the updated project details
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedAccessException if the user does not own the project
      */
-    public ProjectResponse updateProject(String userEmail, Long projectId, ProjectRequest request) {
+    public ProjectResponse updateProject(Long userId, Long projectId, ProjectRequest request) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
+        if (!project.getUser().getId().equals(userId)) {
             throw new UnauthorizedAccessException("You are not authorized to update this project");
         }
 
         project.setTitle(request.title());
         project.setDescription(request.description());
 
-        Project updatedProject = projectRepository.save(project);
-        return projectMapper.toResponse(updatedProject);
+        projectRepository.save(project);
+        // Task counts come from the database instead of loading the task collection.
+        return projectRepository.findResponseById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
     }
 }
@@ -0,0 +1,149 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import org.sid.ouissal_project_management_backend.entities.RefreshToken;
+import org.sid.ouissal_project_management_backend.entities.User;
+import org.sid.ouissal_project_management_backend.repositories.RefreshTokenRepository;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Service class for issuing, rotating and revoking refresh tokens.
+ * <p>
+ * Refresh tokens are random opaque strings. Only their SHA-256 hash is stored,
+ * so a database leak does not expose usable tokens. Tokens are single-use:
+ * <ul>
+ *   <li>Exchanging a token revokes it and issues a new one (rotation)</li>
+ *   <li>Presenting an already revoked token is treated as theft and revokes
+ *       every refresh token of the user</li>
+ * </ul>
+ * </p>
+ * 
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /** Refresh token lifetime in milliseconds (from application.properties) */
+    private final long refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Issues a new refresh token for the user.
+     * 
+     * @param userId the id of the user the token is issued to
+     * @return the raw token value, to be returned to the client only once
+     */
+    public String issue(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(userRepository.getReferenceById(userId))
+                .expiresAt(Instant.now().plusMillis(refreshExpiration))
+                .revoked(false)
+                .build());
+        return rawToken;
+    }
+
+    /**
+     * Consumes a refresh token and returns its owner.
+     * <p>
+     * The token is revoked; the caller is expected to issue a new one. The
+     * revocation is a conditional update, so a token presented by two
+     * concurrent requests is only exchanged once.
+     * </p>
+     * 
+     * @param rawToken the raw token value sent by the client
+     * @return the user the token was issued to
+     * @throws BadCredentialsException if the token is unknown, expired or already used
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public User consume(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (token.isRevoked()) {
+            throw reuseDetected(token);
+        }
+        if (token.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        // Conditional update instead of read-then-write: of two concurrent
+        // refreshes with the same token, only one revokes it and the other is
+        // handled as a reuse.
+        if (refreshTokenRepository.revokeIfActive(token.getId()) == 0) {
+            throw reuseDetected(token);
+        }
+        return token.getUser();
+    }
+
+    /**
+     * A used token came back: assume it leaked and end every session of the user.
+     */
+    private BadCredentialsException reuseDetected(RefreshToken token) {
+        refreshTokenRepository.revokeAllByUserId(token.getUser().getId());
+        return new BadCredentialsException("Invalid refresh token");
+    }
+
+    /**
+     * Revokes a refresh token if it exists (logout).
+     * 
+     * @param rawToken the raw token value sent by the client
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeIfActive(token.getId()));
+    }
+
+    /**
+     * Deletes expired refresh tokens.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval:3600000}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    /** @return the refresh token lifetime in milliseconds */
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
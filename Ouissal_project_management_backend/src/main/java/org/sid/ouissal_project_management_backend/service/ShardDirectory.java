@@ -0,0 +1,210 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import org.sid.ouissal_project_management_backend.config.ShardRoutingDataSource;
+import org.sid.ouissal_project_management_backend.entities.UserShard;
+import org.sid.ouissal_project_management_backend.repositories.UserShardRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directory of the shard holding each user's projects and tasks.
+ * <p>
+ * The directory is the {@code user_shards} table of the global database. Users
+ * without a row live on shard 0. New users are placed on one of the
+ * {@code sharding.placement-shards} (all shards by default), by user id,
+ * whichever way they are created: registration, bulk provisioning or the
+ * dataset generator.
+ * </p>
+ * <p>
+ * Lookups are cached for {@code sharding.directory-cache-ttl}, so that a request
+ * does not cost an extra query. Entries of users being moved are not cached:
+ * the end of a move is seen at once. When sharding is disabled every user is on
+ * shard 0 and nothing is stored.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+public class ShardDirectory {
+
+    /**
+     * Where a user's data lives.
+     *
+     * @param shardId the shard holding the user's projects and tasks
+     * @param moving whether the data is being moved to another shard
+     */
+    public record Route(int shardId, boolean moving) {
+    }
+
+    private static final Route GLOBAL = new Route(ShardRoutingDataSource.GLOBAL_SHARD, false);
+
+    private static final String PLACE_SQL = "insert into user_shards (user_id, shard_id, moving) values (?, ?, ?)";
+
+    private record Entry(Route route, long expiresAt) {
+    }
+
+    private final UserShardRepository userShardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRoutingDataSource shards;
+    private final List<Integer> placementShards;
+    private final long cacheTtlNanos;
+    private final int maxCacheSize;
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    public ShardDirectory(UserShardRepository userShardRepository,
+                          JdbcTemplate jdbcTemplate,
+                          ObjectProvider<ShardRoutingDataSource> shards,
+                          @Value("${sharding.placement-shards:}") List<Integer> placementShards,
+                          @Value("${sharding.directory-cache-ttl:5s}") Duration cacheTtl,
+                          @Value("${sharding.directory-cache-size:100000}") int maxCacheSize) {
+        this.userShardRepository = userShardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards.getIfAvailable();
+        this.placementShards = this.shards == null || !placementShards.isEmpty()
+                ? List.copyOf(placementShards)
+                : List.copyOf(this.shards.getShards().keySet());
+        if (this.shards != null && !this.shards.getShards().keySet().containsAll(this.placementShards)) {
+            throw new IllegalStateException("sharding.placement-shards " + this.placementShards
+                    + " must be configured shards " + this.shards.getShards().keySet());
+        }
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    public boolean isEnabled() {
+        return shards != null;
+    }
+
+    /**
+     * @return the time a lookup may be served from the cache, on each instance
+     */
+    public Duration getCacheTtl() {
+        return Duration.ofNanos(cacheTtlNanos);
+    }
+
+    /**
+     * Looks up where a user's data lives. Must be called outside a sharded transaction.
+     *
+     * @param userId the user id
+     * @return the user's shard, shard 0 for unknown users
+     */
+    public Route route(Long userId) {
+        if (!isEnabled()) {
+            return GLOBAL;
+        }
+        long now = System.nanoTime();
+        Entry entry = cache.get(userId);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return entry.route();
+        }
+        Route route = userShardRepository.findById(userId)
+                .map(row -> new Route(row.getShardId(), row.isMoving()))
+                .orElse(GLOBAL);
+        if (route.moving()) {
+            cache.remove(userId);
+        } else {
+            if (cache.size() >= maxCacheSize) {
+                cache.clear();
+            }
+            cache.put(userId, new Entry(route, now + cacheTtlNanos));
+        }
+        return route;
+    }
+
+    /**
+     * Places a new user on a shard. Must be called before the user has any project.
+     *
+     * @param userId the id of the new user
+     */
+    public void place(Long userId) {
+        if (!isEnabled()) {
+            return;
+        }
+        userShardRepository.save(new UserShard(userId, placementShard(userId), false));
+        cache.remove(userId);
+    }
+
+    /**
+     * Places new users on their shards with one JDBC batch, in the caller's
+     * transaction on the global database. Must be called before the users have
+     * any project.
+     *
+     * @param userIds the ids of the new users
+     */
+    public void placeAll(List<Long> userIds) {
+        if (!isEnabled() || userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(PLACE_SQL, userIds.stream()
+                .map(userId -> new Object[]{userId, placementShard(userId), false})
+                .toList());
+        userIds.forEach(cache::remove);
+    }
+
+    /**
+     * The shard a new user is placed on.
+     *
+     * @param userId the id of the user
+     * @return the shard id, 0 when sharding is disabled
+     */
+    public int placementShard(long userId) {
+        return isEnabled()
+                ? placementShards.get(Math.floorMod(userId, placementShards.size()))
+                : ShardRoutingDataSource.GLOBAL_SHARD;
+    }
+
+    /**
+     * Flags a user's data as being moved: reads go on, writes are refused.
+     *
+     * @param userId the user id
+     * @param shardId the shard currently holding the data
+     */
+    void startMove(Long userId, int shardId) {
+        userShardRepository.save(new UserShard(userId, shardId, true));
+        cache.remove(userId);
+    }
+
+    /**
+     * Ends a move (or cancels it when the shard is the source one).
+     *
+     * @param userId the user id
+     * @param shardId the shard now holding the data
+     */
+    void endMove(Long userId, int shardId) {
+        userShardRepository.save(new UserShard(userId, shardId, false));
+        cache.remove(userId);
+    }
+
+    /**
+     * Counts the users of each shard. Users without a directory row are counted on shard 0.
+     *
+     * @param totalUsers the number of users
+     * @return the number of users by shard id, for every configured shard
+     */
+    public Map<Integer, Long> countUsers(long totalUsers) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        List<Integer> ids = isEnabled()
+                ? new ArrayList<>(shards.getShards().keySet())
+                : List.of(ShardRoutingDataSource.GLOBAL_SHARD);
+        ids.forEach(id -> counts.put(id, 0L));
+        long placed = 0;
+        for (Object[] row : userShardRepository.countUsersByShard()) {
+            long users = (Long) row[1];
+            counts.merge((Integer) row[0], users, Long::sum);
+            placed += users;
+        }
+        counts.merge(ShardRoutingDataSource.GLOBAL_SHARD, totalUsers - placed, Long::sum);
+        return counts;
+    }
+}
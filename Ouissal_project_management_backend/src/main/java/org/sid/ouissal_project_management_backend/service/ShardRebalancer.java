@@ -0,0 +1,247 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.config.ShardRoutingDataSource;
+import org.sid.ouissal_project_management_backend.dto.ShardMoveResponse;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.sid.ouissal_project_management_backend.exception.ConflictException;
+import org.sid.ouissal_project_management_backend.exception.ResourceNotFoundException;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves the projects and tasks of a user from one shard to another, online.
+ * <p>
+ * A move runs in these steps:
+ * <ol>
+ *   <li>The user is flagged as moving in the {@link ShardDirectory}: from then
+ *       on, the user's writes are refused with 503 and reads keep being served
+ *       from the source shard</li>
+ *   <li>The move waits for the directory cache TTL, so that every instance has
+ *       seen the flag, plus {@code sharding.move-drain-time} for the writes
+ *       already running to finish</li>
+ *   <li>The rows are copied to the target shard in one transaction, with their
+ *       ids (ids are unique across shards)</li>
+ *   <li>The directory is switched to the target shard, which ends the move</li>
+ *   <li>The rows are deleted from the source shard</li>
+ * </ol>
+ * A failure before the switch removes the copy and leaves the user on the
+ * source shard. A move left unfinished (the flag is still set, for instance
+ * after a crash) is restarted by moving the user again, or abandoned by moving
+ * the user to its current shard. Rows left on the target by an earlier failed
+ * move are replaced.
+ * </p>
+ * <p>
+ * One move runs at a time: a move requested meanwhile is refused with 409
+ * rather than queued. The guard is a {@link ReentrantLock}, not a monitor, so
+ * that the wait and the JDBC copy do not pin a carrier thread under virtual
+ * threads.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Slf4j
+public class ShardRebalancer {
+
+    /**
+     * A table sharded by owner.
+     *
+     * @param name the table name
+     * @param ownerCondition the where clause selecting the rows of the user given as parameter
+     */
+    private record ShardedTable(String name, String ownerCondition) {
+    }
+
+    /** Copied in this order, deleted in the reverse one (children after their parents) */
+    private static final List<ShardedTable> TABLES = List.of(
+            new ShardedTable("projects", "user_id = ?"),
+            new ShardedTable("tasks", "project_id in (select id from projects where user_id = ?)"),
+            new ShardedTable("task_dependencies", "project_id in (select id from projects where user_id = ?)"),
+            new ShardedTable("task_labels", "project_id in (select id from projects where user_id = ?)"));
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRoutingDataSource shards;
+    private final UserRepository userRepository;
+    private final TaskListResponseCache taskListCache;
+    private final Duration drainTime;
+    private final ReentrantLock moveLock = new ReentrantLock();
+
+    public ShardRebalancer(ShardDirectory shardDirectory,
+                           ObjectProvider<ShardRoutingDataSource> shards,
+                           UserRepository userRepository,
+                           TaskListResponseCache taskListCache,
+                           @Value("${sharding.move-drain-time:2s}") Duration drainTime) {
+        this.shardDirectory = shardDirectory;
+        this.shards = shards.getIfAvailable();
+        this.userRepository = userRepository;
+        this.taskListCache = taskListCache;
+        this.drainTime = drainTime;
+    }
+
+    /**
+     * Moves a user's projects and tasks to another shard. One move runs at a time.
+     *
+     * @param userId the user to move
+     * @param targetShard the destination shard
+     * @return the shards and the number of rows moved
+     * @throws BadRequestException if sharding is disabled, the shard is unknown or already the user's
+     * @throws ResourceNotFoundException if the user does not exist
+     * @throws ConflictException if another move is running
+     */
+    public ShardMoveResponse move(Long userId, int targetShard) {
+        if (!moveLock.tryLock()) {
+            throw new ConflictException("Another shard move is running, retry when it has finished");
+        }
+        try {
+            return moveLocked(userId, targetShard);
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    private ShardMoveResponse moveLocked(Long userId, int targetShard) {
+        if (shards == null) {
+            throw new BadRequestException("Sharding is not enabled");
+        }
+        DataSource target = shards.getShards().get(targetShard);
+        if (target == null) {
+            throw new BadRequestException("Unknown shard " + targetShard + ", expected one of "
+                    + shards.getShards().keySet());
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        ShardDirectory.Route route = shardDirectory.route(userId);
+        int sourceShard = route.shardId();
+        if (sourceShard == targetShard) {
+            if (!route.moving()) {
+                throw new BadRequestException("User " + userId + " is already on shard " + targetShard);
+            }
+            // Abandons an unfinished move: the data never left the source shard.
+            shardDirectory.endMove(userId, sourceShard);
+            return new ShardMoveResponse(userId, sourceShard, targetShard, 0, 0, 0);
+        }
+        DataSource source = shards.getShards().get(sourceShard);
+
+        long started = System.nanoTime();
+        shardDirectory.startMove(userId, sourceShard);
+        Map<String, Integer> counts;
+        List<Long> projectIds;
+        try {
+            Thread.sleep(shardDirectory.getCacheTtl().plus(drainTime));
+            projectIds = new JdbcTemplate(source).queryForList(
+                    "select id from projects where user_id = ?", Long.class, userId);
+            counts = copy(userId, source, target);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shardDirectory.endMove(userId, sourceShard);
+            throw new IllegalStateException("Interrupted while moving user " + userId, e);
+        } catch (RuntimeException e) {
+            shardDirectory.endMove(userId, sourceShard);
+            throw e;
+        }
+
+        try {
+            shardDirectory.endMove(userId, targetShard);
+        } catch (RuntimeException e) {
+            log.error("Moving user {}: switching the directory to shard {} failed, removing the copy",
+                    userId, targetShard, e);
+            delete(userId, target);
+            throw e;
+        }
+
+        try {
+            delete(userId, source);
+        } catch (RuntimeException e) {
+            // The directory points to the target: the rows left on the source are unreachable.
+            log.error("Moving user {}: the rows could not be deleted from shard {}", userId, sourceShard, e);
+        }
+        projectIds.forEach(taskListCache::invalidate);
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Moved user {} from shard {} to shard {}: {} in {} ms",
+                userId, sourceShard, targetShard, counts, durationMs);
+        return new ShardMoveResponse(userId, sourceShard, targetShard,
+                counts.get("projects"), counts.get("tasks"), durationMs);
+    }
+
+    /**
+     * Copies the user's rows to the target shard in one transaction, replacing
+     * the rows left there by an earlier failed move.
+     *
+     * @return the number of rows copied by table
+     */
+    private Map<String, Integer> copy(Long userId, DataSource source, DataSource target) {
+        JdbcTemplate reader = new JdbcTemplate(source);
+        JdbcTemplate writer = new JdbcTemplate(target);
+        return new TransactionTemplate(new DataSourceTransactionManager(target)).execute(status -> {
+            deleteRows(writer, userId);
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (ShardedTable table : TABLES) {
+                counts.put(table.name(), copyTable(reader, writer, table, userId));
+            }
+            return counts;
+        });
+    }
+
+    private int copyTable(JdbcTemplate reader, JdbcTemplate writer, ShardedTable table, Long userId) {
+        List<String> columns = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        reader.query("select * from " + table.name() + " where " + table.ownerCondition(),
+                (RowCallbackHandler) resultSet -> {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    if (columns.isEmpty()) {
+                        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                            columns.add(metaData.getColumnName(i));
+                        }
+                    }
+                    Object[] row = new Object[columns.size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = resultSet.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }, userId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "insert into " + table.name() + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            writer.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        return rows.size();
+    }
+
+    private void delete(Long userId, DataSource shard) {
+        new TransactionTemplate(new DataSourceTransactionManager(shard))
+                .executeWithoutResult(status -> deleteRows(new JdbcTemplate(shard), userId));
+    }
+
+    private static void deleteRows(JdbcTemplate jdbcTemplate, Long userId) {
+        for (ShardedTable table : TABLES.reversed()) {
+            jdbcTemplate.update("delete from " + table.name() + " where " + table.ownerCondition(), userId);
+        }
+    }
+}
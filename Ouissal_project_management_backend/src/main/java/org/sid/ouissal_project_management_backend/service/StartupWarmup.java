@@ -0,0 +1,305 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.dto.ProjectRequest;
+import org.sid.ouissal_project_management_backend.dto.ProjectResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskRequest;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.entities.Project;
+import org.sid.ouissal_project_management_backend.entities.Role;
+import org.sid.ouissal_project_management_backend.entities.Task;
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.entities.User;
+import org.sid.ouissal_project_management_backend.mapper.ProjectMapper;
+import org.sid.ouissal_project_management_backend.mapper.TaskMapper;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.security.AuthenticatedUser;
+import org.sid.ouissal_project_management_backend.security.JwtUtil;
+import org.sid.ouissal_project_management_backend.util.EmailAddress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Warms up the hot request paths before the application reports itself ready.
+ * <p>
+ * Right after a start, the first requests run interpreted code, compile
+ * Hibernate queries and build Jackson serializers, so their latency is several
+ * times the steady-state one. This runner drives those paths first:
+ * <ul>
+ *   <li>{@link JwtUtil}: token generation and parsing</li>
+ *   <li>The repository queries behind the project and task endpoints, through
+ *       the services (reads, sparse fields, the JSON task list, and the
+ *       create/complete/delete writes)</li>
+ *   <li>{@link ProjectMapper} and {@link TaskMapper} on an in-memory project</li>
+ *   <li>JSON serialization of the project and task lists</li>
+ * </ul>
+ * It stops after {@code warmup.iterations} rounds or {@code warmup.max-duration},
+ * whichever comes first.
+ * </p>
+ * <p>
+ * Spring Boot only switches the readiness state to ACCEPTING_TRAFFIC once the
+ * application runners have completed, so {@code /actuator/health/readiness}
+ * reports OUT_OF_SERVICE during the warm-up and a load balancer keeps traffic
+ * away until it is done.
+ * </p>
+ * <p>
+ * The user, project and tasks are real rows, committed to the production
+ * tables, not an in-memory user: the point is to run the actual repository
+ * queries, which an in-memory fixture would skip. The price is that, during
+ * the warm-up, they are visible to anything reading those tables (admin user
+ * lists, counts) and use up auto-increment ids. They are created once, then
+ * deleted when the warm-up ends (or on the next start, if the process was
+ * killed before). The user's email is in {@link EmailAddress#RESERVED_DOMAIN},
+ * which registration and bulk provisioning reject, and its password is not a
+ * hash, so the clean-up can only match warm-up users.
+ * </p>
+ * <p>
+ * Each round runs in its own transaction, rolled back, so no connection is
+ * held longer than a round (well below the Hikari leak detection threshold)
+ * and the rounds leave nothing in the database. Only the
+ * first {@value #WRITE_ITERATIONS} rounds run the create/complete/delete
+ * writes: that is enough to prepare their statements, and auto-increment ids
+ * are not rolled back, so later rounds would only use ids up. A failing
+ * warm-up is logged and does not prevent the start.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    /** Rounds that also run the write paths */
+    static final int WRITE_ITERATIONS = 20;
+    /** Start of the synthetic user's email, followed by its creation time in milliseconds */
+    private static final String EMAIL_PREFIX = "warmup-";
+    /** Password of the synthetic user: not a BCrypt hash, so nobody can log in with it */
+    private static final String PASSWORD = "!";
+
+    private final UserRepository userRepository;
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final ProjectMapper projectMapper;
+    private final TaskMapper taskMapper;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final TaskListResponseCache taskListCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration maxDuration;
+    private final int taskCount;
+
+    public StartupWarmup(UserRepository userRepository,
+                         ProjectService projectService,
+                         TaskService taskService,
+                         ProjectMapper projectMapper,
+                         TaskMapper taskMapper,
+                         JwtUtil jwtUtil,
+                         ObjectMapper objectMapper,
+                         TaskListResponseCache taskListCache,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.iterations:500}") int iterations,
+                         @Value("${warmup.max-duration:30s}") Duration maxDuration,
+                         @Value("${warmup.tasks:100}") int taskCount) {
+        this.userRepository = userRepository;
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.projectMapper = projectMapper;
+        this.taskMapper = taskMapper;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.taskListCache = taskListCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+        this.taskCount = taskCount;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        Fixture fixture = null;
+        long checksum = 0;
+        int completed = 0;
+        try {
+            deleteStaleFixtures();
+            fixture = transactionTemplate.execute(status -> createFixture());
+            while (completed < iterations && System.nanoTime() < deadline) {
+                Fixture current = fixture;
+                boolean writes = completed < WRITE_ITERATIONS;
+                // One short transaction per round, rolled back: no connection is held
+                // for the whole warm-up, and the round leaves no row behind.
+                checksum += transactionTemplate.execute(status -> {
+                    status.setRollbackOnly();
+                    return iterate(current, writes);
+                });
+                completed++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up failed after {} ms, starting without it",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), e);
+            return;
+        } finally {
+            if (fixture != null) {
+                deleteFixture(fixture);
+            }
+        }
+        log.info("Warm-up: {} iterations in {} ms", completed,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        log.debug("Warm-up checksum {}", checksum);
+    }
+
+    /**
+     * Creates the synthetic user, its project and tasks (in the database) and
+     * the in-memory copy used by the mappers.
+     */
+    private Fixture createFixture() {
+        User user = userRepository.save(User.builder()
+                .email(EMAIL_PREFIX + System.currentTimeMillis() + "-" + UUID.randomUUID() + EmailAddress.RESERVED_DOMAIN)
+                .password(PASSWORD)
+                .role(Role.USER)
+                .build());
+        ProjectResponse project = projectService.createProject(user.getId(),
+                new ProjectRequest("Warm-up project", "Synthetic project used to warm up the application"));
+        for (int i = 0; i < taskCount; i++) {
+            TaskResponse task = taskService.createTask(user.getId(), project.id(),
+                    new TaskRequest("Warm-up task " + i, "Synthetic task " + i, LocalDate.now().plusDays(i)));
+            if (i % 2 == 0) {
+                taskService.markTaskAsCompleted(user.getId(), task.id());
+            }
+        }
+
+        Project inMemory = Project.builder()
+                .id(project.id())
+                .title(project.title())
+                .description(project.description())
+                .user(user)
+                .createdAt(LocalDateTime.now())
+                .tasks(new ArrayList<>())
+                .build();
+        for (int i = 0; i < taskCount; i++) {
+            inMemory.getTasks().add(Task.builder()
+                    .id((long) i)
+                    .title("Warm-up task " + i)
+                    .description("Synthetic task " + i)
+                    .dueDate(LocalDate.now().plusDays(i))
+                    .status(i % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING)
+                    .project(inMemory)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return new Fixture(user.getId(), user.getEmail(), List.of(user.getRole().authority()),
+                project.id(), inMemory);
+    }
+
+    /**
+     * Deletes the synthetic users left by warm-ups that were interrupted (the
+     * process was killed before deleting them), recognized by their reserved
+     * email domain and placeholder password. Users younger than twice the
+     * warm-up duration may belong to an instance starting at the same time and
+     * are kept.
+     */
+    private void deleteStaleFixtures() {
+        long staleBefore = System.currentTimeMillis() - 2 * maxDuration.toMillis();
+        for (User user : userRepository.findByEmailStartingWith(EMAIL_PREFIX)) {
+            String email = user.getEmail();
+            int timeEnd = email.indexOf('-', EMAIL_PREFIX.length());
+            if (!email.endsWith(EmailAddress.RESERVED_DOMAIN) || !PASSWORD.equals(user.getPassword()) || timeEnd < 0) {
+                continue;
+            }
+            try {
+                if (Long.parseLong(email.substring(EMAIL_PREFIX.length(), timeEnd)) < staleBefore) {
+                    deleteUser(user.getId());
+                    log.info("Deleted the warm-up user {} left by an interrupted start", email);
+                }
+            } catch (NumberFormatException e) {
+                // Not a warm-up user
+            }
+        }
+    }
+
+    /**
+     * Deletes the synthetic project, its tasks and the synthetic user.
+     */
+    private void deleteFixture(Fixture fixture) {
+        try {
+            deleteUser(fixture.userId());
+        } catch (RuntimeException e) {
+            log.warn("Cannot delete the warm-up user {}", fixture.email(), e);
+        } finally {
+            taskListCache.invalidate(fixture.projectId());
+        }
+    }
+
+    private void deleteUser(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ProjectResponse project : projectService.getUserProjects(userId)) {
+                projectService.deleteProject(userId, project.id());
+            }
+            userRepository.deleteById(userId);
+        });
+    }
+
+    /**
+     * One round over the hot paths.
+     *
+     * @param writes whether to run the create/complete/delete writes too
+     * @return a value derived from every result, so that no call can be optimized away
+     */
+    private long iterate(Fixture fixture, boolean writes) {
+        long checksum = 0;
+
+        String token = jwtUtil.generateToken(fixture.userId(), fixture.email(), fixture.roles());
+        AuthenticatedUser principal = jwtUtil.extractPrincipal(token);
+        checksum += principal.getId() + (jwtUtil.isTokenValid(token, fixture.email()) ? 1 : 0);
+        checksum += userRepository.findByEmail(fixture.email()).map(User::getId).orElse(0L);
+
+        List<ProjectResponse> projects = projectService.getUserProjects(fixture.userId());
+        checksum += projectService.getProject(fixture.userId(), fixture.projectId()).totalTasks();
+        checksum += projectService.getUserProjectFields(fixture.userId(), "id,title,progressPercentage").size();
+        List<TaskResponse> tasks = taskService.getProjectTasks(fixture.userId(), fixture.projectId(), "rank");
+        checksum += taskService.getProjectTaskFields(fixture.userId(), fixture.projectId(), "id,title,status", "id").size();
+        checksum += taskService.getProjectTasksJson(fixture.userId(), fixture.projectId(), "id").length;
+
+        checksum += objectMapper.writeValueAsBytes(projects).length;
+        checksum += objectMapper.writeValueAsBytes(tasks).length;
+
+        checksum += projectMapper.toResponse(fixture.inMemoryProject()).completedTasks();
+        for (Task task : fixture.inMemoryProject().getTasks()) {
+            checksum += taskMapper.toResponse(task).title().length();
+        }
+
+        if (writes) {
+            TaskResponse created = taskService.createTask(fixture.userId(), fixture.projectId(),
+                    new TaskRequest("Warm-up task", null, LocalDate.now()));
+            taskService.markTaskAsCompleted(fixture.userId(), created.id());
+            taskService.deleteTask(fixture.userId(), created.id());
+            checksum += created.id();
+        }
+        return checksum;
+    }
+
+    private record Fixture(Long userId, String email, List<String> roles, Long projectId, Project inMemoryProject) {
+    }
+}
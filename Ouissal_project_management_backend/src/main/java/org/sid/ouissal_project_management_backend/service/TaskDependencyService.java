@@ -0,0 +1,251 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.sid.ouissal_project_management_backend.dto.BlockedTaskResponse;
+import org.sid.ouissal_project_management_backend.dto.CriticalPathResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskDependencyResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.entities.Project;
+import org.sid.ouissal_project_management_backend.entities.TaskDependency;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.sid.ouissal_project_management_backend.exception.ResourceNotFoundException;
+import org.sid.ouissal_project_management_backend.exception.UnauthorizedAccessException;
+import org.sid.ouissal_project_management_backend.repositories.ProjectRepository;
+import org.sid.ouissal_project_management_backend.repositories.TaskDependencyRepository;
+import org.sid.ouissal_project_management_backend.repositories.TaskGraphRepository;
+import org.sid.ouissal_project_management_backend.repositories.TaskRepository;
+import org.sid.ouissal_project_management_backend.util.TaskGraph;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for managing the dependencies between tasks.
+ * <p>
+ * This service handles:
+ * <ul>
+ *   <li>Adding and removing dependencies between two tasks of the same project,
+ *       refusing those that would create a cycle</li>
+ *   <li>Analysing the dependency graph of a project: topological order,
+ *       critical path and blocked tasks</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Dependency changes of a project are serialized by locking the project row,
+ * so that two concurrent insertions cannot close a cycle together. Analyses
+ * load the graph into a {@link TaskGraph} (primitive arrays) and run in memory;
+ * their duration, load included, is recorded by the {@code task.graph.analysis}
+ * timer.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Transactional
+public class TaskDependencyService {
+
+    /** Largest number of ids in one {@code in} list */
+    private static final int ID_CHUNK = 1000;
+
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskGraphRepository graphRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskService taskService;
+    private final Timer orderTimer;
+    private final Timer criticalPathTimer;
+    private final Timer blockedTimer;
+
+    public TaskDependencyService(TaskDependencyRepository dependencyRepository,
+                                 TaskGraphRepository graphRepository,
+                                 TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 TaskService taskService,
+                                 MeterRegistry meterRegistry) {
+        this.dependencyRepository = dependencyRepository;
+        this.graphRepository = graphRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskService = taskService;
+        this.orderTimer = analysisTimer("order", meterRegistry);
+        this.criticalPathTimer = analysisTimer("critical-path", meterRegistry);
+        this.blockedTimer = analysisTimer("blocked", meterRegistry);
+    }
+
+    private static Timer analysisTimer(String analysis, MeterRegistry meterRegistry) {
+        return Timer.builder("task.graph.analysis")
+                .tag("analysis", analysis)
+                .description("Dependency graph analyses, graph loading included")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Makes a task depend on another task of the same project.
+     * <p>
+     * Adding a dependency that already exists has no effect.
+     * </p>
+     *
+     * @param userId the id of the authenticated user
+     * @param taskId the task to block
+     * @param dependsOnId the task that must be completed first
+     * @return the dependency
+     * @throws ResourceNotFoundException if a task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the tasks are the same, in different projects, or the
+     *         dependency would create a cycle
+     */
+    public TaskDependencyResponse addDependency(Long userId, Long taskId, Long dependsOnId) {
+        Long projectId = findProjectId(taskId);
+        lockProject(userId, projectId);
+        if (!projectId.equals(findProjectId(dependsOnId))) {
+            throw new BadRequestException("A task can only depend on a task of the same project");
+        }
+        if (taskId.equals(dependsOnId)) {
+            throw new BadRequestException("A task cannot depend on itself");
+        }
+
+        if (!dependencyRepository.existsById(new TaskDependency.Key(taskId, dependsOnId))) {
+            // Checked under the project lock: no other insertion can close a cycle meanwhile.
+            if (dependencyRepository.countPaths(dependsOnId, taskId) > 0) {
+                throw new BadRequestException("Task " + dependsOnId + " already depends on task " + taskId
+                        + ": the dependency would create a cycle");
+            }
+            dependencyRepository.save(TaskDependency.builder()
+                    .taskId(taskId)
+                    .dependsOnId(dependsOnId)
+                    .projectId(projectId)
+                    .build());
+        }
+        return new TaskDependencyResponse(taskId, dependsOnId);
+    }
+
+    /**
+     * Removes a dependency between two tasks.
+     *
+     * @param userId the id of the authenticated user
+     * @param taskId the blocked task
+     * @param dependsOnId the task it depends on
+     * @throws ResourceNotFoundException if the task or the dependency is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    public void removeDependency(Long userId, Long taskId, Long dependsOnId) {
+        lockProject(userId, findProjectId(taskId));
+        TaskDependency.Key key = new TaskDependency.Key(taskId, dependsOnId);
+        if (!dependencyRepository.existsById(key)) {
+            throw new ResourceNotFoundException("Dependency not found");
+        }
+        dependencyRepository.deleteById(key);
+    }
+
+    /**
+     * Retrieves the tasks a task depends on directly.
+     *
+     * @param userId the id of the authenticated user
+     * @param taskId the task
+     * @return the ids of the tasks that must be completed first
+     * @throws ResourceNotFoundException if the task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getDependencies(Long userId, Long taskId) {
+        taskService.checkProjectAccess(userId, findProjectId(taskId));
+        return dependencyRepository.findDependsOnIdsByTaskId(taskId);
+    }
+
+    /**
+     * Orders the tasks of a project so that every task comes after the tasks it
+     * depends on.
+     *
+     * @param userId the id of the authenticated user
+     * @param projectId the project
+     * @return the task ids in topological order
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getTopologicalOrder(Long userId, Long projectId) {
+        taskService.checkProjectAccess(userId, projectId);
+        return orderTimer.record(() -> {
+            TaskGraph graph = graphRepository.findByProjectId(projectId);
+            int[] order = graph.topologicalOrder();
+            List<Long> ids = new ArrayList<>(order.length);
+            for (int task : order) {
+                ids.add(graph.id(task));
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Finds the chain of dependent tasks that sets the finish date of a project.
+     *
+     * @param userId the id of the authenticated user
+     * @param projectId the project
+     * @return the critical path (no tasks for an empty project)
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @see TaskGraph#criticalPath()
+     */
+    @Transactional(readOnly = true)
+    public CriticalPathResponse getCriticalPath(Long userId, Long projectId) {
+        taskService.checkProjectAccess(userId, projectId);
+        TaskGraph.CriticalPath path = criticalPathTimer.record(
+                () -> graphRepository.findByProjectId(projectId).criticalPath());
+
+        List<Long> ids = Arrays.stream(path.taskIds()).boxed().toList();
+        Map<Long, TaskResponse> tasks = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            taskRepository.findResponsesByIdIn(ids.subList(from, Math.min(from + ID_CHUNK, ids.size())))
+                    .forEach(task -> tasks.put(task.id(), task));
+        }
+        return new CriticalPathResponse(path.projectedFinish(), ids.stream().map(tasks::get).toList());
+    }
+
+    /**
+     * Finds the pending tasks of a project that depend on pending tasks.
+     *
+     * @param userId the id of the authenticated user
+     * @param projectId the project
+     * @return the blocked tasks, in id order, with their pending prerequisites
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<BlockedTaskResponse> getBlockedTasks(Long userId, Long projectId) {
+        taskService.checkProjectAccess(userId, projectId);
+        TaskGraph.BlockedTasks blocked = blockedTimer.record(
+                () -> graphRepository.findByProjectId(projectId).blockedTasks());
+
+        List<BlockedTaskResponse> responses = new ArrayList<>(blocked.taskIds().length);
+        for (int i = 0; i < blocked.taskIds().length; i++) {
+            responses.add(new BlockedTaskResponse(blocked.taskIds()[i],
+                    Arrays.stream(blocked.blockedBy()[i]).boxed().toList()));
+        }
+        return responses;
+    }
+
+    private Long findProjectId(Long taskId) {
+        return taskRepository.findProjectIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
+    /**
+     * Locks the project row and checks that the user owns it.
+     */
+    private void lockProject(Long userId, Long projectId) {
+        Project project = projectRepository.findByIdForUpdate(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        if (!project.getUser().getId().equals(userId)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this project");
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.sid.ouissal_project_management_backend.repositories.TaskBitmapRepository;
+import org.sid.ouissal_project_management_backend.util.LabelBitmapIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory label bitmap indexes, one per project.
+ * <p>
+ * The index of a project ({@link LabelBitmapIndex}) is built from the database
+ * the first time the project is searched, then kept up to date:
+ * <ul>
+ *   <li>{@link TaskService} and {@link TaskLabelService} mutations call
+ *       {@link #refreshAfterCommit(Long, List)} with the tasks they changed;
+ *       once the transaction has committed, the rows of these tasks are read
+ *       again, without any lock, then applied to the index under its lock.
+ *       Reading the committed rows instead of applying the change keeps the
+ *       index right whatever order concurrent commits finish in. A refresh
+ *       that overlaps another change of the project, or whose read fails,
+ *       drops the index instead, since its rows may be older than the index</li>
+ *   <li>A build captures the version of the project before reading and is only
+ *       kept if no change committed meanwhile</li>
+ *   <li>The other instances drop their index of the project when they read
+ *       the change from the {@link CacheInvalidationLog}, and build it again on
+ *       the next search</li>
+ * </ul>
+ * </p>
+ * <p>
+ * At most {@code task-labels.max-projects} indexes are kept, the least
+ * recently searched ones being dropped first.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+public class TaskLabelIndex {
+
+    static final String CACHE_NAME = "task-labels";
+
+    private final TaskBitmapRepository bitmapRepository;
+    private final CacheInvalidationLog invalidationLog;
+    private final int maxProjects;
+
+    /** Access-ordered, guarded by {@code this}; each index is guarded by itself */
+    private final LinkedHashMap<Long, LabelBitmapIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Current version per project; only grows, so a stale version never matches again */
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionClock = new AtomicLong();
+
+    private final Counter builds;
+    private final Counter refreshes;
+
+    public TaskLabelIndex(TaskBitmapRepository bitmapRepository,
+                          CacheInvalidationLog invalidationLog,
+                          @Value("${task-labels.max-projects:1000}") int maxProjects,
+                          MeterRegistry meterRegistry) {
+        this.bitmapRepository = bitmapRepository;
+        this.invalidationLog = invalidationLog;
+        this.maxProjects = maxProjects;
+        this.builds = Counter.builder("task.labels.index.builds")
+                .description("Project label indexes built from the database")
+                .register(meterRegistry);
+        this.refreshes = Counter.builder("task.labels.index.refreshes")
+                .description("Changes applied to a built label index")
+                .register(meterRegistry);
+        Gauge.builder("task.labels.index.projects", this, TaskLabelIndex::projectCount)
+                .description("Number of project label indexes in memory")
+                .register(meterRegistry);
+        Gauge.builder("task.labels.index.size", this, TaskLabelIndex::sizeInBytes)
+                .description("Approximate memory used by the label indexes in bytes")
+                .register(meterRegistry);
+        invalidationLog.subscribe(CACHE_NAME, this::evict);
+    }
+
+    /**
+     * Reads the index of a project, building it on first use.
+     * <p>
+     * Access must have been checked by the caller.
+     * </p>
+     *
+     * @param projectId the ID of the project
+     * @param reader reads the index, under its lock
+     * @param <T> the result type
+     * @return the result of the reader
+     */
+    public <T> T read(Long projectId, Function<LabelBitmapIndex, T> reader) {
+        LabelBitmapIndex index = get(projectId);
+        synchronized (index) {
+            return reader.apply(index);
+        }
+    }
+
+    private LabelBitmapIndex get(Long projectId) {
+        synchronized (this) {
+            LabelBitmapIndex index = indexes.get(projectId);
+            if (index != null) {
+                return index;
+            }
+        }
+        long version = versions.getOrDefault(projectId, 0L);
+        LabelBitmapIndex built = bitmapRepository.findByProjectId(projectId);
+        builds.increment();
+        synchronized (this) {
+            // Checked under the lock that refresh() takes after bumping the version.
+            if (versions.getOrDefault(projectId, 0L) != version) {
+                return built;
+            }
+            LabelBitmapIndex existing = indexes.putIfAbsent(projectId, built);
+            if (existing != null) {
+                return existing;
+            }
+            Iterator<Map.Entry<Long, LabelBitmapIndex>> eldest = indexes.entrySet().iterator();
+            while (indexes.size() > maxProjects && eldest.hasNext()) {
+                if (!eldest.next().getKey().equals(projectId)) {
+                    eldest.remove();
+                }
+            }
+            return built;
+        }
+    }
+
+    /**
+     * Reads some tasks of a project again into its index once the current
+     * transaction has committed (immediately when no transaction is active),
+     * and drops the project's index on the other instances.
+     *
+     * @param projectId the ID of the project of the tasks
+     * @param taskIds the ids of the tasks created, changed or deleted
+     */
+    public void refreshAfterCommit(Long projectId, List<Long> taskIds) {
+        invalidationLog.publish(CACHE_NAME, projectId);
+        List<Long> ids = new ArrayList<>(taskIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(projectId, ids);
+                }
+            });
+        } else {
+            refresh(projectId, ids);
+        }
+    }
+
+    /**
+     * Drops the index of a project once the current transaction has committed,
+     * on this instance and on the others.
+     *
+     * @param projectId the ID of the deleted project
+     */
+    public void evictAfterCommit(Long projectId) {
+        invalidationLog.publish(CACHE_NAME, projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(projectId);
+                }
+            });
+        } else {
+            evict(projectId);
+        }
+    }
+
+    private void refresh(Long projectId, List<Long> taskIds) {
+        long version = versionClock.incrementAndGet();
+        versions.put(projectId, version);
+        LabelBitmapIndex index;
+        synchronized (this) {
+            index = indexes.get(projectId);
+        }
+        if (index == null) {
+            return;
+        }
+        LabelBitmapIndex rows;
+        try {
+            rows = bitmapRepository.findByTaskIds(taskIds);
+        } catch (RuntimeException e) {
+            evict(projectId);
+            throw e;
+        }
+        synchronized (index) {
+            // Unchanged version: no other change of the project started since this read, so it is the latest.
+            if (versions.get(projectId) == version) {
+                index.replaceTasks(taskIds, rows);
+                refreshes.increment();
+                return;
+            }
+        }
+        evict(projectId);
+    }
+
+    /**
+     * Drops the index of a project; it is built again on the next search.
+     *
+     * @param projectId the ID of the project
+     */
+    public void evict(Long projectId) {
+        versions.put(projectId, versionClock.incrementAndGet());
+        synchronized (this) {
+            indexes.remove(projectId);
+        }
+    }
+
+    private synchronized int projectCount() {
+        return indexes.size();
+    }
+
+    private long sizeInBytes() {
+        List<LabelBitmapIndex> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(indexes.values());
+        }
+        long bytes = 0;
+        for (LabelBitmapIndex index : snapshot) {
+            synchronized (index) {
+                bytes += index.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,242 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.entities.Task;
+import org.sid.ouissal_project_management_backend.entities.TaskLabel;
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.sid.ouissal_project_management_backend.exception.ResourceNotFoundException;
+import org.sid.ouissal_project_management_backend.exception.UnauthorizedAccessException;
+import org.sid.ouissal_project_management_backend.repositories.TaskLabelRepository;
+import org.sid.ouissal_project_management_backend.repositories.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Service class for task labels and label searches.
+ * <p>
+ * This service handles:
+ * <ul>
+ *   <li>Adding and removing labels on a task</li>
+ *   <li>Counting the tasks of each label in a project</li>
+ *   <li>Searching the tasks of a project by a combination of labels and a
+ *       status, e.g. "urgent AND backend AND NOT done"</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Searches are answered in two steps: the {@link TaskLabelIndex} computes the
+ * ids of the matching tasks with bitmap operations, without reading any row,
+ * then only these rows are read, by primary key. The first step is recorded by
+ * the {@code task.labels.query} timer.
+ * </p>
+ * <p>
+ * Labels are lower case letters, digits, {@code '-'} and {@code '_'}, at most
+ * 50 characters; they are converted to lower case.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Transactional
+public class TaskLabelService {
+
+    private static final Pattern LABEL = Pattern.compile("[a-z0-9][a-z0-9_-]{0,49}");
+    /** Largest number of ids in one {@code in} list */
+    private static final int ID_CHUNK = 1000;
+
+    private final TaskLabelRepository labelRepository;
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskLabelIndex labelIndex;
+    private final Timer queryTimer;
+
+    public TaskLabelService(TaskLabelRepository labelRepository,
+                            TaskRepository taskRepository,
+                            TaskService taskService,
+                            TaskLabelIndex labelIndex,
+                            MeterRegistry meterRegistry) {
+        this.labelRepository = labelRepository;
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+        this.labelIndex = labelIndex;
+        this.queryTimer = Timer.builder("task.labels.query")
+                .description("Label searches answered from the bitmap index, index build included")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Puts a label on a task. Adding a label the task already has has no effect.
+     *
+     * @param userId the id of the authenticated user
+     * @param taskId the task
+     * @param label the label
+     * @return the labels of the task, in alphabetical order
+     * @throws ResourceNotFoundException if the task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the label is invalid
+     */
+    public List<String> addLabel(Long userId, Long taskId, String label) {
+        String normalized = normalize(label);
+        Long projectId = lockTask(userId, taskId);
+        if (!labelRepository.existsById(new TaskLabel.Key(taskId, normalized))) {
+            labelRepository.save(TaskLabel.builder()
+                    .taskId(taskId)
+                    .label(normalized)
+                    .projectId(projectId)
+                    .build());
+            labelIndex.refreshAfterCommit(projectId, List.of(taskId));
+        }
+        return labelRepository.findLabelsByTaskId(taskId);
+    }
+
+    /**
+     * Removes a label from a task.
+     *
+     * @param userId the id of the authenticated user
+     * @param taskId the task
+     * @param label the label
+     * @throws ResourceNotFoundException if the task is not found or does not have the label
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the label is invalid
+     */
+    public void removeLabel(Long userId, Long taskId, String label) {
+        String normalized = normalize(label);
+        Long projectId = lockTask(userId, taskId);
+        TaskLabel.Key key = new TaskLabel.Key(taskId, normalized);
+        if (!labelRepository.existsById(key)) {
+            throw new ResourceNotFoundException("Label not found");
+        }
+        labelRepository.deleteById(key);
+        labelIndex.refreshAfterCommit(projectId, List.of(taskId));
+    }
+
+    /**
+     * Retrieves the labels of a task.
+     *
+     * @param userId the id of the authenticated user
+     * @param taskId the task
+     * @return the labels, in alphabetical order
+     * @throws ResourceNotFoundException if the task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<String> getLabels(Long userId, Long taskId) {
+        taskService.checkProjectAccess(userId, taskRepository.findProjectIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found")));
+        return labelRepository.findLabelsByTaskId(taskId);
+    }
+
+    /**
+     * Counts the tasks of each label of a project, from the bitmap index.
+     *
+     * @param userId the id of the authenticated user
+     * @param projectId the project
+     * @return the number of tasks per label, in label order
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getProjectLabels(Long userId, Long projectId) {
+        taskService.checkProjectAccess(userId, projectId);
+        return labelIndex.read(projectId, index -> index.labelCounts());
+    }
+
+    /**
+     * Searches the tasks of a project by labels and status. Each criterion is
+     * optional; without any, every task matches.
+     *
+     * @param userId the id of the authenticated user
+     * @param projectId the project
+     * @param all comma-separated labels the tasks must all have (AND), or null
+     * @param any comma-separated labels the tasks must have at least one of (OR), or null
+     * @param none comma-separated labels the tasks must not have (NOT), or null
+     * @param status the status of the tasks, or null
+     * @return the matching tasks, in id order
+     * @throws BadRequestException if a label or the status is invalid
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(Long userId, Long projectId, String all, String any, String none,
+                                          String status) {
+        Set<String> allLabels = parseLabels(all);
+        Set<String> anyLabels = parseLabels(any);
+        Set<String> noneLabels = parseLabels(none);
+        TaskStatus taskStatus = parseStatus(status);
+        taskService.checkProjectAccess(userId, projectId);
+
+        long[] ids = queryTimer.record(() -> labelIndex.read(projectId,
+                index -> index.query(allLabels, anyLabels, noneLabels, taskStatus)));
+
+        List<Long> idList = Arrays.stream(ids).boxed().toList();
+        Map<Long, TaskResponse> tasks = new HashMap<>();
+        for (int from = 0; from < idList.size(); from += ID_CHUNK) {
+            taskRepository.findResponsesByIdIn(idList.subList(from, Math.min(from + ID_CHUNK, idList.size())))
+                    .forEach(task -> tasks.put(task.id(), task));
+        }
+        // Tasks deleted since the search are left out.
+        return idList.stream().map(tasks::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Locks the task row, so that the label changes of a task are serialized,
+     * and checks that the user owns its project.
+     *
+     * @return the id of the task's project
+     */
+    private Long lockTask(Long userId, Long taskId) {
+        Task task = taskRepository.findByIdForUpdate(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        Long projectId = task.getProject().getId();
+        taskService.checkProjectAccess(userId, projectId);
+        return projectId;
+    }
+
+    private static Set<String> parseLabels(String labels) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (labels != null) {
+            for (String label : labels.split(",")) {
+                if (!label.isBlank()) {
+                    parsed.add(normalize(label));
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private static String normalize(String label) {
+        String normalized = label.trim().toLowerCase(Locale.ROOT);
+        if (!LABEL.matcher(normalized).matches()) {
+            throw new BadRequestException("Invalid label '" + label + "': use letters, digits, '-' and '_',"
+                    + " at most 50 characters");
+        }
+        return normalized;
+    }
+
+    private static TaskStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown status " + status + ", allowed values are "
+                    + Arrays.toString(TaskStatus.values()));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of encoded JSON task lists, one entry per project and order.
+ * <p>
+ * Popular projects get their task list read far more often than it changes.
+ * This cache keeps the already-serialized response body, so a hit costs no
+ * query, no mapping and no serialization: the bytes are written as they are.
+ * </p>
+ * <p>
+ * Consistency relies on a version per project:
+ * <ul>
+ *   <li>{@link TaskService} mutations call {@link #invalidateAfterCommit(Long)}, which
+ *       bumps the version and drops the entry once the transaction has committed</li>
+ *   <li>A reader captures the version before querying and only stores its result
+ *       if the version is unchanged, so a list read before a concurrent commit is
+ *       never cached after it</li>
+ *   <li>The other instances drop their entry when they read the change from the
+ *       {@link CacheInvalidationLog}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Memory is bounded by the total size of the cached bodies: the least recently
+ * read entries are evicted first, and lists larger than
+ * {@code task-list-cache.max-entry-size} are never cached.
+ * </p>
+ * <p>
+ * Configuration (application.properties):
+ * <ul>
+ *   <li>{@code task-list-cache.enabled} - turn the cache on or off</li>
+ *   <li>{@code task-list-cache.max-size} - total size of the cached bodies</li>
+ *   <li>{@code task-list-cache.max-entry-size} - largest body that is cached</li>
+ * </ul>
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Component
+public class TaskListResponseCache {
+
+    static final String CACHE_NAME = "task-list";
+
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationLog invalidationLog;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    /** Access-ordered, guarded by {@code this} */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /** Current version per project; only grows, so a stale version never matches again */
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionClock = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TaskListResponseCache(ObjectMapper objectMapper,
+                                 CacheInvalidationLog invalidationLog,
+                                 @Value("${task-list-cache.enabled:true}") boolean enabled,
+                                 @Value("${task-list-cache.max-size:64MB}") DataSize maxSize,
+                                 @Value("${task-list-cache.max-entry-size:8MB}") DataSize maxEntrySize,
+                                 MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.invalidationLog = invalidationLog;
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), maxBytes);
+        this.hits = Counter.builder("task-list-cache.requests")
+                .tag("result", "hit")
+                .description("Task list reads served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("task-list-cache.requests")
+                .tag("result", "miss")
+                .description("Task list reads that queried the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("task-list-cache.evictions")
+                .description("Entries evicted to stay under the size limit")
+                .register(meterRegistry);
+        Gauge.builder("task-list-cache.size", this, TaskListResponseCache::totalBytes)
+                .description("Total size of the cached bodies in bytes")
+                .register(meterRegistry);
+        Gauge.builder("task-list-cache.entries", this, TaskListResponseCache::entryCount)
+                .description("Number of cached task lists")
+                .register(meterRegistry);
+        if (enabled) {
+            invalidationLog.subscribe(CACHE_NAME, this::invalidate);
+        }
+    }
+
+    /**
+     * Returns the encoded task list of a project, loading and caching it on a miss.
+     * <p>
+     * Access must have been checked by the caller.
+     * </p>
+     *
+     * @param projectId the ID of the project
+     * @param sort the order of the list
+     * @param loader reads the task list from the database, in that order
+     * @return the JSON body
+     */
+    public byte[] get(Long projectId, TaskSort sort, Supplier<List<TaskResponse>> loader) {
+        if (!enabled) {
+            return objectMapper.writeValueAsBytes(loader.get());
+        }
+        Key key = new Key(projectId, sort);
+        long version = versions.getOrDefault(projectId, 0L);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return entry.body();
+            }
+        }
+        misses.increment();
+        byte[] body = objectMapper.writeValueAsBytes(loader.get());
+        put(key, version, body);
+        return body;
+    }
+
+    private synchronized void put(Key key, long version, byte[] body) {
+        // Checked under the lock that invalidate() takes after bumping the version.
+        if (body.length > maxEntryBytes || versions.getOrDefault(key.projectId(), 0L) != version) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(version, body));
+        totalBytes += body.length - (previous != null ? previous.body().length : 0);
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            if (evicted.getKey().equals(key)) {
+                continue;
+            }
+            totalBytes -= evicted.getValue().body().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drops the cached task list of a project once the current transaction has
+     * committed (immediately when no transaction is active), on this instance
+     * and, through the {@link CacheInvalidationLog}, on the others.
+     * <p>
+     * Invalidating before the commit would let a concurrent reader cache the
+     * old rows again.
+     * </p>
+     *
+     * @param projectId the ID of the project whose tasks changed
+     */
+    public void invalidateAfterCommit(Long projectId) {
+        if (!enabled) {
+            return;
+        }
+        invalidationLog.publish(CACHE_NAME, projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(projectId);
+                }
+            });
+        } else {
+            invalidate(projectId);
+        }
+    }
+
+    /**
+     * Drops the cached task lists of a project, in every order.
+     *
+     * @param projectId the ID of the project
+     */
+    public void invalidate(Long projectId) {
+        versions.put(projectId, versionClock.incrementAndGet());
+        synchronized (this) {
+            for (TaskSort sort : TaskSort.values()) {
+                Entry removed = entries.remove(new Key(projectId, sort));
+                if (removed != null) {
+                    totalBytes -= removed.body().length;
+                }
+            }
+        }
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    /**
+     * A project and the order of its cached list.
+     */
+    private record Key(Long projectId, TaskSort sort) {
+    }
+
+    /**
+     * An encoded task list and the project version it was read at.
+     */
+    private record Entry(long version, byte[] body) {
+    }
+}
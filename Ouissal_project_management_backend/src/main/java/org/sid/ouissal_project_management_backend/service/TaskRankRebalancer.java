@@ -0,0 +1,176 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.config.ShardContext;
+import org.sid.ouissal_project_management_backend.repositories.ProjectRepository;
+import org.sid.ouissal_project_management_backend.util.FractionalRank;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shortens the fractional ranks of a project's tasks.
+ * <p>
+ * Moving tasks again and again into the same gap lengthens their ranks by
+ * one character every 5 to 8 moves. When a move produces a rank longer than
+ * {@code task-rank.max-length}, {@link TaskService} schedules its project here,
+ * and a background job rewrites the ranks of the project:
+ * <ul>
+ *   <li>The project row is locked, which holds the moves of the project back
+ *       meanwhile</li>
+ *   <li>The tasks are read in rank order, and the i-th one gets the i-th
+ *       smallest task id of the project as rank ({@link FractionalRank#forId(long)}):
+ *       the order is kept, every rank is back to its minimal length, and the
+ *       tasks created later (higher ids) still come last</li>
+ *   <li>Only the rows whose rank changes are written, in JDBC batches</li>
+ * </ul>
+ * The order does not change, so the cached task lists stay valid. Scheduled
+ * projects are kept in memory with their shard: a project scheduled on an
+ * instance that stops is rebalanced after its next long move.
+ * </p>
+ * <p>
+ * Configuration (application.properties):
+ * <ul>
+ *   <li>{@code task-rank.max-length} - longest rank before a rebalance</li>
+ *   <li>{@code task-rank.rebalance-interval} - delay between two runs, in milliseconds</li>
+ * </ul>
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Slf4j
+public class TaskRankRebalancer {
+
+    private final ProjectRepository projectRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxLength;
+
+    /** Projects waiting for a rebalance */
+    private final Set<ScheduledProject> scheduled = ConcurrentHashMap.newKeySet();
+
+    private final Counter rebalances;
+    private final Counter rewrittenRanks;
+
+    public TaskRankRebalancer(ProjectRepository projectRepository,
+                              DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${task-rank.max-length:48}") int maxLength,
+                              MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxLength = Math.max(maxLength, FractionalRank.HEAD_LENGTH + 1);
+        this.rebalances = Counter.builder("task.rank.rebalances")
+                .description("Projects whose task ranks were rewritten")
+                .register(meterRegistry);
+        this.rewrittenRanks = Counter.builder("task.rank.rewritten")
+                .description("Task ranks rewritten by rebalances")
+                .register(meterRegistry);
+        Gauge.builder("task.rank.rebalances.scheduled", scheduled, Set::size)
+                .description("Projects waiting for a rebalance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the longest rank a move may leave without scheduling a rebalance
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Schedules a project of the current shard for a background rebalance.
+     *
+     * @param projectId the ID of the project
+     */
+    public void schedule(Long projectId) {
+        scheduled.add(new ScheduledProject(ShardContext.current(), projectId));
+    }
+
+    /**
+     * Rebalances the scheduled projects, each in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${task-rank.rebalance-interval:10000}")
+    public void rebalanceScheduled() {
+        Iterator<ScheduledProject> iterator = scheduled.iterator();
+        while (iterator.hasNext()) {
+            ScheduledProject project = iterator.next();
+            iterator.remove();
+            ShardContext.set(project.shardId());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Deleted meanwhile: nothing to do.
+                    if (projectRepository.findByIdForUpdate(project.projectId()).isPresent()) {
+                        rebalance(project.projectId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Cannot rebalance the task ranks of project {}: {}", project.projectId(), e.getMessage());
+            } finally {
+                ShardContext.clear();
+            }
+        }
+    }
+
+    /**
+     * Rewrites the ranks of a project's tasks to their minimal length, keeping
+     * their order. Must run in a transaction that holds the project row lock.
+     *
+     * @param projectId the ID of the project
+     * @return the number of ranks rewritten
+     */
+    public int rebalance(Long projectId) {
+        List<Long> ids = new ArrayList<>();
+        List<String> ranks = new ArrayList<>();
+        jdbcTemplate.query("select id, task_rank from tasks where project_id = ? order by task_rank, id",
+                (RowCallbackHandler) resultSet -> {
+                    ids.add(resultSet.getLong(1));
+                    ranks.add(resultSet.getString(2));
+                },
+                projectId);
+
+        long[] sortedIds = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sortedIds);
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < sortedIds.length; i++) {
+            String rank = FractionalRank.forId(sortedIds[i]);
+            if (!rank.equals(ranks.get(i))) {
+                updates.add(new Object[]{rank, ids.get(i)});
+            }
+        }
+        jdbcTemplate.batchUpdate("update tasks set task_rank = ? where id = ?", updates);
+
+        rebalances.increment();
+        rewrittenRanks.increment(updates.size());
+        log.debug("Rebalanced project {}: {} of {} task ranks rewritten", projectId, updates.size(), ids.size());
+        return updates.size();
+    }
+
+    /**
+     * A project waiting for a rebalance.
+     *
+     * @param shardId the shard holding the project (null for the global database)
+     * @param projectId the ID of the project
+     */
+    private record ScheduledProject(Integer shardId, Long projectId) {
+    }
+}
@@ -1,20 +1,31 @@
 package org.sid.ouissal_project_management_backend.service;
 
+import org.sid.ouissal_project_management_backend.dto.TaskProgressResponse;
 import org.sid.ouissal_project_management_backend.dto.TaskRequest;
 import org.sid.ouissal_project_management_backend.dto.TaskResponse;
+import org.sid.ouissal_project_management_backend.dto.TaskSort;
 import org.sid.ouissal_project_management_backend.entities.Project;
 import org.sid.ouissal_project_management_backend.entities.Task;
 import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
 import org.sid.ouissal_project_management_backend.exception.ResourceNotFoundException;
 import org.sid.ouissal_project_management_backend.exception.UnauthorizedAccessException;
 import org.sid.ouissal_project_management_backend.mapper.TaskMapper;
 import org.sid.ouissal_project_management_backend.repositories.ProjectRepository;
+import org.sid.ouissal_project_management_backend.repositories.SparseFieldRepository;
 import org.sid.ouissal_project_management_backend.repositories.TaskRepository;
+import org.sid.ouissal_project_management_backend.util.FieldSelection;
+import org.sid.ouissal_project_management_backend.util.FractionalRank;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing tasks within projects.
@@ -24,13 +35,32 @@ import java.util.stream.Collectors;
  *   <li>Creating new tasks within projects</li>
  *   <li>Retrieving tasks for a specific project</li>
  *   <li>Marking tasks as completed</li>
- *   <li>Deleting tasks</li>
+ *   <li>Deleting tasks, with their subtasks</li>
+ *   <li>Creating subtasks, reading subtrees and their progress</li>
+ *   <li>Moving tasks in the project's manual order</li>
  *   <li>Authorization checks to ensure users can only access tasks in their own projects</li>
  * </ul>
  * </p>
  * <p>
  * Task status changes affect the parent project's progress percentage.
  * </p>
+ * <p>
+ * Every task keeps the number of its descendants and of its completed
+ * descendants. Creating, completing or deleting a task adds to the counters of
+ * all its ancestors (ids read from its materialized path) in one update. The
+ * changes of a tree are serialized by locking its root task row, so that the
+ * counters read when deleting a subtree are not changed concurrently.
+ * </p>
+ * <p>
+ * The manual order uses fractional ranks ({@link FractionalRank}): a new task
+ * is ranked by its id, after every existing task, and a move writes the moved
+ * task's rank only. Moves of a project are serialized by locking the project
+ * row; ranks grown too long are shortened by the {@link TaskRankRebalancer}.
+ * </p>
+ * <p>
+ * Every change of a task's status or existence is passed on to the
+ * {@link TaskLabelIndex} once committed, with the ids of the tasks changed.
+ * </p>
  * 
  * @author Ouissal
  * @version 1.0
@@ -40,32 +70,50 @@ import java.util.stream.Collectors;
 @Transactional
 public class TaskService {
 
+    /** Ends every id of a materialized path */
+    private static final String PATH_SEPARATOR = "/";
+    /** Length of the path column */
+    private static final int MAX_PATH_LENGTH = 760;
+    /** Length of the rank column */
+    private static final int MAX_RANK_LENGTH = 255;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final TaskMapper taskMapper;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final TaskListResponseCache taskListCache;
+    private final TaskRankRebalancer rankRebalancer;
+    private final TaskLabelIndex labelIndex;
 
-    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository, TaskMapper taskMapper) {
+    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository, TaskMapper taskMapper,
+                       SparseFieldRepository sparseFieldRepository, TaskListResponseCache taskListCache,
+                       TaskRankRebalancer rankRebalancer, TaskLabelIndex labelIndex) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.taskMapper = taskMapper;
+        this.sparseFieldRepository = sparseFieldRepository;
+        this.taskListCache = taskListCache;
+        this.rankRebalancer = rankRebalancer;
+        this.labelIndex = labelIndex;
     }
 
     /**
      * Creates a new task within a specified project.
      * <p>
-     * The task is created with PENDING status by default.
+     * The task is created with PENDING status by default, last in the
+     * project's manual order.
      * Creating a task affects the project's progress percentage.
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param projectId the ID of the project to add the task to
      * @param request the task creation request containing title, description, and dueDate
      * @return TaskResponse containing the created task details
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedAccessException if the user does not own the project
      */
-    public TaskResponse createTask(String userEmail, Long projectId, TaskRequest request) {
-        Project project = getProjectAndValidateAccess(userEmail, projectId);
+    public TaskResponse createTask(Long userId, Long projectId, TaskRequest request) {
+        Project project = getProjectAndValidateAccess(userId, projectId);
 
         Task task = Task.builder()
                 .title(request.title())
@@ -76,98 +124,408 @@ public class TaskService {
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        savedTask.setRank(FractionalRank.forId(savedTask.getId()));
+        taskListCache.invalidateAfterCommit(projectId);
+        labelIndex.refreshAfterCommit(projectId, List.of(savedTask.getId()));
         return taskMapper.toResponse(savedTask);
     }
 
+    /**
+     * Creates a subtask of an existing task, in the same project.
+     * <p>
+     * The subtask is created with PENDING status and counted as a descendant
+     * of its parent and of every ancestor of its parent.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param parentId the ID of the parent task
+     * @param request the task creation request containing title, description, and dueDate
+     * @return TaskResponse containing the created task details
+     * @throws ResourceNotFoundException if the parent task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the parent is nested too deeply
+     */
+    public TaskResponse createSubtask(Long userId, Long parentId, TaskRequest request) {
+        Task parent = lockTreeAndGet(parentId);
+        validateProjectAccess(userId, parent.getProject());
+
+        String path = parent.getPath() + parent.getId() + PATH_SEPARATOR;
+        if (path.length() > MAX_PATH_LENGTH) {
+            throw new BadRequestException("Subtasks cannot be nested deeper under task " + parentId);
+        }
+        Task task = Task.builder()
+                .title(request.title())
+                .description(request.description())
+                .dueDate(request.dueDate())
+                .project(parent.getProject())
+                .status(TaskStatus.PENDING)
+                .parentId(parent.getId())
+                .path(path)
+                .build();
+
+        Task savedTask = taskRepository.save(task);
+        savedTask.setRank(FractionalRank.forId(savedTask.getId()));
+        addToAncestors(path, 1, 0);
+        taskListCache.invalidateAfterCommit(parent.getProject().getId());
+        labelIndex.refreshAfterCommit(parent.getProject().getId(), List.of(savedTask.getId()));
+        return taskMapper.toResponse(savedTask);
+    }
+
+    /**
+     * Retrieves the subtasks of a task at any depth.
+     * <p>
+     * The subtree is read with one index range scan on the materialized path.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param taskId the ID of the task
+     * @return the subtasks, parents before their children
+     * @throws ResourceNotFoundException if the task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getSubtasks(Long userId, Long taskId) {
+        String path = taskRepository.findPathById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        checkProjectAccess(userId, taskRepository.findProjectIdById(taskId).orElseThrow());
+
+        String prefix = path + taskId + PATH_SEPARATOR;
+        return taskRepository.findResponsesByPathRange(prefix, pathRangeEnd(prefix));
+    }
+
+    /**
+     * Retrieves the progress of a task and its subtasks.
+     * <p>
+     * Read from the counters of the task row, whatever the depth or width of
+     * the subtree.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param taskId the ID of the task
+     * @return the number of descendants, completed descendants and the percentage
+     * @throws ResourceNotFoundException if the task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public TaskProgressResponse getTaskProgress(Long userId, Long taskId) {
+        checkProjectAccess(userId, taskRepository.findProjectIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found")));
+        return taskRepository.findProgressById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
     /**
      * Retrieves all tasks belonging to a specified project.
+     * <p>
+     * Responses are built directly from the query results: no Task entity is
+     * hydrated, so nothing is added to the persistence context.
+     * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param projectId the ID of the project to get tasks from
+     * @param sort the order of the tasks, {@code id} or {@code rank}
      * @return List of TaskResponse objects
+     * @throws BadRequestException if the order is unknown
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getProjectTasks(Long userId, Long projectId, String sort) {
+        TaskSort order = TaskSort.parse(sort);
+        checkProjectAccess(userId, projectId); // Validate access first
+
+        return taskRepository.findResponsesByProjectId(projectId, order.sort());
+    }
+
+    /**
+     * Retrieves all tasks belonging to a specified project, encoded as JSON.
+     * <p>
+     * The encoded list is served from {@link TaskListResponseCache} when the
+     * project's tasks have not changed since it was cached; access is checked
+     * on every call.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param projectId the ID of the project to get tasks from
+     * @param sort the order of the tasks, {@code id} or {@code rank}
+     * @return the JSON array of tasks
+     * @throws BadRequestException if the order is unknown
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public byte[] getProjectTasksJson(Long userId, Long projectId, String sort) {
+        TaskSort order = TaskSort.parse(sort);
+        checkProjectAccess(userId, projectId);
+        return taskListCache.get(projectId, order,
+                () -> taskRepository.findResponsesByProjectId(projectId, order.sort()));
+    }
+
+    /**
+     * Retrieves selected fields of the tasks belonging to a specified project.
+     * <p>
+     * Only the requested columns are read from the database (the {@code id} is
+     * always included).
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param projectId the ID of the project to get tasks from
+     * @param fields comma-separated field names (id, title, description, dueDate, status, createdAt)
+     * @param sort the order of the tasks, {@code id} or {@code rank}
+     * @return one map of field values per task, in that order
+     * @throws BadRequestException if a field or the order is unknown
+     * @throws ResourceNotFoundException if the project is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProjectTaskFields(Long userId, Long projectId, String fields, String sort) {
+        Set<String> selected = FieldSelection.parse(fields, SparseFieldRepository.TASK_FIELDS);
+        TaskSort order = TaskSort.parse(sort);
+        checkProjectAccess(userId, projectId);
+        return sparseFieldRepository.findTasksByProjectId(projectId, selected, order);
+    }
+
+    /**
+     * Checks that the user owns the project, without loading its tasks.
+     * <p>
+     * Called before a streaming response starts, so that access errors still
+     * produce a proper error status.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param projectId the ID of the project
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedAccessException if the user does not own the project
      */
     @Transactional(readOnly = true)
-    public List<TaskResponse> getProjectTasks(String userEmail, Long projectId) {
-        getProjectAndValidateAccess(userEmail, projectId); // Validate access first
+    public void checkProjectAccess(Long userId, Long projectId) {
+        // Reads the owner id only, not the project row.
+        Long ownerId = projectRepository.findOwnerIdById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        if (!ownerId.equals(userId)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this project");
+        }
+    }
+
+    /**
+     * Streams the tasks of a project to a consumer, one at a time.
+     * <p>
+     * Tasks are read as response DTOs with a scrolling query; no entity is kept
+     * in the persistence context, so memory use does not depend on the number
+     * of tasks. Access must be checked beforehand with
+     * {@link #checkProjectAccess(Long, Long)}.
+     * </p>
+     * 
+     * @param projectId the ID of the project to get tasks from
+     * @param sort the order of the tasks
+     * @param consumer receives each task, in that order
+     */
+    @Transactional(readOnly = true)
+    public void streamProjectTasks(Long projectId, TaskSort sort, Consumer<TaskResponse> consumer) {
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByProjectId(projectId, sort.sort())) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    /**
+     * Moves a task in the manual order of its project.
+     * <p>
+     * Only the moved task's rank is written, whatever the size of the project.
+     * The rank is taken between the rank of the task it is moved after and the
+     * next rank of the project, both read from the {@code (project_id, task_rank)}
+     * index. A rank longer than {@code task-rank.max-length} schedules a
+     * background rebalance of the project; one that would not fit the column
+     * rebalances it first.
+     * </p>
+     * 
+     * @param userId the id of the authenticated user
+     * @param taskId the ID of the task to move
+     * @param afterTaskId the ID of the task to place it after, or null to place it first
+     * @return TaskResponse containing the moved task details
+     * @throws ResourceNotFoundException if a task is not found
+     * @throws UnauthorizedAccessException if the user does not own the project
+     * @throws BadRequestException if the tasks are the same or in different projects
+     */
+    public TaskResponse moveTask(Long userId, Long taskId, Long afterTaskId) {
+        Long projectId = taskRepository.findProjectIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        Project project = projectRepository.findByIdForUpdate(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        validateProjectAccess(userId, project);
+        if (afterTaskId != null) {
+            if (afterTaskId.equals(taskId)) {
+                throw new BadRequestException("A task cannot be moved after itself");
+            }
+            Long afterProjectId = taskRepository.findProjectIdById(afterTaskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            if (!projectId.equals(afterProjectId)) {
+                throw new BadRequestException("A task can only be moved after a task of the same project");
+            }
+        }
+
+        String rank = rankAfter(projectId, taskId, afterTaskId);
+        if (rank != null && rank.length() > MAX_RANK_LENGTH) {
+            // Under the project lock: no move can lengthen the ranks meanwhile.
+            rankRebalancer.rebalance(projectId);
+            rank = rankAfter(projectId, taskId, afterTaskId);
+        } else if (rank != null && rank.length() > rankRebalancer.getMaxLength()) {
+            rankRebalancer.schedule(projectId);
+        }
+        if (rank != null) {
+            taskRepository.updateRank(taskId, rank);
+            taskListCache.invalidateAfterCommit(projectId);
+        }
+        return taskRepository.findResponsesByIdIn(List.of(taskId)).getFirst();
+    }
 
-        return taskRepository.findAllByProjectId(projectId).stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * The rank that places a task right after another one, or first.
+     * 
+     * @return the rank, or null if the task is alone in its project
+     */
+    private String rankAfter(Long projectId, Long taskId, Long afterTaskId) {
+        if (afterTaskId == null) {
+            return taskRepository.findFirstRank(projectId, taskId)
+                    .map(first -> FractionalRank.between(null, first))
+                    .orElse(null);
+        }
+        String before = taskRepository.findRankById(afterTaskId).orElseThrow();
+        String after = taskRepository.findNextRank(projectId, before, taskId).orElse(null);
+        return FractionalRank.between(before, after);
     }
 
     /**
      * Marks a task as completed.
      * <p>
      * Updates the task status from PENDING to COMPLETED.
-     * This change affects the parent project's progress percentage.
+     * This change affects the parent project's progress percentage, and the
+     * progress of every ancestor task.
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param taskId the ID of the task to mark as completed
      * @return TaskResponse containing the updated task details
      * @throws ResourceNotFoundException if the task is not found
      * @throws UnauthorizedAccessException if the user does not own the task's project
      */
-    public TaskResponse markTaskAsCompleted(String userEmail, Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    public TaskResponse markTaskAsCompleted(Long userId, Long taskId) {
+        Task task = lockTreeAndGet(taskId);
 
-        validateProjectAccess(userEmail, task.getProject());
+        validateProjectAccess(userId, task.getProject());
 
-        task.setStatus(TaskStatus.COMPLETED);
+        // Read under the tree lock: a task completed twice is counted once.
+        if (task.getStatus() != TaskStatus.COMPLETED) {
+            task.setStatus(TaskStatus.COMPLETED);
+            addToAncestors(task.getPath(), 0, 1);
+        }
         Task updatedTask = taskRepository.save(task);
+        taskListCache.invalidateAfterCommit(task.getProject().getId());
+        labelIndex.refreshAfterCommit(task.getProject().getId(), List.of(taskId));
         return taskMapper.toResponse(updatedTask);
     }
 
     /**
      * Deletes a task from the system.
      * <p>
-     * Permanently removes the task. This affects the parent project's
-     * progress percentage calculation.
+     * Permanently removes the task and its subtasks at any depth. This affects
+     * the parent project's progress percentage calculation, and the progress
+     * of every ancestor task.
      * </p>
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param taskId the ID of the task to delete
      * @throws ResourceNotFoundException if the task is not found
      * @throws UnauthorizedAccessException if the user does not own the task's project
      */
-    public void deleteTask(String userEmail, Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    public void deleteTask(Long userId, Long taskId) {
+        Task task = lockTreeAndGet(taskId);
 
-        validateProjectAccess(userEmail, task.getProject());
+        validateProjectAccess(userId, task.getProject());
 
+        int completed = task.getCompletedDescendantCount() + (task.getStatus() == TaskStatus.COMPLETED ? 1 : 0);
+        addToAncestors(task.getPath(), -(task.getDescendantCount() + 1), -completed);
+        List<Long> deletedIds = new ArrayList<>();
+        if (task.getDescendantCount() > 0) {
+            String prefix = task.getPath() + task.getId() + PATH_SEPARATOR;
+            deletedIds.addAll(taskRepository.findIdsByPathRange(prefix, pathRangeEnd(prefix)));
+            taskRepository.deleteByPathRange(prefix, pathRangeEnd(prefix));
+        }
+        deletedIds.add(taskId);
         taskRepository.delete(task);
+        taskListCache.invalidateAfterCommit(task.getProject().getId());
+        labelIndex.refreshAfterCommit(task.getProject().getId(), deletedIds);
+    }
+
+    /**
+     * Locks the row of the root of a task's tree, then loads the task: its
+     * state and counters are read under the lock. The path is read first; it
+     * never changes.
+     * 
+     * @param taskId the ID of the task
+     * @return the task
+     * @throws ResourceNotFoundException if the task is not found
+     */
+    private Task lockTreeAndGet(Long taskId) {
+        String path = taskRepository.findPathById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        Long rootId = path.isEmpty() ? taskId : Long.valueOf(path.substring(0, path.indexOf(PATH_SEPARATOR)));
+        taskRepository.findByIdForUpdate(rootId);
+        // Deleted meanwhile with its root.
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
+    /**
+     * Adds to the descendant counters of every task of a path.
+     * 
+     * @param path the ancestors, root first, each followed by the separator
+     * @param tasks the number of descendants to add (negative to remove)
+     * @param completed the number of completed descendants to add
+     */
+    private void addToAncestors(String path, int tasks, int completed) {
+        if (path.isEmpty() || (tasks == 0 && completed == 0)) {
+            return;
+        }
+        List<Long> ancestors = Arrays.stream(path.split(PATH_SEPARATOR)).map(Long::valueOf).toList();
+        taskRepository.addToDescendantCounts(ancestors, tasks, completed);
+    }
+
+    /**
+     * The smallest string after every string starting with {@code prefix}: the
+     * paths of a subtree are the range [{@code prefix}, end).
+     */
+    private static String pathRangeEnd(String prefix) {
+        // The prefix ends with the separator; the next character closes the range.
+        return prefix.substring(0, prefix.length() - 1) + (char) (PATH_SEPARATOR.charAt(0) + 1);
     }
 
     /**
      * Retrieves a project by ID and validates that the user has access to it.
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param projectId the ID of the project to retrieve
      * @return the Project entity
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedAccessException if the user does not own the project
      */
-    private Project getProjectAndValidateAccess(String userEmail, Long projectId) {
+    private Project getProjectAndValidateAccess(Long userId, Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
         
-        validateProjectAccess(userEmail, project);
+        validateProjectAccess(userId, project);
         return project;
     }
 
     /**
      * Validates that the user has access to the specified project.
      * 
-     * @param userEmail the email of the authenticated user
+     * @param userId the id of the authenticated user
      * @param project the project to validate access for
      * @throws UnauthorizedAccessException if the user does not own the project
      */
-    private void validateProjectAccess(String userEmail, Project project) {
-        if (!project.getUser().getEmail().equals(userEmail)) {
+    private void validateProjectAccess(Long userId, Project project) {
+        // Comparing ids keeps the owner proxy uninitialized (no extra user SELECT).
+        if (!project.getUser().getId().equals(userId)) {
             throw new UnauthorizedAccessException("You are not authorized to access this project");
         }
     }
@@ -0,0 +1,267 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.sid.ouissal_project_management_backend.dto.BulkUserResponse;
+import org.sid.ouissal_project_management_backend.dto.BulkUserResult;
+import org.sid.ouissal_project_management_backend.dto.BulkUserResult.Status;
+import org.sid.ouissal_project_management_backend.dto.RegisterRequest;
+import org.sid.ouissal_project_management_backend.entities.Role;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.sid.ouissal_project_management_backend.security.RegisteredEmailFilter;
+import org.sid.ouissal_project_management_backend.util.EmailAddress;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for provisioning users in bulk.
+ * <p>
+ * Registering users one by one costs a lookup, a hash and an insert per user,
+ * serially. This service processes a whole list in a few steps:
+ * <ol>
+ *   <li>Validates every row and drops duplicates inside the request, emails
+ *       being compared like registration does ({@link EmailAddress})</li>
+ *   <li>Finds the emails that already exist with set-based queries (one per chunk)</li>
+ *   <li>Hashes the remaining passwords in parallel on a dedicated pool</li>
+ *   <li>Inserts the users with JDBC batch statements, and places them on
+ *       their shards in the same transaction (see {@link ShardDirectory})</li>
+ * </ol>
+ * The outcome of every row (CREATED, SKIPPED or FAILED) is reported.
+ * </p>
+ * <p>
+ * Hashing runs on its own {@link ForkJoinPool} rather than on the interactive
+ * password pool, so that a large import cannot fill the login queue. A batch that
+ * fails (typically a user registered concurrently) is retried row by row, so one
+ * bad row does not fail its neighbours.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+@Service
+@Slf4j
+public class UserProvisioningService implements DisposableBean {
+
+    private static final String INSERT_SQL =
+            "insert into users (email, password, enabled, role) values (?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ShardDirectory shardDirectory;
+    private final BCryptPasswordEncoder hasher;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+    private final int maxRows;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   Validator validator,
+                                   RegisteredEmailFilter registeredEmailFilter,
+                                   ShardDirectory shardDirectory,
+                                   @Value("${security.bcrypt.strength:10}") int strength,
+                                   @Value("${provisioning.hashing-parallelism:0}") int parallelism,
+                                   @Value("${provisioning.batch-size:500}") int batchSize,
+                                   @Value("${provisioning.max-rows:10000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.shardDirectory = shardDirectory;
+        this.hasher = new BCryptPasswordEncoder(strength);
+        this.hashingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Provisions a list of users with the USER role.
+     *
+     * @param requests the users to create
+     * @return the counts per outcome and the outcome of each row
+     * @throws BadRequestException if the list exceeds the configured maximum
+     */
+    public BulkUserResponse provision(List<RegisterRequest> requests) {
+        if (requests.size() > maxRows) {
+            throw new BadRequestException("At most " + maxRows + " users can be provisioned per request");
+        }
+
+        BulkUserResult[] results = new BulkUserResult[requests.size()];
+        Map<String, Integer> candidates = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            RegisterRequest request = requests.get(i);
+            String email = request == null ? null : request.email();
+            Set<ConstraintViolation<RegisterRequest>> violations =
+                    request == null ? Set.of() : validator.validate(request);
+            if (request == null || !violations.isEmpty()) {
+                String message = request == null ? "Row is empty" : violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[i] = new BulkUserResult(i, email, Status.FAILED, message);
+            } else if (candidates.putIfAbsent(EmailAddress.normalize(email), i) != null) {
+                results[i] = new BulkUserResult(i, email, Status.SKIPPED, "Duplicate email in request");
+            }
+        }
+
+        Set<String> existing = findExistingEmails(new ArrayList<>(candidates.keySet()));
+        List<Integer> toCreate = new ArrayList<>();
+        for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+            int index = candidate.getValue();
+            if (existing.contains(candidate.getKey())) {
+                results[index] = new BulkUserResult(index, requests.get(index).email(),
+                        Status.SKIPPED, "User already exists");
+            } else {
+                toCreate.add(index);
+            }
+        }
+        toCreate.sort(null);
+
+        List<String> hashes = hashAll(toCreate.stream().map(i -> requests.get(i).password()).toList());
+
+        for (int from = 0; from < toCreate.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, toCreate.size());
+            insertBatch(requests, toCreate.subList(from, to), hashes.subList(from, to), results);
+        }
+
+        int created = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (BulkUserResult result : results) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case SKIPPED -> skipped++;
+                case FAILED -> failed++;
+            }
+        }
+        log.info("Bulk provisioning: {} created, {} skipped, {} failed", created, skipped, failed);
+        return new BulkUserResponse(created, skipped, failed, List.of(results));
+    }
+
+    /**
+     * Looks up which of the given normalized emails are already registered, one IN query per chunk.
+     *
+     * @return the emails found
+     */
+    private Set<String> findExistingEmails(List<String> all) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < all.size(); from += batchSize) {
+            List<String> chunk = all.subList(from, Math.min(from + batchSize, all.size()));
+            existing.addAll(userRepository.findExistingEmails(chunk));
+        }
+        return existing;
+    }
+
+    /**
+     * Hashes the passwords in parallel, preserving their order.
+     */
+    private List<String> hashAll(List<String> passwords) {
+        if (passwords.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return hashingPool.submit(() -> passwords.parallelStream()
+                    .map(hasher::encode)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Inserts one batch, falling back to row-by-row inserts if the batch is rejected.
+     */
+    private void insertBatch(List<RegisterRequest> requests, List<Integer> indexes, List<String> hashes,
+                             BulkUserResult[] results) {
+        List<String> emails = indexes.stream()
+                .map(index -> EmailAddress.normalize(requests.get(index).email()))
+                .toList();
+        List<Object[]> rows = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            rows.add(row(emails.get(i), hashes.get(i)));
+        }
+
+        try {
+            // One transaction per batch: a rejected batch leaves no partial rows behind.
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                place(emails);
+            });
+            for (int i = 0; i < indexes.size(); i++) {
+                int index = indexes.get(i);
+                results[index] = new BulkUserResult(index, requests.get(index).email(), Status.CREATED, null);
+                registeredEmailFilter.add(emails.get(i));
+            }
+            return;
+        } catch (DataAccessException e) {
+            log.warn("Provisioning batch of {} rows rejected, retrying row by row: {}",
+                    rows.size(), e.getMostSpecificCause().getMessage());
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            String email = requests.get(index).email();
+            String normalized = emails.get(i);
+            Object[] row = rows.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_SQL, row);
+                    place(List.of(normalized));
+                });
+                results[index] = new BulkUserResult(index, email, Status.CREATED, null);
+                registeredEmailFilter.add(normalized);
+            } catch (DuplicateKeyException e) {
+                results[index] = new BulkUserResult(index, email, Status.SKIPPED, "User already exists");
+            } catch (DataAccessException e) {
+                results[index] = new BulkUserResult(index, email, Status.FAILED,
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Places the users just inserted on their shards (nothing to do without sharding).
+     */
+    private void place(List<String> emails) {
+        if (shardDirectory.isEnabled()) {
+            shardDirectory.placeAll(userRepository.findIdsByEmailIn(emails));
+        }
+    }
+
+    private static Object[] row(String email, String passwordHash) {
+        return new Object[]{email, passwordHash, true, Role.USER.name()};
+    }
+
+    @Override
+    public void destroy() {
+        hashingPool.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Bounded Pareto distribution of non-negative integers, configured by its mean.
+ * <p>
+ * Produces the heavy-tailed counts found in real data: most values are small,
+ * a few are orders of magnitude larger (a handful of users owning thousands of
+ * projects, a few projects holding most of the tasks). The distribution is
+ * defined on {@code [L, max]} with shape {@code alpha} (lower means more skew);
+ * {@code L} is solved so that the mean matches the requested one, and samples
+ * are drawn by inverse transform and rounded.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class BoundedPareto {
+
+    private final double lower;
+    private final double upper;
+    private final double alpha;
+    private final double tailRatio;
+
+    private BoundedPareto(double lower, double upper, double alpha) {
+        this.lower = lower;
+        this.upper = upper;
+        this.alpha = alpha;
+        this.tailRatio = Math.pow(lower / upper, alpha);
+    }
+
+    /**
+     * Creates a distribution with the given mean.
+     *
+     * @param mean the mean of the samples (0 &lt; mean &lt; max)
+     * @param max the largest value
+     * @param alpha the shape, typically between 1 and 2
+     * @return the distribution
+     */
+    public static BoundedPareto withMean(double mean, long max, double alpha) {
+        if (alpha <= 0) {
+            throw new IllegalArgumentException("alpha must be positive");
+        }
+        if (mean <= 0 || mean >= max) {
+            throw new IllegalArgumentException("mean must be between 0 and max (" + max + ")");
+        }
+        // The mean grows with the lower bound: bisect.
+        double low = 1e-9;
+        double high = mean;
+        for (int i = 0; i < 200; i++) {
+            double mid = (low + high) / 2;
+            if (mean(mid, max, alpha) < mean) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return new BoundedPareto((low + high) / 2, max, alpha);
+    }
+
+    /**
+     * Draws a value.
+     *
+     * @param random the source of randomness
+     * @return a value between 0 and max
+     */
+    public long sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        double value = lower / Math.pow(1 - u * (1 - tailRatio), 1 / alpha);
+        return Math.min((long) upper, Math.round(value));
+    }
+
+    private static double mean(double lower, double upper, double alpha) {
+        if (Math.abs(alpha - 1) < 1e-9) {
+            return upper * lower / (upper - lower) * Math.log(upper / lower);
+        }
+        double scale = Math.pow(lower, alpha) / (1 - Math.pow(lower / upper, alpha));
+        return scale * alpha / (alpha - 1) * (Math.pow(lower, 1 - alpha) - Math.pow(upper, 1 - alpha));
+    }
+}
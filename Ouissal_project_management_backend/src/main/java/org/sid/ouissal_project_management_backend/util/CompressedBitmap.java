@@ -0,0 +1,430 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed bitmap of non-negative long values (task ids), in the style of
+ * Roaring bitmaps.
+ * <p>
+ * Values are split into a high part (all bits but the 16 lowest) and a low
+ * part. The low parts sharing a high part are stored in one container, kept
+ * in the representation that suits its density:
+ * <ul>
+ *   <li>A sorted {@code char[]} while it holds at most {@value #ARRAY_MAX}
+ *       values (2 bytes per value)</li>
+ *   <li>A {@code long[1024]} bitset above (8 KB for 65,536 values)</li>
+ * </ul>
+ * The ids of a project are clustered, so a project with tens of thousands of
+ * tasks takes a few containers, and set operations work on whole containers:
+ * word by word for bitsets, by merge or lookup for arrays. Not thread-safe.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class CompressedBitmap {
+
+    /** Largest array container; one more value switches to a bitset (same 8 KB) */
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1 << 10;
+
+    /** High parts, sorted, {@code size} used */
+    private long[] keys;
+    private Container[] containers;
+    private int size;
+
+    public CompressedBitmap() {
+        this(4);
+    }
+
+    private CompressedBitmap(int capacity) {
+        keys = new long[capacity];
+        containers = new Container[capacity];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value (non-negative)
+     * @return true if it was not present
+     */
+    public boolean add(long value) {
+        long key = value >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new Container());
+        }
+        return containers[index].add((char) value);
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value
+     * @return true if it was present
+     */
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        if (index < 0 || !containers[index].remove((char) value)) {
+            return false;
+        }
+        if (containers[index].cardinality == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        }
+        return true;
+    }
+
+    /**
+     * @param value the value
+     * @return whether the bitmap holds the value
+     */
+    public boolean contains(long value) {
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * @return whether the bitmap holds no value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of values
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return the approximate memory used by the containers, in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = size * 24L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].bits != null ? WORDS * 8L : containers[i].array.length * 2L;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the values, in increasing order
+     */
+    public long[] toArray() {
+        long[] values = new long[Math.toIntExact(cardinality())];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long high = keys[i] << 16;
+            Container container = containers[i];
+            if (container.array != null) {
+                for (int j = 0; j < container.cardinality; j++) {
+                    values[count++] = high | container.array[j];
+                }
+            } else {
+                for (int word = 0; word < WORDS; word++) {
+                    long bits = container.bits[word];
+                    while (bits != 0) {
+                        values[count++] = high | ((long) word << 6) | Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param other another bitmap
+     * @return a new bitmap with the values of both
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.max(1, Math.min(size, other.size)));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], Container.and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param other another bitmap
+     * @return a new bitmap with the values of either
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.max(1, size + other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], Container.or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param other another bitmap
+     * @return a new bitmap with the values of this one that are not in {@code other}
+     */
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.max(1, size));
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            result.append(keys[i], j < other.size && other.keys[j] == keys[i]
+                    ? Container.andNot(containers[i], other.containers[j])
+                    : containers[i].copy());
+        }
+        return result;
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    /** Adds a container after the last one, skipping empty results */
+    private void append(long key, Container container) {
+        if (container != null) {
+            insert(size, key, container);
+        }
+    }
+
+    /**
+     * The low parts of the values sharing one high part: either a sorted array
+     * ({@code array}, {@code cardinality} used) or a bitset ({@code bits}).
+     */
+    private static final class Container {
+
+        private char[] array;
+        private long[] bits;
+        private int cardinality;
+
+        private Container() {
+            array = new char[4];
+        }
+
+        private Container(char[] array, int cardinality) {
+            this.array = array;
+            this.cardinality = cardinality;
+        }
+
+        private Container(long[] bits, int cardinality) {
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        private boolean add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before | (1L << low);
+                if (before == bits[low >>> 6]) {
+                    return false;
+                }
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_MAX) {
+                bits = toWords();
+                array = null;
+                return add(low);
+            }
+            index = -index - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(array, index, array, index + 1, cardinality - index);
+            array[index] = low;
+            cardinality++;
+            return true;
+        }
+
+        private boolean remove(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before & ~(1L << low);
+                if (before == bits[low >>> 6]) {
+                    return false;
+                }
+                if (--cardinality <= ARRAY_MAX) {
+                    array = toArray(bits, cardinality);
+                    bits = null;
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(array, index + 1, array, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        private boolean contains(char low) {
+            return bits != null
+                    ? (bits[low >>> 6] & (1L << low)) != 0
+                    : Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        private Container copy() {
+            return bits != null
+                    ? new Container(bits.clone(), cardinality)
+                    : new Container(Arrays.copyOf(array, Math.max(1, cardinality)), cardinality);
+        }
+
+        /** The values as a bitset (a new array) */
+        private long[] toWords() {
+            if (bits != null) {
+                return bits.clone();
+            }
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[array[i] >>> 6] |= 1L << array[i];
+            }
+            return words;
+        }
+
+        private static Container and(Container a, Container b) {
+            if (a.array != null || b.array != null) {
+                // Look each value of the smaller side up in the other one.
+                Container small = a.array != null && (b.array == null || a.cardinality <= b.cardinality) ? a : b;
+                Container other = small == a ? b : a;
+                char[] values = new char[small.cardinality];
+                int count = 0;
+                for (int i = 0; i < small.cardinality; i++) {
+                    if (other.contains(small.array[i])) {
+                        values[count++] = small.array[i];
+                    }
+                }
+                return count == 0 ? null : new Container(values, count);
+            }
+            long[] words = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                words[i] = a.bits[i] & b.bits[i];
+            }
+            return normalize(words);
+        }
+
+        private static Container or(Container a, Container b) {
+            if (a.array != null && b.array != null && a.cardinality + b.cardinality <= ARRAY_MAX) {
+                char[] values = new char[a.cardinality + b.cardinality];
+                int i = 0;
+                int j = 0;
+                int count = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    if (j == b.cardinality || (i < a.cardinality && a.array[i] < b.array[j])) {
+                        values[count++] = a.array[i++];
+                    } else if (i == a.cardinality || a.array[i] > b.array[j]) {
+                        values[count++] = b.array[j++];
+                    } else {
+                        values[count++] = a.array[i++];
+                        j++;
+                    }
+                }
+                return new Container(values, count);
+            }
+            long[] words = a.toWords();
+            if (b.bits != null) {
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] |= b.bits[i];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    words[b.array[i] >>> 6] |= 1L << b.array[i];
+                }
+            }
+            return normalize(words);
+        }
+
+        private static Container andNot(Container a, Container b) {
+            if (a.array != null) {
+                char[] values = new char[a.cardinality];
+                int count = 0;
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (!b.contains(a.array[i])) {
+                        values[count++] = a.array[i];
+                    }
+                }
+                return count == 0 ? null : new Container(values, count);
+            }
+            long[] words = a.bits.clone();
+            if (b.bits != null) {
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] &= ~b.bits[i];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    words[b.array[i] >>> 6] &= ~(1L << b.array[i]);
+                }
+            }
+            return normalize(words);
+        }
+
+        /** A container for a bitset result, in the representation that fits its cardinality */
+        private static Container normalize(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            return cardinality <= ARRAY_MAX
+                    ? new Container(toArray(words, cardinality), cardinality)
+                    : new Container(words, cardinality);
+        }
+
+        private static char[] toArray(long[] words, int cardinality) {
+            char[] values = new char[Math.max(1, cardinality)];
+            int count = 0;
+            for (int word = 0; word < WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    values[count++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return values;
+        }
+    }
+}
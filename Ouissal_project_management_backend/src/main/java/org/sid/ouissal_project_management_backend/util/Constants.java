@@ -6,7 +6,14 @@ public class Constants {
     public static final String[] PUBLIC_URLS = {
         "/api/auth/login",
         "/api/auth/register",
+        "/api/auth/refresh",
+        "/api/auth/logout",
         "/swagger-ui/**",
-        "/v3/api-docs/**"
+        "/v3/api-docs/**",
+        "/actuator/health",
+        "/actuator/health/**"
+    };
+    public static final String[] ADMIN_URLS = {
+        "/api/admin/**"
     };
 }
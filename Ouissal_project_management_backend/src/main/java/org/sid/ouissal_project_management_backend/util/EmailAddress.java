@@ -0,0 +1,43 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import java.util.Locale;
+
+/**
+ * The rule deciding when two emails are the same account.
+ * <p>
+ * Emails are trimmed and lower-cased ({@link Locale#ROOT}) before they are
+ * stored or looked up, so {@code Foo@x.com} and {@code foo@x.com} are one
+ * account whatever the database collation. Every path that creates or finds a
+ * user applies {@link #normalize(String)}: registration, login, bulk
+ * provisioning and the registered email filter. Emails stored before the rule
+ * are normalized by migration V9.
+ * </p>
+ * <p>
+ * The {@value #RESERVED_DOMAIN} domain belongs to the start-up warm-up, which
+ * creates and later deletes its own users there. Clients cannot register an
+ * address in it ({@link #NOT_RESERVED}), so the warm-up never deletes a real
+ * account.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class EmailAddress {
+
+    /** Domain of the warm-up users */
+    public static final String RESERVED_DOMAIN = "@warmup.invalid";
+    /** Matches any email outside {@link #RESERVED_DOMAIN}, whatever its case and surrounding spaces */
+    public static final String NOT_RESERVED = "(?is)(?!.*@warmup\\.invalid\\s*$).*";
+
+    private EmailAddress() {
+    }
+
+    /**
+     * @param email an email as sent by a client
+     * @return the email as stored and compared
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,62 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parser for the {@code fields=} query parameter (sparse fieldsets).
+ * <p>
+ * The parameter is a comma-separated list of response field names, e.g.
+ * {@code fields=title,status,dueDate}. The {@code id} field is always
+ * included so that clients can still identify each element.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Parses and validates a field list.
+     *
+     * @param fields the raw parameter value
+     * @param allowed the fields the resource supports, in response order
+     * @return the selected fields, in the order of {@code allowed}
+     * @throws BadRequestException if a field is unknown
+     */
+    public static Set<String> parse(String fields, Set<String> allowed) {
+        Set<String> requested = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (allowed.contains(name)) {
+                requested.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown fields " + unknown + ", allowed fields are " + allowed);
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String name : allowed) {
+            if (name.equals("id") || requested.contains(name)) {
+                selected.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+}
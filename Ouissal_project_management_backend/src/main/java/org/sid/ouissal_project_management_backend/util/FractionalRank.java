@@ -0,0 +1,97 @@
+package org.sid.ouissal_project_management_backend.util;
+
+/**
+ * Lexicographic fractional ranks for manual ordering.
+ * <p>
+ * A rank is a string that orders by plain character comparison (binary
+ * collation). A key between any two keys always exists, so moving an item
+ * only rewrites that item's key. Keys are made of a head of {@value #HEAD_LENGTH}
+ * decimal digits followed by an optional fraction in base 36 ({@code 0-9a-z}),
+ * never ending with {@code '0'}:
+ * <ul>
+ *   <li>A new item gets {@link #forId(long)}, its zero-padded id: items are
+ *       appended in creation order without reading any other key</li>
+ *   <li>A moved item gets {@link #between(String, String)}, which keeps the
+ *       head of its neighbours and extends the fraction by about one
+ *       character every 5 to 8 moves into the same gap</li>
+ * </ul>
+ * Keys only stay below the keys of future items (higher ids) if every head
+ * is the id of an existing item, which both operations preserve; a rebalance
+ * must assign the items' own ids, in rank order, to restore short keys.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class FractionalRank {
+
+    /** Length of the decimal head, enough for any positive long */
+    public static final int HEAD_LENGTH = 19;
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private FractionalRank() {
+    }
+
+    /**
+     * The rank of a new item: its id, zero-padded to the head length.
+     *
+     * @param id the id of the item (positive)
+     * @return the rank
+     */
+    public static String forId(long id) {
+        String digits = Long.toString(id);
+        return "0".repeat(HEAD_LENGTH - digits.length()) + digits;
+    }
+
+    /**
+     * A rank strictly between two ranks.
+     *
+     * @param before the rank of the previous item, null to move to the start
+     * @param after the rank of the next item, null to move to the end (still
+     *        before the items created later)
+     * @return the new rank
+     * @throws IllegalArgumentException if {@code before} is not lower than {@code after}
+     */
+    public static String between(String before, String after) {
+        String lower = before == null ? "" : before;
+        String upper = after;
+        if (upper == null && before != null) {
+            // The next id after the head: lower than the rank of any item created later.
+            upper = forId(Long.parseLong(before.substring(0, HEAD_LENGTH)) + 1);
+        }
+        if (upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " is not lower than " + after);
+        }
+        return midpoint(lower, upper);
+    }
+
+    /**
+     * Shortest key strictly between {@code a} and {@code b} ({@code b} null
+     * means no upper bound), neither ending with {@code '0'}.
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // Keep the common prefix, a being padded with '0'.
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : '0') == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.length() > n ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b == null ? BASE : DIGITS.indexOf(b.charAt(0));
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        // Consecutive first digits: b's first digit alone is in between if b is longer.
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+}
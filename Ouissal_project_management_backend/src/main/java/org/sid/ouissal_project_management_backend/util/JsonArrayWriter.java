@@ -0,0 +1,67 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import org.springframework.util.StreamUtils;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+
+/**
+ * Writes a JSON array element by element to an output stream.
+ * <p>
+ * Used by the streaming list endpoints: each element is serialized as soon
+ * as it is produced and the output is flushed every {@code flushEvery}
+ * elements, so the client receives the first rows before the last ones are
+ * read and memory use does not grow with the size of the list.
+ * </p>
+ * <p>
+ * Closing the writer ends the array and flushes, but leaves the underlying
+ * stream open for the container to complete the response.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public class JsonArrayWriter implements AutoCloseable {
+
+    private final JsonGenerator generator;
+    private final int flushEvery;
+    private long count;
+
+    /**
+     * Starts a JSON array on the given stream.
+     *
+     * @param objectMapper the mapper used to serialize elements
+     * @param out the response stream
+     * @param flushEvery the number of elements written between two flushes
+     */
+    public JsonArrayWriter(ObjectMapper objectMapper, OutputStream out, int flushEvery) {
+        this.generator = objectMapper.createGenerator(StreamUtils.nonClosing(out));
+        this.flushEvery = Math.max(1, flushEvery);
+        this.generator.writeStartArray();
+    }
+
+    /**
+     * Writes one element of the array.
+     *
+     * @param element the element to serialize
+     */
+    public void write(Object element) {
+        generator.writePOJO(element);
+        if (++count % flushEvery == 0) {
+            generator.flush();
+        }
+    }
+
+    /** @return the number of elements written so far */
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
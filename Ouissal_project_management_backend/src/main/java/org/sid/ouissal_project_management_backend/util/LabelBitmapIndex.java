@@ -0,0 +1,170 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import org.sid.ouissal_project_management_backend.entities.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory bitmap index of the tasks of one project.
+ * <p>
+ * Holds one {@link CompressedBitmap} of task ids for all the tasks, one per
+ * {@link TaskStatus} and one per label. A combination of labels is then
+ * answered with set operations on the bitmaps, without reading any row:
+ * <ul>
+ *   <li>{@code all} - the tasks having every one of these labels (AND)</li>
+ *   <li>{@code any} - the tasks having at least one of these labels (OR)</li>
+ *   <li>{@code none} - the tasks having none of these labels (AND NOT)</li>
+ *   <li>{@code status} - the tasks in this status</li>
+ * </ul>
+ * Not thread-safe: the owner synchronizes on the instance.
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class LabelBitmapIndex {
+
+    private final CompressedBitmap tasks = new CompressedBitmap();
+    private final Map<TaskStatus, CompressedBitmap> statuses = new EnumMap<>(TaskStatus.class);
+    private final Map<String, CompressedBitmap> labels = new HashMap<>();
+
+    public LabelBitmapIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            statuses.put(status, new CompressedBitmap());
+        }
+    }
+
+    /**
+     * Adds a task, without labels.
+     *
+     * @param taskId the task id
+     * @param status the task status
+     */
+    public void addTask(long taskId, TaskStatus status) {
+        tasks.add(taskId);
+        statuses.get(status).add(taskId);
+    }
+
+    /**
+     * Adds a label to a task.
+     *
+     * @param taskId the task id
+     * @param label the label
+     */
+    public void addLabel(long taskId, String label) {
+        labels.computeIfAbsent(label, key -> new CompressedBitmap()).add(taskId);
+    }
+
+    /**
+     * Removes a task, its status and its labels.
+     *
+     * @param taskId the task id
+     */
+    public void removeTask(long taskId) {
+        if (!tasks.remove(taskId)) {
+            return;
+        }
+        statuses.values().forEach(bitmap -> bitmap.remove(taskId));
+        labels.values().removeIf(bitmap -> bitmap.remove(taskId) && bitmap.isEmpty());
+    }
+
+    /**
+     * Replaces the entries of some tasks with those of another index holding
+     * their current rows: tasks missing from it are removed.
+     *
+     * @param taskIds the tasks to replace
+     * @param rows an index read from the rows of these tasks only
+     */
+    public void replaceTasks(Collection<Long> taskIds, LabelBitmapIndex rows) {
+        taskIds.forEach(this::removeTask);
+        rows.statuses.forEach((status, bitmap) -> {
+            for (long taskId : bitmap.toArray()) {
+                addTask(taskId, status);
+            }
+        });
+        rows.labels.forEach((label, bitmap) -> {
+            for (long taskId : bitmap.toArray()) {
+                addLabel(taskId, label);
+            }
+        });
+    }
+
+    /**
+     * Finds the tasks matching a combination of labels and a status. Empty
+     * collections and a null status do not filter.
+     *
+     * @param all labels the tasks must all have
+     * @param any labels the tasks must have at least one of
+     * @param none labels the tasks must not have
+     * @param status the status of the tasks, or null for any status
+     * @return the ids of the matching tasks, in increasing order
+     */
+    public long[] query(Collection<String> all, Collection<String> any, Collection<String> none,
+                        TaskStatus status) {
+        CompressedBitmap result = status != null ? statuses.get(status) : tasks;
+
+        // Intersect the rarest labels first: the intermediate results stay small.
+        List<CompressedBitmap> required = new ArrayList<>();
+        for (String label : all) {
+            CompressedBitmap bitmap = labels.get(label);
+            if (bitmap == null) {
+                return new long[0];
+            }
+            required.add(bitmap);
+        }
+        required.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+        for (CompressedBitmap bitmap : required) {
+            result = result.and(bitmap);
+        }
+
+        if (!any.isEmpty()) {
+            CompressedBitmap union = new CompressedBitmap();
+            for (String label : any) {
+                CompressedBitmap bitmap = labels.get(label);
+                if (bitmap != null) {
+                    union = union.or(bitmap);
+                }
+            }
+            result = result.and(union);
+        }
+
+        for (String label : none) {
+            CompressedBitmap bitmap = labels.get(label);
+            if (bitmap != null) {
+                result = result.andNot(bitmap);
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * @return the number of tasks per label, in label order
+     */
+    public Map<String, Long> labelCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        labels.forEach((label, bitmap) -> counts.put(label, bitmap.cardinality()));
+        return counts;
+    }
+
+    /**
+     * @return the approximate memory used by the bitmaps, in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = tasks.sizeInBytes();
+        for (CompressedBitmap bitmap : statuses.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (Map.Entry<String, CompressedBitmap> label : labels.entrySet()) {
+            bytes += label.getKey().length() * 2L + label.getValue().sizeInBytes();
+        }
+        return bytes;
+    }
+}
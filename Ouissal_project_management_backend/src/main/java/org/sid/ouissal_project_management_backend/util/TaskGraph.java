@@ -0,0 +1,306 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Dependency graph of the tasks of a project, in primitive arrays.
+ * <p>
+ * Tasks are numbered by their position in increasing id order, and task ids
+ * are mapped to these numbers by binary search. The edges are stored in
+ * compressed sparse row form, once in each direction: the prerequisites of
+ * task {@code i} are {@code prerequisites[prerequisiteStart[i] ..
+ * prerequisiteStart[i + 1] - 1]}, and likewise for its dependents. A graph of
+ * 100,000 tasks and 500,000 edges takes about 6 MB and every analysis below is
+ * a linear pass over the arrays, without an entity or a boxed value per task
+ * or per edge.
+ * </p>
+ * <p>
+ * The graph is immutable once built and never contains a cycle (enforced when
+ * a dependency is inserted).
+ * </p>
+ *
+ * @author Ouissal
+ * @version 1.0
+ * @since 2025-12-22
+ */
+public final class TaskGraph {
+
+    /** Due date of a task without one (compares before every date) */
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final long[] ids;
+    private final long[] dueDays;
+    private final boolean[] completed;
+    private final int[] prerequisiteStart;
+    private final int[] prerequisites;
+    private final int[] dependentStart;
+    private final int[] dependents;
+
+    private TaskGraph(long[] ids, long[] dueDays, boolean[] completed, int[] edgeTasks, int[] edgeDependsOn) {
+        this.ids = ids;
+        this.dueDays = dueDays;
+        this.completed = completed;
+        this.prerequisiteStart = new int[ids.length + 1];
+        this.prerequisites = new int[edgeTasks.length];
+        this.dependentStart = new int[ids.length + 1];
+        this.dependents = new int[edgeTasks.length];
+        fill(edgeTasks, edgeDependsOn, prerequisiteStart, prerequisites);
+        fill(edgeDependsOn, edgeTasks, dependentStart, dependents);
+    }
+
+    /**
+     * Counting sort of the edges by source: {@code start} receives the offsets,
+     * {@code targets} the targets grouped by source.
+     */
+    private static void fill(int[] sources, int[] edgeTargets, int[] start, int[] targets) {
+        for (int source : sources) {
+            start[source + 1]++;
+        }
+        for (int i = 0; i < start.length - 1; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] next = Arrays.copyOf(start, start.length - 1);
+        for (int e = 0; e < sources.length; e++) {
+            targets[next[sources[e]]++] = edgeTargets[e];
+        }
+    }
+
+    /**
+     * @return a builder to add the tasks (in increasing id order), then the dependencies
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of tasks
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the number of dependencies
+     */
+    public int edgeCount() {
+        return prerequisites.length;
+    }
+
+    /**
+     * @param task a task number
+     * @return the task id
+     */
+    public long id(int task) {
+        return ids[task];
+    }
+
+    /**
+     * Orders the tasks so that every task comes after the tasks it depends on
+     * (Kahn's algorithm; the tasks without prerequisites come first, in id order).
+     *
+     * @return the task numbers in topological order
+     */
+    public int[] topologicalOrder() {
+        int n = ids.length;
+        int[] waiting = new int[n];
+        int[] order = new int[n];
+        int tail = 0;
+        for (int task = 0; task < n; task++) {
+            waiting[task] = prerequisiteStart[task + 1] - prerequisiteStart[task];
+            if (waiting[task] == 0) {
+                order[tail++] = task;
+            }
+        }
+        // order doubles as the queue: tasks before head have been processed.
+        for (int head = 0; head < tail; head++) {
+            int task = order[head];
+            for (int e = dependentStart[task]; e < dependentStart[task + 1]; e++) {
+                if (--waiting[dependents[e]] == 0) {
+                    order[tail++] = dependents[e];
+                }
+            }
+        }
+        if (tail != n) {
+            throw new IllegalStateException("The dependencies contain a cycle through " + (n - tail) + " tasks");
+        }
+        return order;
+    }
+
+    /**
+     * Finds the chain of dependencies that sets the project's finish date.
+     * <p>
+     * A task cannot finish before the tasks it depends on, so its projected
+     * finish is the latest of its own due date and the projected finishes of
+     * its prerequisites. The critical path ends at the task with the latest
+     * projected finish and walks back, at each step, to the prerequisite with
+     * the latest projected finish. Ties go to the longer chain, so that without
+     * any due date the critical path is the longest chain.
+     * </p>
+     *
+     * @return the critical path, empty for a project without tasks
+     */
+    public CriticalPath criticalPath() {
+        int n = ids.length;
+        long[] finish = new long[n];
+        int[] length = new int[n];
+        int[] driver = new int[n];
+        int end = -1;
+        for (int task : topologicalOrder()) {
+            int latest = -1;
+            for (int e = prerequisiteStart[task]; e < prerequisiteStart[task + 1]; e++) {
+                int prerequisite = prerequisites[e];
+                if (latest < 0 || finish[prerequisite] > finish[latest]
+                        || (finish[prerequisite] == finish[latest] && length[prerequisite] > length[latest])) {
+                    latest = prerequisite;
+                }
+            }
+            driver[task] = latest;
+            finish[task] = latest < 0 ? dueDays[task] : Math.max(dueDays[task], finish[latest]);
+            length[task] = latest < 0 ? 1 : length[latest] + 1;
+            if (end < 0 || finish[task] > finish[end]
+                    || (finish[task] == finish[end] && length[task] > length[end])) {
+                end = task;
+            }
+        }
+        if (end < 0) {
+            return new CriticalPath(new long[0], null);
+        }
+        long[] path = new long[length[end]];
+        int i = path.length;
+        for (int task = end; task >= 0; task = driver[task]) {
+            path[--i] = ids[task];
+        }
+        return new CriticalPath(path, finish[end] == NO_DATE ? null : LocalDate.ofEpochDay(finish[end]));
+    }
+
+    /**
+     * Finds the pending tasks that cannot be completed yet.
+     *
+     * @return for each blocked task, in id order, its pending prerequisites
+     */
+    public BlockedTasks blockedTasks() {
+        int n = ids.length;
+        long[] taskIds = new long[n];
+        long[][] blockedBy = new long[n][];
+        long[] blockers = new long[prerequisites.length];
+        int count = 0;
+        for (int task = 0; task < n; task++) {
+            if (completed[task]) {
+                continue;
+            }
+            int pending = 0;
+            for (int e = prerequisiteStart[task]; e < prerequisiteStart[task + 1]; e++) {
+                if (!completed[prerequisites[e]]) {
+                    blockers[pending++] = ids[prerequisites[e]];
+                }
+            }
+            if (pending > 0) {
+                taskIds[count] = ids[task];
+                blockedBy[count] = Arrays.copyOf(blockers, pending);
+                count++;
+            }
+        }
+        return new BlockedTasks(Arrays.copyOf(taskIds, count), Arrays.copyOf(blockedBy, count));
+    }
+
+    /**
+     * The chain of tasks that sets the project's finish date.
+     *
+     * @param taskIds the task ids, prerequisites first
+     * @param projectedFinish the projected finish of the last task (null without due dates)
+     */
+    public record CriticalPath(long[] taskIds, LocalDate projectedFinish) {
+    }
+
+    /**
+     * The pending tasks with pending prerequisites.
+     *
+     * @param taskIds the blocked task ids, in increasing order
+     * @param blockedBy for each blocked task, the ids of its pending prerequisites
+     */
+    public record BlockedTasks(long[] taskIds, long[][] blockedBy) {
+    }
+
+    /**
+     * Collects the tasks and dependencies of a project into growable arrays.
+     */
+    public static final class Builder {
+
+        private long[] ids = new long[1024];
+        private long[] dueDays = new long[1024];
+        private boolean[] completed = new boolean[1024];
+        private int taskCount;
+        private long[] edgeTasks = new long[1024];
+        private long[] edgeDependsOn = new long[1024];
+        private int edgeCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a task. Tasks must be added in increasing id order.
+         *
+         * @param id the task id
+         * @param dueDate the due date (may be null)
+         * @param isCompleted whether the task is completed
+         * @return this builder
+         */
+        public Builder addTask(long id, LocalDate dueDate, boolean isCompleted) {
+            if (taskCount > 0 && id <= ids[taskCount - 1]) {
+                throw new IllegalArgumentException("Tasks must be added in increasing id order");
+            }
+            if (taskCount == ids.length) {
+                ids = Arrays.copyOf(ids, taskCount * 2);
+                dueDays = Arrays.copyOf(dueDays, taskCount * 2);
+                completed = Arrays.copyOf(completed, taskCount * 2);
+            }
+            ids[taskCount] = id;
+            dueDays[taskCount] = dueDate == null ? NO_DATE : dueDate.toEpochDay();
+            completed[taskCount] = isCompleted;
+            taskCount++;
+            return this;
+        }
+
+        /**
+         * Adds a dependency.
+         *
+         * @param taskId the blocked task
+         * @param dependsOnId the task that must be completed first
+         * @return this builder
+         */
+        public Builder addDependency(long taskId, long dependsOnId) {
+            if (edgeCount == edgeTasks.length) {
+                edgeTasks = Arrays.copyOf(edgeTasks, edgeCount * 2);
+                edgeDependsOn = Arrays.copyOf(edgeDependsOn, edgeCount * 2);
+            }
+            edgeTasks[edgeCount] = taskId;
+            edgeDependsOn[edgeCount] = dependsOnId;
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * Builds the graph. Dependencies on tasks that were not added are ignored.
+         *
+         * @return the graph
+         */
+        public TaskGraph build() {
+            long[] taskIds = Arrays.copyOf(ids, taskCount);
+            int[] tasks = new int[edgeCount];
+            int[] dependsOn = new int[edgeCount];
+            int kept = 0;
+            for (int e = 0; e < edgeCount; e++) {
+                int task = Arrays.binarySearch(taskIds, edgeTasks[e]);
+                int prerequisite = Arrays.binarySearch(taskIds, edgeDependsOn[e]);
+                if (task >= 0 && prerequisite >= 0) {
+                    tasks[kept] = task;
+                    dependsOn[kept] = prerequisite;
+                    kept++;
+                }
+            }
+            return new TaskGraph(taskIds, Arrays.copyOf(dueDays, taskCount), Arrays.copyOf(completed, taskCount),
+                    Arrays.copyOf(tasks, kept), Arrays.copyOf(dependsOn, kept));
+        }
+    }
+}
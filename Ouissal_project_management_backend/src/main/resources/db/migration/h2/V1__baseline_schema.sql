@@ -0,0 +1,36 @@
+-- Baseline: the schema previously created by spring.jpa.hibernate.ddl-auto=update
+-- (H2 flavour of db/migration/mysql, used by tests and local runs).
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+);
+
+create table projects (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description TEXT,
+    user_id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table tasks (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description TEXT,
+    due_date date,
+    status enum ('COMPLETED','PENDING') not null,
+    project_id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table projects add constraint FKhswfwa3ga88vxv1pmboss6jhm foreign key (user_id) references users (id);
+alter table tasks add constraint FKsfhn82y57i3k9uxww1s007acc foreign key (project_id) references projects (id);
@@ -0,0 +1,14 @@
+-- Sharding by owner: the directory of which shard holds each user's projects
+-- and tasks (H2 flavour of db/migration/mysql).
+-- Projects may live on a shard without the users table rows: the foreign key to
+-- users is dropped, and the index it carried is recreated for the owner lookups.
+
+alter table projects drop constraint FKhswfwa3ga88vxv1pmboss6jhm;
+create index idx_projects_user_id on projects (user_id);
+
+create table user_shards (
+    user_id bigint not null,
+    shard_id integer not null,
+    moving boolean not null,
+    primary key (user_id)
+);
@@ -0,0 +1,13 @@
+-- Cache invalidation log (H2 flavour of db/migration/mysql): one row per changed
+-- cache key, written in the transaction of the change and tailed by every instance.
+
+create table cache_invalidations (
+    id bigint generated by default as identity,
+    cache_name varchar(64) not null,
+    cache_key bigint not null,
+    origin varchar(36) not null,
+    created_at timestamp(6) default localtimestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_cache_invalidations_created_at on cache_invalidations (created_at);
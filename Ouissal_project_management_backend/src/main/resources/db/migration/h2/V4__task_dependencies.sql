@@ -0,0 +1,19 @@
+-- Task dependencies (H2 flavour of db/migration/mysql): task_id cannot be
+-- completed before depends_on_id. Both tasks belong to project_id, which is
+-- stored to read the whole graph of a project with one index range.
+-- Deleting a task deletes its edges.
+
+create table task_dependencies (
+    task_id bigint not null,
+    depends_on_id bigint not null,
+    project_id bigint not null,
+    primary key (task_id, depends_on_id)
+);
+
+create index idx_task_dependencies_project_id on task_dependencies (project_id);
+create index idx_task_dependencies_depends_on_id on task_dependencies (depends_on_id);
+
+alter table task_dependencies add constraint fk_task_dependencies_task
+    foreign key (task_id) references tasks (id) on delete cascade;
+alter table task_dependencies add constraint fk_task_dependencies_depends_on
+    foreign key (depends_on_id) references tasks (id) on delete cascade;
@@ -0,0 +1,13 @@
+-- Subtasks (H2 flavour of db/migration/mysql). A task may have a parent task of
+-- the same project. path lists the ids of the ancestors, root first, each
+-- followed by '/' (empty for a top-level task): the subtree of task 7 with path
+-- '3/' is every task whose path starts with '3/7/', one range of idx_tasks_path.
+-- Each task counts its descendants and its completed descendants, maintained on
+-- every change so that the progress of a subtree is read from one row.
+
+alter table tasks add column parent_id bigint;
+alter table tasks add column path varchar(760) default '' not null;
+alter table tasks add column descendant_count integer default 0 not null;
+alter table tasks add column completed_descendant_count integer default 0 not null;
+
+create index idx_tasks_path on tasks (path);
@@ -0,0 +1,11 @@
+-- Manual task order (H2 flavour of db/migration/mysql). task_rank is a
+-- fractional rank compared as a binary string: a new task gets its id padded
+-- to 19 digits, a moved task a key between its new neighbours, so a move
+-- rewrites one row. The tasks of a project in manual order are one range of
+-- idx_tasks_project_rank. The column is named task_rank as RANK is reserved.
+
+alter table tasks add column task_rank varchar(255);
+
+update tasks set task_rank = lpad(cast(id as varchar), 19, '0');
+
+create index idx_tasks_project_rank on tasks (project_id, task_rank);
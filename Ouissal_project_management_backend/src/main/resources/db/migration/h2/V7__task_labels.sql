@@ -0,0 +1,16 @@
+-- Task labels (H2 flavour of db/migration/mysql): free tags such as 'bug' or
+-- 'urgent', lower case. project_id is stored to read the labels of a whole
+-- project with one index range when its bitmap index is built. Deleting a
+-- task deletes its labels.
+
+create table task_labels (
+    task_id bigint not null,
+    label varchar(50) not null,
+    project_id bigint not null,
+    primary key (task_id, label)
+);
+
+create index idx_task_labels_project_id on task_labels (project_id);
+
+alter table task_labels add constraint fk_task_labels_task
+    foreign key (task_id) references tasks (id) on delete cascade;
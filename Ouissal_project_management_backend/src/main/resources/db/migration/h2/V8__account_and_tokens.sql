@@ -0,0 +1,26 @@
+-- Account state and token tables, added after the baseline: databases created
+-- before migrations are baselined at version 1 and get them from here.
+-- Constraint names are the ones Hibernate generated (H2 flavour of db/migration/mysql).
+
+alter table users add column enabled boolean default true not null;
+alter table users add column role varchar(20) default 'USER' not null;
+
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked boolean not null,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table revoked_tokens (
+    token_id varchar(36) not null,
+    expires_at timestamp(6) with time zone not null,
+    primary key (token_id)
+);
+
+alter table refresh_tokens add constraint UKo2mlirhldriil2y7krapq4frt unique (token_hash);
+
+alter table refresh_tokens add constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id);
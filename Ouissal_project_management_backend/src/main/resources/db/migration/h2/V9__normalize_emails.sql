@@ -0,0 +1,10 @@
+-- Emails are stored trimmed and lower-cased (see EmailAddress), and logins look
+-- them up that way (H2 flavour of db/migration/mysql). Normalizes the emails
+-- stored before. Of several accounts with the same normalized email, only the
+-- oldest is normalized, and only if no account already has that form: the
+-- others keep their email and can no longer log in.
+
+update users u set email = lower(trim(email))
+where email <> lower(trim(email))
+  and id = (select min(same.id) from users same where lower(trim(same.email)) = lower(trim(u.email)))
+  and not exists (select 1 from users other where other.email = lower(trim(u.email)));
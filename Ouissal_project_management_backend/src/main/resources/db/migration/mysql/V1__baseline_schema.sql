@@ -0,0 +1,37 @@
+-- Baseline: the schema previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Constraint names are the ones Hibernate generated, so that databases created
+-- before migrations (baselined at version 1) and new ones stay identical.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table projects (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    description TEXT,
+    user_id bigint not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table tasks (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    description TEXT,
+    due_date date,
+    status enum ('COMPLETED','PENDING') not null,
+    project_id bigint not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table projects add constraint FKhswfwa3ga88vxv1pmboss6jhm foreign key (user_id) references users (id);
+alter table tasks add constraint FKsfhn82y57i3k9uxww1s007acc foreign key (project_id) references projects (id);
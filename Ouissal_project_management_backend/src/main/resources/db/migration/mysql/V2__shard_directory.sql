@@ -0,0 +1,13 @@
+-- Sharding by owner: the directory of which shard holds each user's projects
+-- and tasks, in the global database.
+-- Projects may live on a shard without the users table rows: the foreign key to
+-- users is dropped. MySQL keeps the index it created for it, named after the key.
+
+alter table projects drop foreign key FKhswfwa3ga88vxv1pmboss6jhm;
+
+create table user_shards (
+    user_id bigint not null,
+    shard_id integer not null,
+    moving bit not null,
+    primary key (user_id)
+) engine=InnoDB;
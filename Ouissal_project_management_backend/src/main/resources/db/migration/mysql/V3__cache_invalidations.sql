@@ -0,0 +1,14 @@
+-- Cache invalidation log: one row per changed cache key, written in the
+-- transaction of the change and tailed by every instance. On a sharded setup
+-- each shard has its own log, for the changes made on it.
+
+create table cache_invalidations (
+    id bigint not null auto_increment,
+    cache_name varchar(64) not null,
+    cache_key bigint not null,
+    origin varchar(36) not null,
+    created_at datetime(6) default current_timestamp(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_cache_invalidations_created_at on cache_invalidations (created_at);
@@ -0,0 +1,11 @@
+-- Manual task order. task_rank is a fractional rank compared as a binary
+-- string (ascii_bin): a new task gets its id padded to 19 digits, a moved task
+-- a key between its new neighbours, so a move rewrites one row. The tasks of a
+-- project in manual order are one range of idx_tasks_project_rank. The column
+-- is named task_rank as RANK is a reserved word.
+
+alter table tasks add column task_rank varchar(255) character set ascii collate ascii_bin;
+
+update tasks set task_rank = lpad(id, 19, '0');
+
+create index idx_tasks_project_rank on tasks (project_id, task_rank);
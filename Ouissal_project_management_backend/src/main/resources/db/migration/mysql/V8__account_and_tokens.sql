@@ -0,0 +1,26 @@
+-- Account state and token tables, added after the baseline: databases created
+-- before migrations are baselined at version 1 and get them from here.
+-- Constraint names are the ones Hibernate generated.
+
+alter table users add column enabled boolean default true not null;
+alter table users add column role varchar(20) default 'USER' not null;
+
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    expires_at datetime(6) not null,
+    revoked bit not null,
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table revoked_tokens (
+    token_id varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+alter table refresh_tokens add constraint UKo2mlirhldriil2y7krapq4frt unique (token_hash);
+
+alter table refresh_tokens add constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id);
@@ -0,0 +1,14 @@
+-- Emails are stored trimmed and lower-cased (see EmailAddress), and logins look
+-- them up that way. Normalizes the emails stored before, compared in binary so
+-- that a case-insensitive collation does not skip them. Of several accounts
+-- with the same normalized email, only the oldest is normalized, and only if no
+-- account already has that form: the others keep their email and can no longer
+-- log in. The users table is read through derived tables, which MySQL
+-- materializes before updating it.
+
+update users u
+join (select min(id) as id from users group by lower(trim(email))) oldest on oldest.id = u.id
+set u.email = lower(trim(u.email))
+where binary u.email <> binary lower(trim(u.email))
+  and binary lower(trim(u.email)) not in (select distinct binary stored.email
+                                          from (select distinct email from users) stored);
@@ -3,7 +3,8 @@ package org.sid.ouissal_project_management_backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Checks the entity mappings against the schema built by the migrations, runs a short warm-up
+@SpringBootTest(properties = {"spring.jpa.hibernate.ddl-auto=validate", "warmup.iterations=5"})
 class OuissalProjectManagementBackendApplicationTests {
 
     @Test
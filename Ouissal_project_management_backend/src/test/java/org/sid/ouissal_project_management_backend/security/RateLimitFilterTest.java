@@ -0,0 +1,96 @@
+package org.sid.ouissal_project_management_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GCRA arithmetic of the rate limiter, driven with explicit clock values
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** 10 requests of burst, one more every 100 ms */
+    private final RateLimitFilter.Limit limit = new RateLimitFilter.Limit(10, 10.0);
+
+    private final RateLimitFilter filter = new RateLimitFilter(true, 10, 10.0, 5, 1.0, 100);
+
+    @Test
+    void fullBurstIsAllowedThenRejected() {
+        long now = 42 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, filter.tryAcquire("u:1", limit, now), "request " + i);
+        }
+        assertEquals(limit.emissionIntervalNanos(), filter.tryAcquire("u:1", limit, now));
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        long now = 42 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            filter.tryAcquire("u:1", limit, now);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertTrue(filter.tryAcquire("u:1", limit, now) > 0);
+        }
+        assertEquals(0, filter.tryAcquire("u:1", limit, now + limit.emissionIntervalNanos()));
+    }
+
+    @Test
+    void tokensRefillAtTheConfiguredRate() {
+        long now = 42 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            filter.tryAcquire("u:1", limit, now);
+        }
+        long later = now + 3 * limit.emissionIntervalNanos();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, filter.tryAcquire("u:1", limit, later), "refilled request " + i);
+        }
+        assertTrue(filter.tryAcquire("u:1", limit, later) > 0);
+    }
+
+    @Test
+    void refillIsCappedAtTheCapacity() {
+        long now = 42 * SECOND;
+        filter.tryAcquire("u:1", limit, now);
+        long muchLater = now + 3600 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, filter.tryAcquire("u:1", limit, muchLater), "request " + i);
+        }
+        assertTrue(filter.tryAcquire("u:1", limit, muchLater) > 0);
+    }
+
+    @Test
+    void waitIsTheTimeUntilTheNextToken() {
+        long now = 42 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            filter.tryAcquire("u:1", limit, now);
+        }
+        long halfInterval = limit.emissionIntervalNanos() / 2;
+        assertEquals(limit.emissionIntervalNanos() - halfInterval,
+                filter.tryAcquire("u:1", limit, now + halfInterval));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        long now = 42 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            filter.tryAcquire("u:1", limit, now);
+        }
+        assertEquals(0, filter.tryAcquire("u:2", limit, now));
+    }
+
+    @Test
+    void newClientsShareTheOverflowBucketWhenFull() {
+        RateLimitFilter small = new RateLimitFilter(true, 10, 10.0, 5, 1.0, 1);
+        long now = 42 * SECOND;
+        small.tryAcquire("u:1", limit, now);
+        for (int i = 0; i < 10; i++) {
+            small.tryAcquire("u:2", limit, now);
+        }
+        assertTrue(small.tryAcquire("u:3", limit, now) > 0);
+        assertEquals(2, small.trackedKeys());
+    }
+}
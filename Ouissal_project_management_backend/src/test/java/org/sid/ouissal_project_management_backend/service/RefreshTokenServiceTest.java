@@ -0,0 +1,97 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sid.ouissal_project_management_backend.entities.User;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Rotation and reuse detection of refresh tokens, against the migrated H2 schema
+@SpringBootTest(properties = "warmup.enabled=false")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.io")
+                .password("hash")
+                .build()).getId();
+    }
+
+    @Test
+    void tokenCanBeConsumedOnce() {
+        String token = refreshTokenService.issue(userId);
+
+        assertEquals(userId, refreshTokenService.consume(token).getId());
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(token));
+    }
+
+    @Test
+    void reuseRevokesEveryTokenOfTheUser() {
+        String used = refreshTokenService.issue(userId);
+        refreshTokenService.consume(used);
+        String rotated = refreshTokenService.issue(userId);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(used));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(rotated));
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("unknown"));
+    }
+
+    @Test
+    void concurrentRefreshesExchangeTheTokenOnce() throws Exception {
+        int clients = 8;
+        String token = refreshTokenService.issue(userId);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> refresh = () -> {
+            start.await();
+            try {
+                refreshTokenService.consume(token);
+                return true;
+            } catch (BadCredentialsException e) {
+                return false;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(refresh));
+            }
+            start.countDown();
+            int exchanged = 0;
+            for (Future<Boolean> result : results) {
+                exchanged += result.get() ? 1 : 0;
+            }
+            assertEquals(1, exchanged);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.sid.ouissal_project_management_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sid.ouissal_project_management_backend.dto.ProjectRequest;
+import org.sid.ouissal_project_management_backend.dto.TaskRequest;
+import org.sid.ouissal_project_management_backend.entities.User;
+import org.sid.ouissal_project_management_backend.exception.BadRequestException;
+import org.sid.ouissal_project_management_backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Cycle rejection, through the recursive query on the migrated H2 schema
+@SpringBootTest(properties = "warmup.enabled=false")
+class TaskDependencyServiceTest {
+
+    @Autowired
+    private TaskDependencyService dependencyService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+    private Long projectId;
+
+    @BeforeEach
+    void createProject() {
+        userId = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.io")
+                .password("hash")
+                .build()).getId();
+        projectId = projectService.createProject(userId, new ProjectRequest("Project", null)).id();
+    }
+
+    private Long createTask() {
+        return taskService.createTask(userId, projectId, new TaskRequest("Task", null, null)).id();
+    }
+
+    @Test
+    void directCycleIsRejected() {
+        Long a = createTask();
+        Long b = createTask();
+        dependencyService.addDependency(userId, a, b);
+
+        assertThrows(BadRequestException.class, () -> dependencyService.addDependency(userId, b, a));
+    }
+
+    @Test
+    void transitiveCycleIsRejected() {
+        Long a = createTask();
+        Long b = createTask();
+        Long c = createTask();
+        dependencyService.addDependency(userId, a, b);
+        dependencyService.addDependency(userId, b, c);
+
+        assertThrows(BadRequestException.class, () -> dependencyService.addDependency(userId, c, a));
+    }
+
+    @Test
+    void selfDependencyIsRejected() {
+        Long a = createTask();
+
+        assertThrows(BadRequestException.class, () -> dependencyService.addDependency(userId, a, a));
+    }
+
+    @Test
+    void diamondIsAccepted() {
+        Long a = createTask();
+        Long b = createTask();
+        Long c = createTask();
+        Long d = createTask();
+        dependencyService.addDependency(userId, a, b);
+        dependencyService.addDependency(userId, a, c);
+        dependencyService.addDependency(userId, b, d);
+
+        assertDoesNotThrow(() -> dependencyService.addDependency(userId, c, d));
+    }
+}
@@ -0,0 +1,155 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Array and bitset containers, across the 4096-value boundary in both directions
+class CompressedBitmapTest {
+
+    /** Values per container before it switches to a bitset */
+    private static final int ARRAY_MAX = 4096;
+
+    private static CompressedBitmap of(LongStream values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        values.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static long[] sorted(TreeSet<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Test
+    void addingPastTheArrayLimitKeepsEveryValue() {
+        // Even values: the bitset is not simply the first words filled
+        CompressedBitmap bitmap = of(LongStream.range(0, ARRAY_MAX).map(i -> i * 2));
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+
+        assertTrue(bitmap.add(1));
+        assertFalse(bitmap.add(1));
+        assertFalse(bitmap.add(2));
+
+        assertEquals(ARRAY_MAX + 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains((ARRAY_MAX - 1) * 2L));
+        assertFalse(bitmap.contains(3));
+        assertEquals(24 + 8192, bitmap.sizeInBytes());
+        long[] values = bitmap.toArray();
+        assertEquals(0, values[0]);
+        assertEquals(1, values[1]);
+        assertEquals(2, values[2]);
+    }
+
+    @Test
+    void removingBackUnderTheArrayLimitKeepsEveryValue() {
+        CompressedBitmap bitmap = of(LongStream.range(0, ARRAY_MAX + 10));
+
+        for (long value = 0; value < 20; value += 2) {
+            assertTrue(bitmap.remove(value));
+        }
+        assertFalse(bitmap.remove(0));
+
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(ARRAY_MAX + 9));
+        assertArrayEquals(LongStream.range(0, ARRAY_MAX + 10).filter(v -> v >= 20 || v % 2 == 1).toArray(),
+                bitmap.toArray());
+
+        // And over the limit again
+        assertTrue(bitmap.add(0));
+        assertTrue(bitmap.contains(0));
+        assertEquals(ARRAY_MAX + 1, bitmap.cardinality());
+    }
+
+    @Test
+    void removingTheLastValueOfAContainerDropsIt() {
+        CompressedBitmap bitmap = of(LongStream.of(5, 1L << 16, 3L << 16));
+
+        assertTrue(bitmap.remove(1L << 16));
+
+        assertArrayEquals(new long[]{5, 3L << 16}, bitmap.toArray());
+        assertTrue(bitmap.remove(5));
+        assertTrue(bitmap.remove(3L << 16));
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.toArray().length);
+    }
+
+    @Test
+    void valuesAreOrderedAcrossContainers() {
+        long[] values = {(5L << 16) + 3, 7, (1L << 40) + 1, 65_535, 65_536};
+        CompressedBitmap bitmap = of(LongStream.of(values));
+
+        assertArrayEquals(LongStream.of(values).sorted().toArray(), bitmap.toArray());
+        assertFalse(bitmap.contains(1L << 40));
+        assertTrue(bitmap.contains((1L << 40) + 1));
+    }
+
+    @Test
+    void setOperationsMixContainerTypes() {
+        // Key 0: a bitset on the left, an array on the right; key 1: the other way round
+        CompressedBitmap dense = of(LongStream.concat(LongStream.range(0, 10_000),
+                LongStream.range(0, 100).map(i -> (1L << 16) + i * 3)));
+        CompressedBitmap sparse = of(LongStream.concat(LongStream.range(0, 100).map(i -> i * 7),
+                LongStream.range(1L << 16, (1L << 16) + 10_000)));
+
+        long[] and = LongStream.concat(LongStream.range(0, 100).map(i -> i * 7).filter(v -> v < 10_000),
+                LongStream.range(0, 100).map(i -> (1L << 16) + i * 3)).toArray();
+        assertArrayEquals(and, dense.and(sparse).toArray());
+        assertArrayEquals(and, sparse.and(dense).toArray());
+        // A small intersection of two bitsets comes back as an array
+        assertEquals(24 + 2 * 100, of(LongStream.range(0, 5000)).and(of(LongStream.range(4900, 10_000)))
+                .sizeInBytes());
+
+        assertEquals(20_000, dense.or(sparse).cardinality());
+        // Bitset minus array on one key, array minus bitset (empty, dropped) on the other
+        assertArrayEquals(LongStream.range(0, 10_000).filter(v -> v % 7 != 0 || v >= 700).toArray(),
+                dense.andNot(sparse).toArray());
+        assertArrayEquals(LongStream.range(0, 10_000).filter(v -> v % 3 != 0 || v >= 300)
+                        .map(v -> (1L << 16) + v).toArray(),
+                sparse.andNot(dense).toArray());
+    }
+
+    @Test
+    void matchesASortedSetUnderRandomChanges() {
+        Random random = new Random(42);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        // Two keys, each crossing the limit several times
+        for (int round = 0; round < 20; round++) {
+            boolean adding = round % 2 == 0;
+            for (int i = 0; i < 3000; i++) {
+                long value = (random.nextInt(2) * (1L << 16)) + random.nextInt(9000);
+                if (adding) {
+                    assertEquals(expected.add(value), bitmap.add(value));
+                } else {
+                    assertEquals(expected.remove(value), bitmap.remove(value));
+                }
+            }
+            assertEquals(expected.size(), bitmap.cardinality());
+            assertArrayEquals(sorted(expected), bitmap.toArray());
+        }
+
+        CompressedBitmap other = of(LongStream.range(0, 20_000).filter(v -> v % 5 == 0).map(v -> v * 7));
+        TreeSet<Long> otherValues = new TreeSet<>();
+        LongStream.range(0, 20_000).filter(v -> v % 5 == 0).map(v -> v * 7).forEach(otherValues::add);
+
+        TreeSet<Long> and = new TreeSet<>(expected);
+        and.retainAll(otherValues);
+        TreeSet<Long> or = new TreeSet<>(expected);
+        or.addAll(otherValues);
+        TreeSet<Long> andNot = new TreeSet<>(expected);
+        andNot.removeAll(otherValues);
+        assertArrayEquals(sorted(and), bitmap.and(other).toArray());
+        assertArrayEquals(sorted(or), bitmap.or(other).toArray());
+        assertArrayEquals(sorted(andNot), bitmap.andNot(other).toArray());
+    }
+}
@@ -0,0 +1,106 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Ordering of the keys produced at both ends of a list and inside tight gaps
+class FractionalRankTest {
+
+    private static void assertBetween(String lower, String key, String upper) {
+        assertTrue(lower == null || lower.compareTo(key) < 0, key + " is not after " + lower);
+        assertTrue(upper == null || key.compareTo(upper) < 0, key + " is not before " + upper);
+        assertFalse(key.endsWith("0"), key + " ends with '0'");
+    }
+
+    @Test
+    void idsArePaddedToTheHeadLength() {
+        assertEquals("0000000000000000042", FractionalRank.forId(42));
+        assertEquals(FractionalRank.HEAD_LENGTH, FractionalRank.forId(Long.MAX_VALUE).length());
+        assertTrue(FractionalRank.forId(9).compareTo(FractionalRank.forId(10)) < 0);
+    }
+
+    @Test
+    void movingToTheStartGoesBeforeTheFirstItem() {
+        String first = FractionalRank.forId(1);
+
+        String key = FractionalRank.between(null, first);
+
+        assertBetween(null, key, first);
+    }
+
+    @Test
+    void movingToTheEndStaysBeforeItemsCreatedLater() {
+        String last = FractionalRank.forId(5);
+
+        String key = FractionalRank.between(last, null);
+
+        assertBetween(last, key, FractionalRank.forId(6));
+    }
+
+    @Test
+    void consecutiveIdsLeaveRoomInBetween() {
+        String lower = FractionalRank.forId(3);
+        String upper = FractionalRank.forId(4);
+
+        String key = FractionalRank.between(lower, upper);
+
+        assertBetween(lower, key, upper);
+        assertTrue(key.startsWith(lower), key);
+    }
+
+    @Test
+    void consecutiveFractionDigitsLeaveRoomInBetween() {
+        String lower = FractionalRank.forId(7) + "a";
+        String upper = FractionalRank.forId(7) + "b";
+
+        assertBetween(lower, FractionalRank.between(lower, upper), upper);
+        assertBetween(lower, FractionalRank.between(lower, upper + "1"), upper + "1");
+    }
+
+    @Test
+    void repeatedMovesIntoTheSameGapKeepStrictOrder() {
+        String lower = FractionalRank.forId(3);
+        String upper = FractionalRank.forId(4);
+        for (int i = 0; i < 200; i++) {
+            String key = FractionalRank.between(lower, upper);
+            assertBetween(lower, key, upper);
+            upper = key;
+        }
+        // About one more character every 5 to 8 moves
+        assertTrue(upper.length() <= FractionalRank.HEAD_LENGTH + 200 / 5 + 1, upper);
+    }
+
+    @Test
+    void repeatedMovesToTheStartKeepStrictOrder() {
+        String first = FractionalRank.forId(1);
+        for (int i = 0; i < 200; i++) {
+            String key = FractionalRank.between(null, first);
+            assertBetween(null, key, first);
+            first = key;
+        }
+    }
+
+    @Test
+    void repeatedMovesToTheEndKeepStrictOrder() {
+        String last = FractionalRank.forId(5);
+        String next = FractionalRank.forId(6);
+        for (int i = 0; i < 200; i++) {
+            String key = FractionalRank.between(last, null);
+            assertBetween(last, key, next);
+            last = key;
+        }
+    }
+
+    @Test
+    void boundsOutOfOrderAreRejected() {
+        String lower = FractionalRank.forId(3);
+        String upper = FractionalRank.forId(4);
+
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between(upper, lower));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between(lower, lower));
+    }
+}
@@ -0,0 +1,154 @@
+package org.sid.ouissal_project_management_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Topological order, critical path and blocked tasks on small hand-built graphs
+class TaskGraphTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void orderPutsEveryTaskAfterItsPrerequisites() {
+        TaskGraph graph = TaskGraph.builder()
+                .addTask(1, null, false)
+                .addTask(2, null, false)
+                .addTask(3, null, false)
+                .addTask(4, null, false)
+                .addDependency(1, 3)
+                .addDependency(3, 4)
+                .addDependency(2, 4)
+                .build();
+
+        List<Long> order = Arrays.stream(graph.topologicalOrder()).mapToObj(graph::id).toList();
+
+        assertEquals(4, order.size());
+        assertTrue(order.indexOf(4L) < order.indexOf(3L));
+        assertTrue(order.indexOf(3L) < order.indexOf(1L));
+        assertTrue(order.indexOf(4L) < order.indexOf(2L));
+    }
+
+    @Test
+    void orderRejectsACycle() {
+        TaskGraph graph = TaskGraph.builder()
+                .addTask(1, null, false)
+                .addTask(2, null, false)
+                .addTask(3, null, false)
+                .addDependency(1, 2)
+                .addDependency(2, 3)
+                .addDependency(3, 1)
+                .build();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, graph::topologicalOrder);
+        assertTrue(e.getMessage().contains("3 tasks"), e.getMessage());
+    }
+
+    @Test
+    void criticalPathFollowsTheLatestPrerequisite() {
+        // 4 depends on 2 (due day 10) and on 3 (due day 5, after 1 due day 3)
+        TaskGraph graph = TaskGraph.builder()
+                .addTask(1, DAY.plusDays(3), false)
+                .addTask(2, DAY.plusDays(10), false)
+                .addTask(3, DAY.plusDays(5), false)
+                .addTask(4, DAY.plusDays(1), false)
+                .addDependency(3, 1)
+                .addDependency(4, 2)
+                .addDependency(4, 3)
+                .build();
+
+        TaskGraph.CriticalPath path = graph.criticalPath();
+
+        assertArrayEquals(new long[]{2, 4}, path.taskIds());
+        assertEquals(DAY.plusDays(10), path.projectedFinish());
+    }
+
+    @Test
+    void criticalPathWithoutDueDatesIsTheLongestChain() {
+        TaskGraph graph = TaskGraph.builder()
+                .addTask(1, null, false)
+                .addTask(2, null, false)
+                .addTask(3, null, false)
+                .addTask(4, null, false)
+                .addTask(5, null, false)
+                .addDependency(5, 1)
+                .addDependency(2, 3)
+                .addDependency(3, 4)
+                .build();
+
+        TaskGraph.CriticalPath path = graph.criticalPath();
+
+        assertArrayEquals(new long[]{4, 3, 2}, path.taskIds());
+        assertNull(path.projectedFinish());
+    }
+
+    @Test
+    void criticalPathOfAnEmptyProjectIsEmpty() {
+        TaskGraph.CriticalPath path = TaskGraph.builder().build().criticalPath();
+
+        assertEquals(0, path.taskIds().length);
+        assertNull(path.projectedFinish());
+    }
+
+    @Test
+    void blockedTasksListOnlyPendingPrerequisites() {
+        TaskGraph graph = TaskGraph.builder()
+                .addTask(1, null, true)
+                .addTask(2, null, false)
+                .addTask(3, null, false)
+                .addTask(4, null, true)
+                .addDependency(3, 1)
+                .addDependency(3, 2)
+                .addDependency(2, 1)
+                .addDependency(4, 2)
+                .build();
+
+        TaskGraph.BlockedTasks blocked = graph.blockedTasks();
+
+        assertArrayEquals(new long[]{3}, blocked.taskIds());
+        assertArrayEquals(new long[]{2}, blocked.blockedBy()[0]);
+    }
+
+    @Test
+    void dependenciesOnUnknownTasksAreIgnored() {
+        TaskGraph graph = TaskGraph.builder()
+                .addTask(1, null, false)
+                .addTask(2, null, false)
+                .addDependency(2, 1)
+                .addDependency(2, 99)
+                .build();
+
+        assertEquals(1, graph.edgeCount());
+    }
+
+    @Test
+    void tasksMustBeAddedInIdOrder() {
+        TaskGraph.Builder builder = TaskGraph.builder().addTask(2, null, false);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addTask(1, null, false));
+    }
+
+    @Test
+    void buildersGrowPastTheirInitialCapacity() {
+        TaskGraph.Builder builder = TaskGraph.builder();
+        for (long id = 1; id <= 5000; id++) {
+            builder.addTask(id, null, false);
+            if (id > 1) {
+                builder.addDependency(id, id - 1);
+            }
+        }
+
+        TaskGraph graph = builder.build();
+
+        assertEquals(5000, graph.size());
+        assertEquals(5000, graph.criticalPath().taskIds().length);
+    }
+}
@@ -0,0 +1,71 @@
+import { TestBed } from '@angular/core/testing';
+import { HttpClient, provideHttpClient, withInterceptors } from '@angular/common/http';
+import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
+import { provideRouter } from '@angular/router';
+import { jwtInterceptor } from './jwt.interceptor';
+
+describe('jwtInterceptor', () => {
+  let http: HttpClient;
+  let httpMock: HttpTestingController;
+
+  const unauthorized = { status: 401, statusText: 'Unauthorized' };
+  const refreshed = { token: 'new-access', refreshToken: 'new-refresh' };
+
+  beforeEach(() => {
+    localStorage.setItem('auth_token', 'old-access');
+    localStorage.setItem('refresh_token', 'old-refresh');
+    TestBed.configureTestingModule({
+      providers: [
+        provideHttpClient(withInterceptors([jwtInterceptor])),
+        provideHttpClientTesting(),
+        provideRouter([])
+      ]
+    });
+    http = TestBed.inject(HttpClient);
+    httpMock = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    httpMock.verify();
+    localStorage.clear();
+  });
+
+  it('should refresh once for parallel 401s and replay both requests', () => {
+    const results: unknown[] = [];
+    http.get('/api/projects/1').subscribe(body => results.push(body));
+    http.get('/api/projects/1/tasks').subscribe(body => results.push(body));
+
+    httpMock.expectOne('/api/projects/1').flush(null, unauthorized);
+    httpMock.expectOne('/api/projects/1/tasks').flush(null, unauthorized);
+
+    const refresh = httpMock.expectOne('/api/auth/refresh');
+    expect(refresh.request.body).toEqual({ refreshToken: 'old-refresh' });
+    refresh.flush(refreshed);
+
+    const project = httpMock.expectOne('/api/projects/1');
+    const tasks = httpMock.expectOne('/api/projects/1/tasks');
+    expect(project.request.headers.get('Authorization')).toBe('Bearer new-access');
+    expect(tasks.request.headers.get('Authorization')).toBe('Bearer new-access');
+    project.flush({ id: 1 });
+    tasks.flush([]);
+
+    expect(results.length).toBe(2);
+    expect(localStorage.getItem('refresh_token')).toBe('new-refresh');
+  });
+
+  it('should replay without refreshing when the token was refreshed after the request was sent', () => {
+    http.get('/api/projects').subscribe();
+    http.get('/api/projects/2').subscribe();
+
+    httpMock.expectOne('/api/projects').flush(null, unauthorized);
+    httpMock.expectOne('/api/auth/refresh').flush(refreshed);
+    httpMock.expectOne('/api/projects').flush([]);
+
+    // Sent with the old token, answered after the refresh completed
+    httpMock.expectOne('/api/projects/2').flush(null, unauthorized);
+    httpMock.expectNone('/api/auth/refresh');
+    const replay = httpMock.expectOne('/api/projects/2');
+    expect(replay.request.headers.get('Authorization')).toBe('Bearer new-access');
+    replay.flush({ id: 2 });
+  });
+});
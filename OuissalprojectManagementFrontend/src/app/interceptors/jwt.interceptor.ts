@@ -2,16 +2,28 @@
  * JWT Interceptor
  * 
  * HTTP interceptor that automatically attaches JWT authentication
- * tokens to outgoing requests.
+ * tokens to outgoing requests and refreshes the short-lived access
+ * token once when the API answers 401. Requests failing while a
+ * refresh is in flight wait for it and replay with the new token.
  * 
  * @author Ouissal
  * @version 1.0.0
  */
 
-import { HttpInterceptorFn } from '@angular/common/http';
+import { HttpErrorResponse, HttpInterceptorFn, HttpRequest } from '@angular/common/http';
 import { inject } from '@angular/core';
+import { Router } from '@angular/router';
+import { catchError, switchMap, throwError } from 'rxjs';
 import { AuthService } from '../services/auth.service';
 
+/**
+ * Returns a copy of the request carrying the given bearer token
+ * @param req - The outgoing HTTP request
+ * @param token - The JWT access token
+ */
+const withToken = (req: HttpRequest<unknown>, token: string) =>
+  req.clone({ setHeaders: { Authorization: `Bearer ${token}` } });
+
 /**
  * Intercepts HTTP requests and adds Authorization header with JWT token
  * @param req - The outgoing HTTP request
@@ -20,16 +32,31 @@ import { AuthService } from '../services/auth.service';
  */
 export const jwtInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
+  const router = inject(Router);
   const token = authService.getToken();
 
   // Clone request and add authorization header if token exists
-  if (token) {
-    req = req.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`
-      }
-    });
-  }
+  const authorized = token ? withToken(req, token) : req;
 
-  return next(req);
+  return next(authorized).pipe(
+    catchError((error: HttpErrorResponse) => {
+      // Access token expired: refresh once and replay, except for the auth endpoints themselves
+      if (error.status !== 401 || req.url.includes('/auth/') || !authService.getRefreshToken()) {
+        return throwError(() => error);
+      }
+      // Sent with a token that has been refreshed since: replay with the current one
+      const current = authService.getToken();
+      if (token && current && current !== token) {
+        return next(withToken(req, current));
+      }
+      return authService.refresh().pipe(
+        switchMap(response => next(withToken(req, response.token))),
+        catchError(refreshError => {
+          authService.clearTokens();
+          router.navigate(['/login']);
+          return throwError(() => refreshError);
+        })
+      );
+    })
+  );
 };
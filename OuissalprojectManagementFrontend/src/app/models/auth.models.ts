@@ -27,6 +27,12 @@ export interface RegisterRequest {
 
 /** Authentication response containing JWT token */
 export interface AuthResponse {
-    /** JWT authentication token */
+    /** JWT authentication token (short-lived) */
     token: string;
+    /** Authenticated user email */
+    email: string;
+    /** Single-use refresh token used to obtain a new access token */
+    refreshToken: string;
+    /** Access token lifetime in seconds */
+    expiresIn: number;
 }
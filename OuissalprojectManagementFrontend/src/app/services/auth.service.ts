@@ -10,7 +10,7 @@
 
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable, tap } from 'rxjs';
+import { Observable, finalize, shareReplay, tap } from 'rxjs';
 import { environment } from '../../environments/environment';
 import { LoginRequest, RegisterRequest, AuthResponse } from '../models/auth.models';
 
@@ -24,6 +24,12 @@ export class AuthService {
   /** Local storage key for JWT token */
   private tokenKey = 'auth_token';
 
+  /** Local storage key for the refresh token */
+  private refreshTokenKey = 'refresh_token';
+
+  /** Refresh call in flight, shared by every request that gets a 401 meanwhile */
+  private refreshInFlight: Observable<AuthResponse> | null = null;
+
   constructor(private http: HttpClient) { }
 
   /**
@@ -48,13 +54,46 @@ export class AuthService {
         if (token) {
           localStorage.setItem(this.tokenKey, token);
         }
+        if (response.refreshToken) {
+          localStorage.setItem(this.refreshTokenKey, response.refreshToken);
+        }
       })
     );
   }
 
-  /** Clear authentication token and log out user */
+  /**
+   * Exchange the stored refresh token for a new access token.
+   * Concurrent callers share a single call: a refresh token can only be used
+   * once, and the server treats a second use as theft and logs the user out.
+   * @returns Observable with the new tokens
+   */
+  refresh(): Observable<AuthResponse> {
+    if (!this.refreshInFlight) {
+      this.refreshInFlight = this.http.post<AuthResponse>(`${this.apiUrl}/refresh`, { refreshToken: this.getRefreshToken() }).pipe(
+        tap(response => {
+          localStorage.setItem(this.tokenKey, response.token);
+          localStorage.setItem(this.refreshTokenKey, response.refreshToken);
+        }),
+        finalize(() => this.refreshInFlight = null),
+        shareReplay(1)
+      );
+    }
+    return this.refreshInFlight;
+  }
+
+  /** Revoke the tokens on the server, then clear them and log out user */
   logout(): void {
+    const refreshToken = this.getRefreshToken();
+    if (this.getToken() || refreshToken) {
+      this.http.post(`${this.apiUrl}/logout`, { refreshToken }).subscribe({ error: () => {} });
+    }
+    this.clearTokens();
+  }
+
+  /** Remove the stored tokens without calling the server */
+  clearTokens(): void {
     localStorage.removeItem(this.tokenKey);
+    localStorage.removeItem(this.refreshTokenKey);
   }
 
   /**
@@ -65,6 +104,14 @@ export class AuthService {
     return localStorage.getItem(this.tokenKey);
   }
 
+  /**
+   * Retrieve stored refresh token
+   * @returns Refresh token string or null if not authenticated
+   */
+  getRefreshToken(): string | null {
+    return localStorage.getItem(this.refreshTokenKey);
+  }
+
   /**
    * Check if user is currently authenticated
    * @returns True if valid token exists